@@ -0,0 +1,78 @@
+package io.github.simplesqlgen.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded H2 database with the bench_users table and a repository wired to it
+ */
+public class BenchmarkDatabase {
+
+    private static final AtomicInteger DATABASE_COUNT = new AtomicInteger();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public BenchmarkDatabase() {
+        // Each state gets its own in-memory database so write benchmarks cannot skew reads; the H2 driver
+        // is only needed at runtime and is found through DriverManager
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:bench" + DATABASE_COUNT.incrementAndGet() + ";DB_CLOSE_DELAY=-1");
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        jdbcTemplate.execute("CREATE TABLE bench_users (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "name VARCHAR(64), email VARCHAR(128), age INT, active BOOLEAN)");
+        jdbcTemplate.execute("CREATE INDEX bench_users_name ON bench_users (name)");
+        jdbcTemplate.execute("CREATE INDEX bench_users_email ON bench_users (email)");
+    }
+
+    /**
+     * Insert rows user0..user{count-1}; names repeat every 10 rows and every other row is active
+     */
+    public void seed(int count) {
+        jdbcTemplate.batchUpdate("INSERT INTO bench_users (name, email, age, active) VALUES (?, ?, ?, ?)",
+                new java.util.AbstractList<Object[]>() {
+                    @Override
+                    public Object[] get(int i) {
+                        return new Object[]{"name" + (i % 10), "user" + i + "@example.com", 18 + i % 50, i % 2 == 0};
+                    }
+
+                    @Override
+                    public int size() {
+                        return count;
+                    }
+                });
+    }
+
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE TABLE bench_users RESTART IDENTITY");
+    }
+
+    public void shutdown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    /**
+     * Repository with the templates the processor declares as @Autowired fields, set without a Spring context
+     */
+    public BenchmarkUserRepository createRepository() {
+        BenchmarkUserRepository repository = new BenchmarkUserRepository();
+        inject(repository, "jdbcTemplate", jdbcTemplate);
+        inject(repository, "namedParameterJdbcTemplate", namedParameterJdbcTemplate);
+        return repository;
+    }
+
+    private static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Repository was not processed: missing " + fieldName, e);
+        }
+    }
+}
\ No newline at end of file
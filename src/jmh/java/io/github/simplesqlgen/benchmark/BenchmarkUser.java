@@ -0,0 +1,36 @@
+package io.github.simplesqlgen.benchmark;
+
+/**
+ * Entity mapped by the benchmark repository
+ */
+public class BenchmarkUser {
+    private Long id;
+    private String name;
+    private String email;
+    private int age;
+    private boolean active;
+
+    public BenchmarkUser() {}
+
+    public BenchmarkUser(String name, String email, int age, boolean active) {
+        this.name = name;
+        this.email = email;
+        this.age = age;
+        this.active = active;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public int getAge() { return age; }
+    public void setAge(int age) { this.age = age; }
+
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package io.github.simplesqlgen.benchmark;
+
+import io.github.simplesqlgen.annotation.NativeQuery;
+import io.github.simplesqlgen.annotation.SqlGenerator;
+
+import java.util.List;
+
+/**
+ * Repository compiled with SqlProcessor; every body below is replaced at compile time
+ */
+@SqlGenerator(entity = BenchmarkUser.class, tableName = "bench_users")
+public class BenchmarkUserRepository {
+
+    public List<BenchmarkUser> findAll() { return null; }
+
+    public List<BenchmarkUser> findByName(String name) { return null; }
+
+    public long countByActive(boolean active) { return 0; }
+
+    public boolean existsByEmail(String email) { return false; }
+
+    public BenchmarkUser save(BenchmarkUser user) { return null; }
+
+    @NativeQuery(value = "SELECT * FROM bench_users WHERE age >= :minAge AND active = :active",
+            resultType = BenchmarkUser.class)
+    public List<BenchmarkUser> findAdultsNamed(int minAge, boolean active) { return null; }
+
+    @NativeQuery(value = "SELECT * FROM bench_users WHERE age >= ? AND active = ?",
+            resultType = BenchmarkUser.class)
+    public List<BenchmarkUser> findAdultsPositional(int minAge, boolean active) { return null; }
+}
\ No newline at end of file
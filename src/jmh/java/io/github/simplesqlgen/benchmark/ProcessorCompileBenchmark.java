@@ -0,0 +1,114 @@
+package io.github.simplesqlgen.benchmark;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.Compiler;
+import io.github.simplesqlgen.processor.SqlProcessor;
+
+import javax.tools.JavaFileObject;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compile-time cost of SqlProcessor on a synthetic codebase
+ * Each iteration compiles the same sources with and without the processor through compile-testing;
+ * the difference is the processor's share, reported per generated method together with peak heap.
+ * Run with {@code ./gradlew compileBenchmark --args="--repositories=100 --methods=40 -Asimplesqlgen.parallelism=auto"}.
+ */
+public final class ProcessorCompileBenchmark {
+
+    private ProcessorCompileBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int repositories = intArg(args, "--repositories=", 50);
+        int methods = intArg(args, "--methods=", 20);
+        int warmups = intArg(args, "--warmups=", 2);
+        int iterations = intArg(args, "--iterations=", 5);
+        List<String> options = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("-A")) {
+                options.add(arg);
+            }
+        }
+
+        List<JavaFileObject> sources = SyntheticRepositories.generate(repositories, methods);
+        int totalMethods = repositories * methods;
+        System.out.printf(Locale.ROOT, "Compiling %d repositories x %d methods (%d methods), options %s%n",
+                repositories, methods, totalMethods, options);
+
+        for (int i = 0; i < warmups; i++) {
+            compile(sources, options, true);
+            compile(sources, options, false);
+        }
+
+        long[] withProcessor = new long[iterations];
+        long[] withoutProcessor = new long[iterations];
+        long peakHeap = 0;
+        for (int i = 0; i < iterations; i++) {
+            resetPeakHeap();
+            withProcessor[i] = compile(sources, options, true);
+            peakHeap = Math.max(peakHeap, peakHeap());
+            withoutProcessor[i] = compile(sources, options, false);
+        }
+
+        double processorMillis = Math.max(0, median(withProcessor) - median(withoutProcessor)) / 1_000_000.0;
+        System.out.printf(Locale.ROOT, "javac with processor:    %10.1f ms (median of %d)%n", median(withProcessor) / 1_000_000.0, iterations);
+        System.out.printf(Locale.ROOT, "javac without processor: %10.1f ms%n", median(withoutProcessor) / 1_000_000.0);
+        System.out.printf(Locale.ROOT, "SqlProcessor:            %10.1f ms, %.3f ms/method%n", processorMillis, processorMillis / totalMethods);
+        System.out.printf(Locale.ROOT, "Peak heap:               %10.1f MB%n", peakHeap / (1024.0 * 1024.0));
+    }
+
+    /**
+     * Wall time of one compilation in nanoseconds; fails on compile errors so broken output is never timed
+     */
+    private static long compile(List<JavaFileObject> sources, List<String> options, boolean withProcessor) {
+        System.gc();
+        long start = System.nanoTime();
+        Compilation compilation = withProcessor
+                ? Compiler.javac().withProcessors(new SqlProcessor()).withOptions(options).compile(sources)
+                : Compiler.javac().withOptions("-proc:none").compile(sources);
+        long elapsed = System.nanoTime() - start;
+        if (compilation.status() != Compilation.Status.SUCCESS) {
+            throw new IllegalStateException("Synthetic sources failed to compile: " + compilation.errors());
+        }
+        return elapsed;
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static int intArg(String[] args, String prefix, int defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return Integer.parseInt(arg.substring(prefix.length()));
+            }
+        }
+        return defaultValue;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package io.github.simplesqlgen.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the generated read paths against a seeded table
+ * Run with {@code ./gradlew jmh}; allocation per operation comes from the gc profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryReadBenchmark {
+
+    @Param({"1000"})
+    private int rows;
+
+    private BenchmarkDatabase database;
+    private BenchmarkUserRepository repository;
+
+    @Setup
+    public void setUp() {
+        database = new BenchmarkDatabase();
+        database.seed(rows);
+        repository = database.createRepository();
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public List<BenchmarkUser> findByName() {
+        return repository.findByName("name3");
+    }
+
+    @Benchmark
+    public List<BenchmarkUser> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public long countBy() {
+        return repository.countByActive(true);
+    }
+
+    @Benchmark
+    public boolean existsBy() {
+        return repository.existsByEmail("user42@example.com");
+    }
+
+    @Benchmark
+    public List<BenchmarkUser> nativeQueryNamed() {
+        return repository.findAdultsNamed(60, true);
+    }
+
+    @Benchmark
+    public List<BenchmarkUser> nativeQueryPositional() {
+        return repository.findAdultsPositional(60, true);
+    }
+}
\ No newline at end of file
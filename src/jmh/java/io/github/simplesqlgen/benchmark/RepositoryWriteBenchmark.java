@@ -0,0 +1,55 @@
+package io.github.simplesqlgen.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the generated save path, including generated key retrieval
+ * The table is emptied before every iteration so index growth does not drift the results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryWriteBenchmark {
+
+    private BenchmarkDatabase database;
+    private BenchmarkUserRepository repository;
+    private int sequence;
+
+    @Setup
+    public void setUp() {
+        database = new BenchmarkDatabase();
+        repository = database.createRepository();
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyTable() {
+        database.truncate();
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public BenchmarkUser save() {
+        int i = sequence++;
+        return repository.save(new BenchmarkUser("name" + (i % 10), "user" + i + "@example.com", 18 + i % 50, true));
+    }
+}
\ No newline at end of file
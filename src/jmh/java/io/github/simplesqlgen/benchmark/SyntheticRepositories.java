@@ -0,0 +1,115 @@
+package io.github.simplesqlgen.benchmark;
+
+import com.google.testing.compile.JavaFileObjects;
+
+import javax.tools.JavaFileObject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates synthetic entity/repository pairs with derived query methods for compile-time benchmarks
+ * Method names are enumerated deterministically, so every run compiles the same sources.
+ */
+public final class SyntheticRepositories {
+
+    static final String PACKAGE = "bench.generated";
+
+    private static final String[] FIELDS = {"name", "email", "city", "age", "score", "active"};
+    private static final String[] TYPES = {"String", "String", "String", "int", "long", "boolean"};
+
+    private SyntheticRepositories() {
+    }
+
+    /**
+     * Entity and repository sources for {@code repositories} classes with {@code methods} derived methods each
+     */
+    public static List<JavaFileObject> generate(int repositories, int methods) {
+        List<String> signatures = methodSignatures();
+        if (methods > signatures.size()) {
+            throw new IllegalArgumentException("At most " + signatures.size() + " methods per repository are supported");
+        }
+
+        List<JavaFileObject> sources = new ArrayList<>();
+        for (int i = 0; i < repositories; i++) {
+            String entity = "Entity" + i;
+            sources.add(JavaFileObjects.forSourceString(PACKAGE + "." + entity, entitySource(entity)));
+
+            StringBuilder repository = new StringBuilder();
+            repository.append("package ").append(PACKAGE).append(";\n\n")
+                    .append("import io.github.simplesqlgen.annotation.SqlGenerator;\n")
+                    .append("import java.util.List;\n\n")
+                    .append("@SqlGenerator(entity = ").append(entity).append(".class, tableName = \"entity_").append(i).append("\")\n")
+                    .append("public class ").append(entity).append("Repository {\n");
+            for (String signature : signatures.subList(0, methods)) {
+                repository.append("    ").append(signature.replace("ENTITY", entity)).append('\n');
+            }
+            repository.append("}\n");
+            sources.add(JavaFileObjects.forSourceString(PACKAGE + "." + entity + "Repository", repository.toString()));
+        }
+        return sources;
+    }
+
+    private static String entitySource(String entity) {
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(PACKAGE).append(";\n\n")
+                .append("public class ").append(entity).append(" {\n")
+                .append("    private Long id;\n");
+        for (int f = 0; f < FIELDS.length; f++) {
+            source.append("    private ").append(TYPES[f]).append(' ').append(FIELDS[f]).append(";\n");
+        }
+        source.append("\n    public ").append(entity).append("() {}\n\n")
+                .append("    public Long getId() { return id; }\n")
+                .append("    public void setId(Long id) { this.id = id; }\n");
+        for (int f = 0; f < FIELDS.length; f++) {
+            String property = capitalize(FIELDS[f]);
+            String getter = "boolean".equals(TYPES[f]) ? "is" : "get";
+            source.append("    public ").append(TYPES[f]).append(' ').append(getter).append(property)
+                    .append("() { return ").append(FIELDS[f]).append("; }\n")
+                    .append("    public void set").append(property).append('(').append(TYPES[f]).append(' ')
+                    .append(FIELDS[f]).append(") { this.").append(FIELDS[f]).append(" = ").append(FIELDS[f]).append("; }\n");
+        }
+        return source.append("}\n").toString();
+    }
+
+    /**
+     * findBy/countBy/existsBy over single-field and two-field conditions, each with an equality
+     * and a type-specific operator variant
+     */
+    private static List<String> methodSignatures() {
+        List<String[]> conditions = new ArrayList<>();
+        for (int f = 0; f < FIELDS.length; f++) {
+            conditions.add(condition(f, false));
+            conditions.add(condition(f, true));
+        }
+        for (int f = 0; f < FIELDS.length; f++) {
+            for (int g = f + 1; g < FIELDS.length; g++) {
+                for (boolean withOperator : new boolean[]{false, true}) {
+                    String[] first = condition(f, false);
+                    String[] second = condition(g, withOperator);
+                    conditions.add(new String[]{first[0] + "And" + second[0], first[1] + ", " + second[1]});
+                }
+            }
+        }
+
+        List<String> signatures = new ArrayList<>();
+        for (String[] condition : conditions) {
+            signatures.add("public List<ENTITY> findBy" + condition[0] + "(" + condition[1] + ") { return null; }");
+            signatures.add("public long countBy" + condition[0] + "(" + condition[1] + ") { return 0; }");
+            signatures.add("public boolean existsBy" + condition[0] + "(" + condition[1] + ") { return false; }");
+        }
+        return signatures;
+    }
+
+    private static String[] condition(int field, boolean withOperator) {
+        String type = TYPES[field];
+        String operator = "";
+        if (withOperator) {
+            operator = "String".equals(type) ? "Like" : "boolean".equals(type) ? "NotEqual" : "GreaterThan";
+        }
+        return new String[]{capitalize(FIELDS[field]) + operator, type + " " + FIELDS[field]};
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+}
\ No newline at end of file
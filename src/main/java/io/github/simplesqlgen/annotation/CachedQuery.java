@@ -0,0 +1,13 @@
+package io.github.simplesqlgen.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface CachedQuery {
+    int maxSize() default 1000;
+    long ttlMillis() default 0;
+}
@@ -15,4 +15,9 @@ public @interface SqlGenerator {
     boolean enableTransactions() default false;
     boolean nativeQueryOnly() default false;
     NamingStrategy namingStrategy() default NamingStrategy.SNAKE_CASE;
+    int batchSize() default 1000;
+    int fetchSize() default 1000;
+    boolean metrics() default false;
+    int inChunkSize() default 0;
+    int inChunkParallelism() default 1;
 }
\ No newline at end of file
@@ -0,0 +1,290 @@
+package io.github.simplesqlgen.cache;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime entry point of the result caches generated for {@code @CachedQuery} methods
+ * Each cached method keeps one static instance keyed by its arguments. Entries live in up to 16
+ * segments, each a least recently used map behind its own lock, so the cache never holds more than
+ * maxSize results; with a TTL an entry is dropped on the first lookup after it expires.
+ * Caches register under "qualified.Repository.method(erased,parameter,types)". Keys are stored as
+ * copies of their collection and array arguments, and List, Set and Map results as unmodifiable
+ * copies; the entities inside a result are shared by every caller and must be treated as read-only.
+ */
+public final class QueryCache {
+
+    /** Returned by {@link #get(Object)} when the key has no live entry */
+    public static final Object MISS = new Object();
+
+    private static final Object NULL = new Object();
+    private static final Object NO_ARGS = new Object();
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 64;
+    private static final Map<String, QueryCache> CACHES = new ConcurrentHashMap<>();
+
+    private final String repository;
+    private final String method;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxSize   largest number of cached results
+     * @param ttlMillis time an entry stays valid after it was stored, or 0 to keep it until evicted
+     */
+    public QueryCache(String repository, String method, int maxSize, long ttlMillis) {
+        if (maxSize < 1 || ttlMillis < 0) {
+            throw new IllegalArgumentException("Invalid cache bounds for " + repository + "." + method
+                    + ": maxSize=" + maxSize + ", ttlMillis=" + ttlMillis);
+        }
+        this.repository = repository;
+        this.method = method;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+
+        int count = 1;
+        while (count < MAX_SEGMENTS && count * 2 * MIN_SEGMENT_SIZE <= maxSize) {
+            count <<= 1;
+        }
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(maxSize / count + (i < maxSize % count ? 1 : 0));
+        }
+        CACHES.put(toString(), this);
+    }
+
+    /**
+     * Cached result for the key, or {@link #MISS}
+     */
+    public Object get(Object key) {
+        Segment segment = segmentFor(key);
+        Object value = MISS;
+        synchronized (segment) {
+            Entry entry = segment.get(key);
+            if (entry != null) {
+                if (ttlNanos > 0 && System.nanoTime() - entry.expiresAt >= 0) {
+                    segment.remove(key);
+                } else {
+                    value = entry.value;
+                }
+            }
+        }
+        if (value == MISS) {
+            misses.increment();
+            return MISS;
+        }
+        hits.increment();
+        return value == NULL ? null : value;
+    }
+
+    /**
+     * Store a result and return the stored value (an unmodifiable copy of a List, Set or Map), evicting
+     * the least recently used entry of its segment when full
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V put(Object key, V value) {
+        V stored = (V) copyResult(value);
+        Entry entry = new Entry(stored != null ? stored : NULL, ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0);
+        Object storedKey = key instanceof ArgumentsKey ? ((ArgumentsKey) key).copy() : copyArgument(key);
+        Segment segment = segmentFor(storedKey);
+        synchronized (segment) {
+            segment.put(storedKey, entry);
+        }
+        return stored;
+    }
+
+    /**
+     * Drop the result cached for one argument list, given in method parameter order
+     */
+    public void invalidate(Object... args) {
+        Object key = key(args);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Key of a method call: the argument itself for a single non-array argument, otherwise a value
+     * comparing the arguments (and array contents) element by element. Lookups use the arguments as
+     * given; {@link #put} stores a copy, so callers may reuse and modify them afterwards
+     */
+    public static Object key(Object[] args) {
+        if (args == null || args.length == 0) {
+            return NO_ARGS;
+        } else if (args.length == 1 && args[0] != null && !args[0].getClass().isArray()) {
+            return args[0];
+        }
+        return new ArgumentsKey(args);
+    }
+
+    /**
+     * Cached result as the method's return type
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> V value(Object cached) {
+        return (V) cached;
+    }
+
+    /**
+     * Caches of all loaded repositories
+     */
+    public static Collection<QueryCache> getCaches() {
+        return Collections.unmodifiableCollection(new ArrayList<>(CACHES.values()));
+    }
+
+    /**
+     * Cache of a method by its "com.example.Repository.method(java.lang.String)" name, or null when it is not loaded
+     */
+    public static QueryCache getCache(String name) {
+        return CACHES.get(name);
+    }
+
+    public static void clearAll() {
+        for (QueryCache cache : CACHES.values()) {
+            cache.clear();
+        }
+    }
+
+    public String getRepository() { return repository; }
+    public String getMethod() { return method; }
+    public int getMaxSize() { return maxSize; }
+    public long getTtlMillis() { return TimeUnit.NANOSECONDS.toMillis(ttlNanos); }
+
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+
+    /** Entries held, including expired ones not looked up since */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return repository + "." + method;
+    }
+
+    private static Object copyResult(Object value) {
+        if (value instanceof List) {
+            return Collections.unmodifiableList(new ArrayList<>((List<?>) value));
+        } else if (value instanceof Set) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>((Set<?>) value));
+        } else if (value instanceof Map) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>((Map<?, ?>) value));
+        }
+        return value;
+    }
+
+    /**
+     * Copy of a collection, map or array argument that compares equal to it
+     */
+    private static Object copyArgument(Object arg) {
+        if (arg instanceof Set) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>((Set<?>) arg));
+        } else if (arg instanceof Collection) {
+            return Collections.unmodifiableList(new ArrayList<>((Collection<?>) arg));
+        } else if (arg instanceof Map) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>((Map<?, ?>) arg));
+        } else if (arg != null && arg.getClass().isArray()) {
+            int length = Array.getLength(arg);
+            Object copy = Array.newInstance(arg.getClass().getComponentType(), length);
+            System.arraycopy(arg, 0, copy, 0, length);
+            return copy;
+        }
+        return arg;
+    }
+
+    private Segment segmentFor(Object key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    private static final class Entry {
+        final Object value;
+        final long expiresAt;
+
+        Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Access-ordered map evicting its eldest entry past capacity; guarded by its own monitor
+     */
+    private final class Segment extends LinkedHashMap<Object, Entry> {
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class ArgumentsKey {
+        private final Object[] args;
+        private final int hash;
+
+        ArgumentsKey(Object[] args) {
+            this.args = args;
+            this.hash = Arrays.deepHashCode(args);
+        }
+
+        ArgumentsKey copy() {
+            Object[] copy = new Object[args.length];
+            for (int i = 0; i < args.length; i++) {
+                copy[i] = copyArgument(args[i]);
+            }
+            return new ArgumentsKey(copy);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ArgumentsKey && Arrays.deepEquals(args, ((ArgumentsKey) other).args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package io.github.simplesqlgen.chunk;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Runtime entry point of the chunked IN queries generated for derived {@code ...In} methods
+ * The collection is split into chunks of at most chunkSize values and the generated statement runs
+ * once per chunk; list results are concatenated and counts summed in chunk order. Values are
+ * de-duplicated before splitting, so a row matched by a repeated value is returned or counted once.
+ */
+public final class InListChunks {
+
+    private static volatile Executor executor;
+
+    private InListChunks() {
+    }
+
+    /**
+     * Executor running chunks when parallelism is above 1; by default a daemon pool with one thread per processor
+     */
+    public static Executor getExecutor() {
+        Executor current = executor;
+        return current != null ? current : DefaultExecutor.INSTANCE;
+    }
+
+    /**
+     * Install the executor for all chunked queries; null restores the default pool
+     */
+    public static void setExecutor(Executor newExecutor) {
+        executor = newExecutor;
+    }
+
+    public static <E, R> List<R> query(Collection<? extends E> values, int chunkSize, int parallelism,
+                                       Function<List<E>, List<R>> query) {
+        List<List<R>> results = run(split(values, chunkSize), parallelism, query);
+        if (results.size() == 1) {
+            return results.get(0);
+        }
+        int size = 0;
+        for (List<R> rows : results) {
+            size += rows.size();
+        }
+        List<R> rows = new ArrayList<>(size);
+        for (List<R> chunkRows : results) {
+            rows.addAll(chunkRows);
+        }
+        return rows;
+    }
+
+    public static <E> long count(Collection<? extends E> values, int chunkSize, int parallelism,
+                                 ToLongFunction<List<E>> count) {
+        long total = 0;
+        for (Long chunkCount : run(split(values, chunkSize), parallelism, count::applyAsLong)) {
+            total += chunkCount;
+        }
+        return total;
+    }
+
+    public static <E> int update(Collection<? extends E> values, int chunkSize, int parallelism,
+                                 ToIntFunction<List<E>> update) {
+        int total = 0;
+        for (Integer chunkCount : run(split(values, chunkSize), parallelism, update::applyAsInt)) {
+            total += chunkCount;
+        }
+        return total;
+    }
+
+    /**
+     * True when any chunk matches; chunks run one at a time so the first match ends the lookup
+     */
+    public static <E> boolean exists(Collection<? extends E> values, int chunkSize, Predicate<List<E>> exists) {
+        for (List<E> chunk : InListChunks.<E>split(values, chunkSize)) {
+            if (exists.test(chunk)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Consecutive views of at most chunkSize distinct values, in first occurrence order; a collection
+     * that fits one chunk is passed as is, and an empty collection is one empty chunk
+     */
+    @SuppressWarnings("unchecked")
+    static <E> List<List<E>> split(Collection<? extends E> values, int chunkSize) {
+        List<E> list = values instanceof List ? (List<E>) values : new ArrayList<>(values);
+        if (chunkSize > 0 && list.size() > chunkSize) {
+            list = new ArrayList<>(new LinkedHashSet<>(list));
+        }
+        if (chunkSize <= 0 || list.size() <= chunkSize) {
+            return Collections.singletonList(list);
+        }
+        List<List<E>> chunks = new ArrayList<>((list.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < list.size(); from += chunkSize) {
+            chunks.add(list.subList(from, Math.min(list.size(), from + chunkSize)));
+        }
+        return chunks;
+    }
+
+    private static <E, R> List<R> run(List<List<E>> chunks, int parallelism, Function<List<E>, R> task) {
+        ChunkRun<E, R> run = new ChunkRun<>(chunks, task);
+        int helpers = Math.min(parallelism, chunks.size()) - 1;
+        for (int i = 0; i < helpers; i++) {
+            try {
+                getExecutor().execute(run);
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        run.run();
+        return run.await();
+    }
+
+    /**
+     * Chunks claimed one by one by the calling thread and any helpers; the caller only waits for
+     * chunks already claimed, so a saturated executor never blocks it
+     */
+    private static final class ChunkRun<E, R> implements Runnable {
+        private final List<List<E>> chunks;
+        private final Function<List<E>, R> task;
+        private final Object[] results;
+        private final AtomicInteger next = new AtomicInteger();
+        private final CountDownLatch done;
+        private volatile Throwable failure;
+
+        ChunkRun(List<List<E>> chunks, Function<List<E>, R> task) {
+            this.chunks = chunks;
+            this.task = task;
+            this.results = new Object[chunks.size()];
+            this.done = new CountDownLatch(chunks.size());
+        }
+
+        @Override
+        public void run() {
+            for (int i = next.getAndIncrement(); i < chunks.size(); i = next.getAndIncrement()) {
+                try {
+                    if (failure == null) {
+                        results[i] = task.apply(chunks.get(i));
+                    }
+                } catch (Throwable e) {
+                    synchronized (this) {
+                        if (failure == null) {
+                            failure = e;
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        List<R> await() {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for IN list chunks", e);
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw new IllegalStateException(failure);
+            }
+            List<R> list = new ArrayList<>(results.length);
+            for (Object result : results) {
+                list.add((R) result);
+            }
+            return list;
+        }
+    }
+
+    private static final class DefaultExecutor {
+        static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            int threads = Runtime.getRuntime().availableProcessors();
+            AtomicInteger count = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "simplesqlgen-in-chunk-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package io.github.simplesqlgen.chunk;
+
+import java.util.Collections;
+
+/**
+ * SQL shapes of a statement with one padded IN list, held in a static constant per generated method
+ * Bucket sizes up to maxBucket map to a table entry built on first use, so repeated calls return the
+ * same String instance without concatenating; larger (exact size) buckets are built per call.
+ */
+public final class InListSql {
+
+    private final String prefix;
+    private final String suffix;
+    private final int maxBucket;
+    private final String emptySql;
+    private final String[] shapes;
+
+    /**
+     * @param prefix SQL up to and including the opening parenthesis of the IN list
+     * @param suffix SQL from the closing parenthesis on
+     * @param maxBucket largest padded bucket; smaller buckets are powers of two
+     */
+    public InListSql(String prefix, String suffix, int maxBucket) {
+        this(prefix, suffix, maxBucket, null);
+    }
+
+    /**
+     * @param emptySql statement for bucket 0 (an empty NOT IN list, with its predicate replaced)
+     */
+    public InListSql(String prefix, String suffix, int maxBucket, String emptySql) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.maxBucket = Math.max(1, maxBucket);
+        this.emptySql = emptySql;
+        this.shapes = new String[indexOf(this.maxBucket) + 1];
+    }
+
+    /**
+     * Statement with bucket placeholders
+     */
+    public String forBucket(int bucket) {
+        if (bucket == 0 && emptySql != null) {
+            return emptySql;
+        }
+        int index = indexOf(bucket);
+        if (bucket > maxBucket || bucket != Math.min(1 << index, maxBucket)) {
+            return build(bucket);
+        }
+        String sql = shapes[index];
+        if (sql == null) {
+            // Racing threads build equal Strings; either one may win the slot
+            sql = build(bucket);
+            shapes[index] = sql;
+        }
+        return sql;
+    }
+
+    private String build(int bucket) {
+        return prefix + String.join(", ", Collections.nCopies(bucket, "?")) + suffix;
+    }
+
+    private static int indexOf(int bucket) {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(1, bucket) - 1);
+    }
+}
\ No newline at end of file
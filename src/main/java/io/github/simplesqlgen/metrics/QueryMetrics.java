@@ -0,0 +1,129 @@
+package io.github.simplesqlgen.metrics;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Runtime entry point of the timers generated for {@code @SqlGenerator(metrics = true)}
+ * Generated methods keep one static {@link Key} each and pass their result through {@code record},
+ * so a measurement allocates nothing beyond what the recorder itself does.
+ */
+public final class QueryMetrics {
+
+    private static volatile QueryMetricsRecorder recorder = QueryMetricsRecorder.NOOP;
+
+    private QueryMetrics() {
+    }
+
+    public static QueryMetricsRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Install the recorder for all instrumented repositories; null restores the no-op default
+     */
+    public static void setRecorder(QueryMetricsRecorder newRecorder) {
+        recorder = newRecorder != null ? newRecorder : QueryMetricsRecorder.NOOP;
+    }
+
+    public static <T> T record(Key key, long startNanos, T result) {
+        recorder.record(key, System.nanoTime() - startNanos, rowCount(key, result), null);
+        return result;
+    }
+
+    public static int record(Key key, long startNanos, int result) {
+        recorder.record(key, System.nanoTime() - startNanos, key.isUpdate() ? result : 1, null);
+        return result;
+    }
+
+    public static long record(Key key, long startNanos, long result) {
+        recorder.record(key, System.nanoTime() - startNanos, key.isUpdate() ? result : 1, null);
+        return result;
+    }
+
+    public static boolean record(Key key, long startNanos, boolean result) {
+        recorder.record(key, System.nanoTime() - startNanos, 1, null);
+        return result;
+    }
+
+    /**
+     * Record a void call
+     */
+    public static void record(Key key, long startNanos) {
+        recorder.record(key, System.nanoTime() - startNanos, -1, null);
+    }
+
+    /**
+     * Record a failed call and return the exception for the generated code to rethrow
+     */
+    public static RuntimeException failed(Key key, long startNanos, RuntimeException error) {
+        recorder.record(key, System.nanoTime() - startNanos, -1, error);
+        return error;
+    }
+
+    private static long rowCount(Key key, Object result) {
+        if (result == null) {
+            return 0;
+        } else if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        } else if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        } else if (result instanceof Number && key.isUpdate()) {
+            return ((Number) result).longValue();
+        } else if (result instanceof int[]) {
+            long rows = 0;
+            for (int count : (int[]) result) {
+                rows += count;
+            }
+            return rows;
+        } else if (result instanceof int[][]) {
+            long rows = 0;
+            for (int[] batch : (int[][]) result) {
+                for (int count : batch) {
+                    rows += count;
+                }
+            }
+            return rows;
+        } else if (result instanceof java.util.stream.BaseStream) {
+            return -1;
+        }
+        return 1;
+    }
+
+    /**
+     * Identity of one instrumented repository method; created once per method as a static constant.
+     * The repository is the qualified class name; overloads get separate keys with the same name.
+     */
+    public static final class Key {
+        private final String repository;
+        private final String method;
+        private final String sql;
+        private final boolean update;
+        private volatile Object attachment;
+
+        public Key(String repository, String method, String sql, boolean update) {
+            this.repository = repository;
+            this.method = method;
+            this.sql = sql;
+            this.update = update;
+        }
+
+        public String getRepository() { return repository; }
+        public String getMethod() { return method; }
+
+        /** SQL the method runs, or null when it is not known at compile time */
+        public String getSql() { return sql; }
+
+        /** True for INSERT/UPDATE/DELETE/MERGE methods, whose row count is the number of affected rows */
+        public boolean isUpdate() { return update; }
+
+        /** Slot for the recorder to cache its meter for this method */
+        public Object getAttachment() { return attachment; }
+        public void setAttachment(Object attachment) { this.attachment = attachment; }
+
+        @Override
+        public String toString() {
+            return repository + "." + method;
+        }
+    }
+}
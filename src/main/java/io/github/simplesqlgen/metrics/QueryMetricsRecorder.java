@@ -0,0 +1,22 @@
+package io.github.simplesqlgen.metrics;
+
+/**
+ * Receives the timing of every call to a repository generated with {@code @SqlGenerator(metrics = true)}
+ * Implementations bridge to a metrics library (e.g. a Micrometer Timer per key) and are installed with
+ * {@link QueryMetrics#setRecorder(QueryMetricsRecorder)}. Called on the query thread, so keep it cheap;
+ * {@link QueryMetrics.Key#getAttachment()} can hold a per-method meter to avoid lookups.
+ */
+@FunctionalInterface
+public interface QueryMetricsRecorder {
+
+    /** Default recorder: discards every measurement */
+    QueryMetricsRecorder NOOP = (key, durationNanos, rowCount, error) -> { };
+
+    /**
+     * @param key           repository, method and SQL of the call
+     * @param durationNanos wall time of the JDBC call
+     * @param rowCount      rows returned or affected, or -1 when unknown (void methods, streams, errors)
+     * @param error         exception thrown by the call, or null on success
+     */
+    void record(QueryMetrics.Key key, long durationNanos, long rowCount, Throwable error);
+}
@@ -1,27 +1,60 @@
 package io.github.simplesqlgen.processor;
 
 import com.google.auto.service.AutoService;
+import io.github.simplesqlgen.annotation.CachedQuery;
 import io.github.simplesqlgen.annotation.NativeQuery;
 import io.github.simplesqlgen.annotation.SqlGenerator;
 import io.github.simplesqlgen.enums.NamingStrategy;
 import io.github.simplesqlgen.permit.Permit;
 import io.github.simplesqlgen.processor.ast.ASTHelper;
+import io.github.simplesqlgen.processor.ast.ReflectionCache;
+import io.github.simplesqlgen.processor.ast.TreeBuilder;
+import io.github.simplesqlgen.processor.filer.RepositoryImplWriter;
+import io.github.simplesqlgen.processor.filer.SourceTreeBuilder;
+import io.github.simplesqlgen.processor.mapper.RowMapperGenerator;
 import io.github.simplesqlgen.processor.param.ParameterProcessor;
 import io.github.simplesqlgen.processor.param.ParameterProcessor.ParameterInfo;
 import io.github.simplesqlgen.processor.query.QueryExecutor;
+import io.github.simplesqlgen.processor.sql.QueryPlan;
+import io.github.simplesqlgen.processor.sql.dialect.Dialect;
+import io.github.simplesqlgen.processor.sql.dialect.Dialects;
+import io.github.simplesqlgen.processor.stats.ProcessingStats;
+import io.github.simplesqlgen.processor.stats.ProcessingStats.Phase;
 
 import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
 import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * SqlProcessor - Main annotation processor class
@@ -32,13 +65,47 @@ import java.util.Set;
         "io.github.simplesqlgen.annotation.SqlGenerator",
         "io.github.simplesqlgen.annotation.NativeQuery"})
 @SupportedSourceVersion(SourceVersion.RELEASE_17)
+@SupportedOptions({SqlProcessor.OPTION_CACHE_ROW_MAPPERS, SqlProcessor.OPTION_DIALECT,
+        SqlProcessor.OPTION_PARALLELISM, SqlProcessor.OPTION_MODE, SqlProcessor.OPTION_STATS,
+        SqlProcessor.OPTION_STATS_FILE, SqlProcessor.OPTION_SQL_CONSTANTS, SqlProcessor.OPTION_IN_LIST_SHAPES})
 public class SqlProcessor extends AbstractProcessor {
 
+    // Processor options (-A<name>=<value>)
+    public static final String OPTION_CACHE_ROW_MAPPERS = "simplesqlgen.cacheRowMappers";
+    public static final String OPTION_DIALECT = "simplesqlgen.dialect";
+    public static final String OPTION_PARALLELISM = "simplesqlgen.parallelism";
+    public static final String OPTION_MODE = "simplesqlgen.mode";
+    public static final String OPTION_STATS = "simplesqlgen.stats";
+    public static final String OPTION_STATS_FILE = "simplesqlgen.statsFile";
+    public static final String OPTION_SQL_CONSTANTS = "simplesqlgen.sqlConstants";
+    public static final String OPTION_IN_LIST_SHAPES = "simplesqlgen.inListShapes";
+
+    // Code generation backends selected by -Asimplesqlgen.mode
+    public static final String MODE_AST = "ast";
+    public static final String MODE_FILER = "filer";
+
     // Helper classes
     private ASTHelper astHelper;
+    private SourceTreeBuilder sourceBuilder;
+    private TreeBuilder treeBuilder;
+    private boolean filerMode;
     private io.github.simplesqlgen.processor.sql.SqlGenerator sqlGenerator;
     private QueryExecutor queryExecutor;
     private ParameterProcessor parameterProcessor;
+    private RowMapperGenerator rowMapperGenerator;
+    private QueryPlan queryPlan = new QueryPlan();
+
+    // Phase timings; null unless -Asimplesqlgen.stats=true
+    private ProcessingStats stats;
+    private ProcessingStats.ClassStats classStats;
+    private ProcessingStats.MethodStats methodStats;
+
+    // Analysed entity and projection models by qualified name, shared by all repositories and rounds
+    private final Map<String, EntityInfo> entityMetadata = new HashMap<>();
+    private final Map<String, ProjectionInfo> projectionMetadata = new HashMap<>();
+
+    private static final Set<String> PROJECTION_CONTAINER_TYPES = Set.of(
+            "java.util.List", "java.util.stream.Stream", "java.util.Optional");
 
     // Logging flags for AST processor (default: minimal output)
     private static final boolean AST_VERBOSE = Boolean.parseBoolean(System.getProperty("rdb.ast.verbose", "false"));
@@ -59,24 +126,49 @@ public class SqlProcessor extends AbstractProcessor {
 
     private void initializeHelpers(ProcessingEnvironment processingEnv) {
         try {
-            astHelper = new ASTHelper();
-            astHelper.initialize(processingEnv);
-
-            if (!astHelper.isASTAvailable()) {
-                throw new IllegalStateException("AST-based processing is not available");
+            filerMode = MODE_FILER.equals(getMode());
+            if (filerMode) {
+                sourceBuilder = new SourceTreeBuilder();
+                sourceBuilder.setCacheRowMappers(getBooleanOption(OPTION_CACHE_ROW_MAPPERS, true));
+                treeBuilder = sourceBuilder;
+            } else {
+                astHelper = new ASTHelper();
+                astHelper.initialize(processingEnv);
+                astHelper.setCacheRowMappers(getBooleanOption(OPTION_CACHE_ROW_MAPPERS, true));
+
+                if (!astHelper.isASTAvailable()) {
+                    throw new IllegalStateException("AST-based processing is not available");
+                }
+                treeBuilder = astHelper;
             }
 
             sqlGenerator = new io.github.simplesqlgen.processor.sql.SqlGenerator();
-            queryExecutor = new QueryExecutor(astHelper);
-            parameterProcessor = new ParameterProcessor(astHelper);
+            sqlGenerator.setDialect(resolveDialect(processingEnv.getOptions().get(OPTION_DIALECT)));
+            sqlGenerator.setSqlConstants(getBooleanOption(OPTION_SQL_CONSTANTS, true));
+            sqlGenerator.setInListShapes(getBooleanOption(OPTION_IN_LIST_SHAPES, false));
+            queryExecutor = new QueryExecutor(treeBuilder);
+            queryExecutor.setSqlConstants(getBooleanOption(OPTION_SQL_CONSTANTS, true));
+            parameterProcessor = new ParameterProcessor(treeBuilder);
+            rowMapperGenerator = new RowMapperGenerator(treeBuilder);
+            stats = getBooleanOption(OPTION_STATS, false) || getStatsFile() != null ? new ProcessingStats() : null;
         } catch (Exception e) {
             throw new RuntimeException("Helper initialization failed", e);
         }
     }
 
+    private Dialect resolveDialect(String name) {
+        Dialect dialect = Dialects.forName(name, SqlProcessor.class.getClassLoader());
+        if (dialect == null) {
+            logError("Unknown SQL dialect '" + name + "', falling back to " + Dialects.getDefault().getName());
+            return Dialects.getDefault();
+        }
+        return dialect;
+    }
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         if (roundEnv.processingOver()) {
+            reportStats();
             return false;
         }
 
@@ -86,38 +178,228 @@ public class SqlProcessor extends AbstractProcessor {
         } catch (Exception e) {
             logError("Processing error occurred: " + e.getMessage());
             return false;
+        } finally {
+            if (stats != null) {
+                stats.roundCompleted();
+            }
+        }
+    }
+
+    /**
+     * Print the timing summary and, with -Asimplesqlgen.statsFile, write it as JSON to that path.
+     * The report spans every repository, so it bypasses the Filer: a resource without originating
+     * elements would turn the isolating processor into a full recompile on every change. In an
+     * incremental build it only covers the repositories that were recompiled.
+     */
+    private void reportStats() {
+        if (stats == null || stats.isEmpty()) {
+            return;
+        }
+        for (String line : stats.toSummary()) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, line);
+        }
+        Path statsFile = getStatsFile();
+        if (statsFile == null) {
+            return;
+        }
+        try {
+            if (statsFile.getParent() != null) {
+                Files.createDirectories(statsFile.getParent());
+            }
+            Files.write(statsFile, stats.toJson().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logError("Could not write " + statsFile + ": " + e.getMessage());
         }
     }
 
     private void processAnnotatedClasses(RoundEnvironment roundEnv) {
+        List<TypeElement> classElements = new ArrayList<>();
         for (Element element : roundEnv.getElementsAnnotatedWith(SqlGenerator.class)) {
             if (element instanceof TypeElement) {
-                TypeElement te = (TypeElement) element;
-                processSqlGeneratorClass(te);
+                classElements.add((TypeElement) element);
             }
         }
+
+        int parallelism = getParallelism();
+        if (parallelism > 1 && classElements.size() > 1) {
+            processClassesInParallel(classElements, Math.min(parallelism, classElements.size()));
+            return;
+        }
+        for (TypeElement te : classElements) {
+            processSqlGeneratorClass(te);
+        }
     }
 
-    private void processSqlGeneratorClass(TypeElement classElement) {
+    /**
+     * javac's model and trees are not thread-safe: entity analysis and AST mutation stay on the
+     * compiler thread, while method-name parsing, SQL rendering and native parameter analysis of
+     * each class run on a bounded pool ahead of the AST pass
+     */
+    private void processClassesInParallel(List<TypeElement> classElements, int parallelism) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService planner = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "simplesqlgen-planner-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
         try {
-            ClassProcessingContext context = createProcessingContext(classElement);
+            List<ClassProcessingContext> contexts = new ArrayList<>();
+            List<Future<QueryPlan>> plans = new ArrayList<>();
+            for (TypeElement classElement : classElements) {
+                ClassProcessingContext context = createProcessingContextOrLog(classElement);
+                if (context == null) {
+                    continue;
+                }
+                io.github.simplesqlgen.processor.sql.SqlGenerator generator = sqlGenerator.copy();
+                configureSqlGenerator(generator, context);
+                List<PlannedMethod> methods = collectPlannedMethods(context);
+                contexts.add(context);
+                plans.add(planner.submit(() -> planQueries(generator, context.getTableName(), methods)));
+            }
 
-            try { sqlGenerator.setNamingStrategy(context.getNamingStrategy()); } catch (Exception ignore) { }
+            for (int i = 0; i < contexts.size(); i++) {
+                QueryPlan plan;
+                try {
+                    plan = plans.get(i).get();
+                } catch (Exception e) {
+                    debug("Query planning failed, generating inline: " + contexts.get(i).getClassName());
+                    plan = null;
+                }
+                processSqlGeneratorClass(contexts.get(i), plan);
+            }
+        } finally {
+            planner.shutdownNow();
+        }
+    }
+
+    private List<PlannedMethod> collectPlannedMethods(ClassProcessingContext context) {
+        List<PlannedMethod> methods = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Element enclosedElement : context.getClassElement().getEnclosedElements()) {
+            if (enclosedElement.getKind() != ElementKind.METHOD
+                    || !seen.add(enclosedElement.getSimpleName().toString())) {
+                continue;
+            }
+            ExecutableElement methodElement = (ExecutableElement) enclosedElement;
+            NativeQuery nativeQuery = methodElement.getAnnotation(NativeQuery.class);
+            if (nativeQuery != null) {
+                methods.add(new PlannedMethod(methodElement, nativeQuery.value(),
+                        parameterProcessor.analyzeMethodParameters(methodElement)));
+            } else if (!context.isNativeQueryOnly()) {
+                List<? extends VariableElement> params = methodElement.getParameters();
+                int bindableParams = hasRowCallbackParameter(methodElement) ? params.size() - 1 : params.size();
+                String lastParamType = bindableParams > 0 ? params.get(bindableParams - 1).asType().toString() : null;
+                methods.add(new PlannedMethod(methodElement.getSimpleName().toString(), bindableParams, lastParamType));
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * Pure per-class computations; runs on a planner thread
+     */
+    private QueryPlan planQueries(io.github.simplesqlgen.processor.sql.SqlGenerator generator, String tableName,
+                                  List<PlannedMethod> methods) {
+        long start = System.nanoTime();
+        QueryPlan plan = new QueryPlan();
+        for (PlannedMethod method : methods) {
+            if (method.nativeSql == null) {
+                generator.planDerivedQuery(plan, method.methodName, tableName, method.bindableParams, method.lastParamType);
+                continue;
+            }
+            plan.putParameters(method.methodElement, method.parameters);
+            try {
+                if (hasNamedParameters(method.nativeSql)) {
+                    List<String> namedParams = parameterProcessor.extractNamedParameters(method.nativeSql);
+                    plan.putNamedParameters(method.nativeSql, namedParams);
+                    parameterProcessor.validateParameterMapping(namedParams, method.parameters, method.methodName);
+                } else {
+                    int placeholderCount = parameterProcessor.countPositionalParameters(method.nativeSql);
+                    plan.putPlaceholderCount(method.nativeSql, placeholderCount);
+                    parameterProcessor.validatePositionalParameters(placeholderCount, method.parameters, method.methodName);
+                }
+            } catch (RuntimeException ex) {
+                // Parameter validation failed - continue with generation
+            }
+        }
+        plan.setPlanningNanos(System.nanoTime() - start);
+        return plan;
+    }
+
+    private void processSqlGeneratorClass(TypeElement classElement) {
+        ClassProcessingContext context = createProcessingContextOrLog(classElement);
+        if (context != null) {
+            processSqlGeneratorClass(context, null);
+        }
+    }
+
+    private void processSqlGeneratorClass(ClassProcessingContext context, QueryPlan plan) {
+        try {
+            if (stats != null) {
+                classStats = stats.forClass(context.getClassElement().getQualifiedName().toString());
+                if (plan != null) {
+                    classStats.add(Phase.SQL_GENERATION, plan.getPlanningNanos());
+                }
+            }
+            configureSqlGenerator(sqlGenerator, context);
+            queryExecutor.setFetchSize(context.getFetchSize());
+            queryPlan = plan != null ? plan : new QueryPlan();
+            sqlGenerator.setQueryPlan(queryPlan);
 
             validateEntityInfo(context);
-            processClassWithAST(context);
+            if (filerMode) {
+                processClassWithFiler(context);
+            } else {
+                processClassWithAST(context);
+            }
 
         } catch (Exception e) {
-            logError("SqlGenerator class processing failed: " + e.getMessage());
-            if (AST_DEBUG) {
-                java.io.StringWriter sw = new java.io.StringWriter();
-                java.io.PrintWriter pw = new java.io.PrintWriter(sw);
-                e.printStackTrace(pw);
-                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, sw.toString());
+            logClassFailure(e);
+        } finally {
+            queryPlan = new QueryPlan();
+            sqlGenerator.setQueryPlan(null);
+            classStats = null;
+        }
+    }
+
+    private ClassProcessingContext createProcessingContextOrLog(TypeElement classElement) {
+        long start = startTimer();
+        try {
+            return createProcessingContext(classElement);
+        } catch (Exception e) {
+            logClassFailure(e);
+            return null;
+        } finally {
+            if (stats != null) {
+                stats.forClass(classElement.getQualifiedName().toString())
+                        .add(Phase.ENTITY_ANALYSIS, System.nanoTime() - start);
             }
         }
     }
 
+    private void configureSqlGenerator(io.github.simplesqlgen.processor.sql.SqlGenerator generator,
+                                       ClassProcessingContext context) {
+        try { generator.setNamingStrategy(context.getNamingStrategy()); } catch (Exception ignore) { }
+        generator.setBatchSize(context.getBatchSize());
+        generator.setFetchSize(context.getFetchSize());
+        generator.setInChunking(context.getInChunkSize(), context.getInChunkParallelism());
+        generator.setSelectFields(context.isNativeQueryOnly()
+                ? null : context.getEntityInfo().getFields());
+        generator.setEntityGetters(context.getEntityInfo().getGetters());
+        generator.setIdField(context.getEntityInfo().getIdField());
+        generator.setColumnNames(context.getEntityInfo().getColumnNames(context.getNamingStrategy()));
+    }
+
+    private void logClassFailure(Exception e) {
+        logError("SqlGenerator class processing failed: " + e.getMessage());
+        if (AST_DEBUG) {
+            java.io.StringWriter sw = new java.io.StringWriter();
+            java.io.PrintWriter pw = new java.io.PrintWriter(sw);
+            e.printStackTrace(pw);
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, sw.toString());
+        }
+    }
+
     private ClassProcessingContext createProcessingContext(TypeElement classElement) {
         SqlGenerator annotation = classElement.getAnnotation(SqlGenerator.class);
 
@@ -142,7 +424,9 @@ public class SqlProcessor extends AbstractProcessor {
 
         EntityInfo entityInfo = nativeOnly ? new EntityInfo() : analyzeEntity(entityType);
 
-        return new ClassProcessingContext(classElement, entityType, entityName, tableName, entityInfo, namingStrategy, nativeOnly);
+        return new ClassProcessingContext(classElement, entityType, entityName, tableName, entityInfo, namingStrategy,
+                annotation.batchSize(), annotation.fetchSize(), nativeOnly, annotation.metrics(),
+                annotation.inChunkSize(), annotation.inChunkParallelism());
     }
 
     private void validateEntityInfo(ClassProcessingContext context) {
@@ -157,13 +441,400 @@ public class SqlProcessor extends AbstractProcessor {
     private void processClassWithAST(ClassProcessingContext context) throws Exception {
         Object treePath = astHelper.getTreePath(context.getClassElement());
         if (treePath == null) {
-            throw new IllegalStateException("Cannot get TreePath: " + context.getClassName());
+            // No source tree: the type comes from a class file that was already processed
+            // (e.g. left untouched by an incremental build), so there is nothing to rewrite
+            debug("Skipping class without source tree: " + context.getClassName());
+            return;
         }
 
+        long start = startTimer();
         Object classDecl = astHelper.getClassDecl(treePath);
+        astHelper.setPosition(classDecl);
+        astHelper.clearPendingStaticFields();
 
         astHelper.injectAutowiredFields(classDecl);
-        transformClassMethods(classDecl, context);
+        astHelper.reserveDeclaredFields(classDecl);
+        registerEntityRowMapper(context);
+        recordPhase(Phase.AST_TRANSFORMATION, start);
+
+        int transformedCount = transformClassMethods(classDecl, context);
+        debug("Transformed " + transformedCount + " methods: " + context.getClassName());
+
+        start = startTimer();
+        astHelper.injectPendingStaticFields(classDecl);
+        recordPhase(Phase.AST_TRANSFORMATION, start);
+    }
+
+    /**
+     * Filer backend: write a &lt;Repository&gt;Impl subclass whose overrides carry the generated bodies.
+     * Abstract methods and methods that the AST backend would rewrite are overridden; the annotated
+     * source itself is left untouched, so no javac internals are needed
+     */
+    private void processClassWithFiler(ClassProcessingContext context) throws Exception {
+        TypeElement classElement = context.getClassElement();
+        RepositoryImplWriter writer = new RepositoryImplWriter(classElement);
+        String notExtendable = writer.checkExtendable();
+        if (notExtendable != null) {
+            throw new IllegalStateException("Cannot generate " + writer.getQualifiedImplName() + ": " + notExtendable);
+        }
+
+        sourceBuilder.clearPendingStaticFields();
+        sqlGenerator.setEntityRowMapperField(null);
+        if (!context.isNativeQueryOnly()) {
+            Element entityElement = processingEnv.getTypeUtils().asElement(context.getEntityType());
+            if (entityElement instanceof TypeElement) {
+                writer.addImport((TypeElement) entityElement);
+            }
+            if (rowMapperGenerator.isSupported(context.getEntityInfo())) {
+                sqlGenerator.setEntityRowMapperField(rowMapperGenerator.createEntityRowMapper(context.getEntityName(),
+                        context.getEntityType().toString(), context.getEntityInfo()));
+            }
+        }
+
+        for (ExecutableElement methodElement : ElementFilter.methodsIn(classElement.getEnclosedElements())) {
+            String methodName = methodElement.getSimpleName().toString();
+            methodStats = classStats != null ? classStats.forMethod(methodName) : null;
+            try {
+                addFilerMethod(writer, methodName, methodElement, context);
+            } finally {
+                methodStats = null;
+            }
+        }
+
+        long start = startTimer();
+        for (String field : sourceBuilder.getPendingStaticFields().values()) {
+            writer.addField(field);
+        }
+        sourceBuilder.clearPendingStaticFields();
+        writer.write(processingEnv.getFiler());
+        recordPhase(Phase.AST_TRANSFORMATION, start);
+    }
+
+    private void addFilerMethod(RepositoryImplWriter writer, String methodName, ExecutableElement methodElement,
+                                ClassProcessingContext context) {
+        long start = startTimer();
+        boolean isAbstract = methodElement.getModifiers().contains(Modifier.ABSTRACT);
+        boolean generate = isAbstract || shouldForceTransform(methodName, methodElement);
+        recordPhase(Phase.METHOD_PARSING, start);
+        if (!generate) {
+            return;
+        }
+        if (!RepositoryImplWriter.isOverridable(methodElement)) {
+            logError("Method cannot be overridden by " + writer.getQualifiedImplName() + ": " + methodName);
+            return;
+        }
+
+        start = startTimer();
+        sqlGenerator.clearLastSql();
+        sqlGenerator.setCurrentMethod(methodName);
+        Object body = createFilerMethodBody(writer, methodName, methodElement, context);
+        recordPhase(Phase.SQL_GENERATION, start);
+        if (body == null) {
+            if (!isAbstract) {
+                return;
+            }
+            logError("No SQL generated for abstract method " + methodName + "; "
+                    + writer.getQualifiedImplName() + " throws UnsupportedOperationException");
+            body = "throw " + sourceBuilder.createNewClass("java.lang.UnsupportedOperationException",
+                    new Object[]{sourceBuilder.createLiteral("No SQL generated for " + methodName)}) + ";";
+        } else if (methodStats != null) {
+            methodStats.setTransformed(true);
+        }
+
+        start = startTimer();
+        writer.addMethod(methodElement, body);
+        recordPhase(Phase.AST_TRANSFORMATION, start);
+    }
+
+    /**
+     * Body of one Impl override, or null when nothing could be generated for the method
+     */
+    private Object createFilerMethodBody(RepositoryImplWriter writer, String methodName,
+                                         ExecutableElement methodElement, ClassProcessingContext context) {
+        try {
+            Object methodBody;
+            NativeQuery nativeQuery = methodElement.getAnnotation(NativeQuery.class);
+            if (nativeQuery != null) {
+                List<ParameterInfo> methodParams = queryPlan.getParameters(methodElement);
+                if (methodParams == null) {
+                    methodParams = parameterProcessor.analyzeMethodParameters(methodElement);
+                }
+                methodBody = createQueryExecution(nativeQuery.value(), nativeQuery, methodElement, methodParams);
+            } else if (context.isNativeQueryOnly() || !isGeneratedMethodName(methodName)) {
+                return null;
+            } else {
+                methodBody = generateMethodBody(methodName, methodElement, context);
+                if (methodBody != null && !isReturnStatement(methodBody) && !isBlock(methodBody)
+                        && !isVoidReturnType(methodElement)) {
+                    methodBody = createDefaultReturnFor(methodElement);
+                }
+            }
+            if (methodBody != null && context.isMetrics()) {
+                methodBody = delegateWithMetrics(writer, methodBody, methodElement, context);
+            }
+            if (methodBody != null) {
+                methodBody = delegateWithCache(writer, methodBody, methodElement, context);
+            }
+            return methodBody;
+        } catch (Exception e) {
+            logError("Method implementation processing failed: " + methodName + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Filer counterpart of {@link #instrumentWithMetrics}: the generated body moves into a private
+     * {@code <method>$query} method and the override times the call to it
+     */
+    private Object delegateWithMetrics(RepositoryImplWriter writer, Object body, ExecutableElement methodElement,
+                                       ClassProcessingContext context) throws Exception {
+        String delegateName = methodElement.getSimpleName() + "$query";
+        writer.addPrivateMethod(methodElement, delegateName, body);
+        Object call = createDelegateCall(methodElement, delegateName);
+
+        MetricsNames names = createMetricsNames(methodElement, context, getMetricsSql(methodElement));
+        List<Object> statements = new ArrayList<>();
+        if (isVoidReturnType(methodElement)) {
+            statements.add(treeBuilder.createExpressionStatement(call));
+            statements.add(createMetricsRecord(names, null));
+        } else {
+            statements.add(createMetricsRecord(names, call));
+        }
+        return createMetricsBlock(treeBuilder.createBlock(statements), names);
+    }
+
+    /**
+     * this.delegate(param1, param2, ...)
+     */
+    private Object createDelegateCall(ExecutableElement methodElement, String delegateName) throws Exception {
+        List<String> paramNames = getParameterNames(methodElement);
+        Object[] args = new Object[paramNames.size()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = treeBuilder.createIdent(paramNames.get(i));
+        }
+        return treeBuilder.createMethodCall(treeBuilder.createFieldAccess("this", delegateName), args);
+    }
+
+    /**
+     * metrics = true: time the body through QueryMetrics with a static key per method. Each return
+     * passes its value through QueryMetrics.record and runtime exceptions are recorded and rethrown
+     */
+    private Object instrumentWithMetrics(Object body, ExecutableElement methodElement, ClassProcessingContext context,
+                                         String sql) throws Exception {
+        MetricsNames names = createMetricsNames(methodElement, context, sql);
+        List<Object> statements = new ArrayList<>();
+        statements.add(astHelper.replaceReturnStatements(body, expression -> {
+            if (expression != null) {
+                return createMetricsRecord(names, expression);
+            }
+            List<Object> voidReturn = new ArrayList<>();
+            voidReturn.add(createMetricsRecord(names, null));
+            voidReturn.add(treeBuilder.createReturnStatement(null));
+            return treeBuilder.createBlock(voidReturn);
+        }));
+        if (isVoidReturnType(methodElement)) {
+            statements.add(createMetricsRecord(names, null));
+        }
+        return createMetricsBlock(treeBuilder.createBlock(statements), names);
+    }
+
+    private MetricsNames createMetricsNames(ExecutableElement methodElement, ClassProcessingContext context,
+                                            String sql) throws Exception {
+        String methodName = methodElement.getSimpleName().toString();
+        String keyType = "io.github.simplesqlgen.metrics.QueryMetrics.Key";
+        boolean isUpdate = sql != null && !sql.trim().toUpperCase().startsWith("SELECT")
+                && !sql.trim().toUpperCase().startsWith("WITH");
+        Object newKey = treeBuilder.createNewClass(treeBuilder.createQualifiedIdent(keyType), new Object[]{
+                treeBuilder.createLiteral(context.getQualifiedClassName()), treeBuilder.createLiteral(methodName),
+                treeBuilder.createLiteral((Object) sql), treeBuilder.createLiteral(isUpdate)});
+        String keyField = treeBuilder.registerStaticField("QueryMetrics:" + methodElement,
+                camelToSnake(methodName).toUpperCase() + "_METRICS", treeBuilder.createQualifiedIdent(keyType), newKey);
+
+        List<String> paramNames = getParameterNames(methodElement);
+        return new MetricsNames(keyField, uniqueName("metricsStart", paramNames), uniqueName("metricsError", paramNames));
+    }
+
+    /**
+     * return QueryMetrics.record(KEY, start, value); or QueryMetrics.record(KEY, start); for a null value
+     */
+    private Object createMetricsRecord(MetricsNames names, Object value) throws Exception {
+        treeBuilder.nextPosition();
+        Object record = treeBuilder.createFieldAccess(
+                treeBuilder.createQualifiedIdent("io.github.simplesqlgen.metrics.QueryMetrics"), "record");
+        Object key = treeBuilder.createIdent(names.keyField);
+        Object start = treeBuilder.createIdent(names.startName);
+        if (value == null) {
+            return treeBuilder.createExpressionStatement(treeBuilder.createMethodCall(record, key, start));
+        }
+        return treeBuilder.createReturnStatement(treeBuilder.createMethodCall(record, key, start, value));
+    }
+
+    /**
+     * { long start = System.nanoTime(); try { body } catch (RuntimeException e) { throw QueryMetrics.failed(KEY, start, e); } }
+     */
+    private Object createMetricsBlock(Object tryBody, MetricsNames names) throws Exception {
+        Object nanoTime = treeBuilder.createFieldAccess(treeBuilder.createQualifiedIdent("java.lang.System"), "nanoTime");
+        Object failed = treeBuilder.createFieldAccess(
+                treeBuilder.createQualifiedIdent("io.github.simplesqlgen.metrics.QueryMetrics"), "failed");
+        Object failedCall = treeBuilder.createMethodCall(failed, treeBuilder.createIdent(names.keyField),
+                treeBuilder.createIdent(names.startName), treeBuilder.createIdent(names.errorName));
+
+        List<Object> statements = new ArrayList<>();
+        statements.add(treeBuilder.createLocalVariable(names.startName, treeBuilder.createPrimitiveType("long"),
+                treeBuilder.createMethodCall(nanoTime)));
+        statements.add(treeBuilder.createTryCatch(tryBody, "java.lang.RuntimeException", names.errorName,
+                treeBuilder.createBlockFromStatement(treeBuilder.createThrowStatement(failedCall))));
+        return treeBuilder.createBlock(statements);
+    }
+
+    /**
+     * SQL tag of a method: the native query, or the last statement the generator rendered for it
+     */
+    private String getMetricsSql(ExecutableElement methodElement) {
+        NativeQuery nativeQuery = methodElement.getAnnotation(NativeQuery.class);
+        return nativeQuery != null ? nativeQuery.value() : sqlGenerator.getLastSql();
+    }
+
+    /**
+     * {@code @CachedQuery}: look the arguments up in a static QueryCache before running the body and store
+     * every returned value on the way out. Wraps the metrics block, so cache hits are not timed
+     */
+    private Object instrumentWithCache(Object body, ExecutableElement methodElement, ClassProcessingContext context,
+                                       String sql) throws Exception {
+        CacheNames names = createCacheNames(methodElement, context, sql);
+        if (names == null) {
+            return body;
+        }
+        List<Object> statements = createCacheLookup(names, methodElement);
+        statements.add(astHelper.replaceReturnStatements(body, expression -> createCachePut(names, expression)));
+        return treeBuilder.createBlock(statements);
+    }
+
+    /**
+     * Filer counterpart of {@link #instrumentWithCache}: the (timed) body moves into a private
+     * {@code <method>$uncached} method that runs on cache misses
+     */
+    private Object delegateWithCache(RepositoryImplWriter writer, Object body, ExecutableElement methodElement,
+                                     ClassProcessingContext context) throws Exception {
+        CacheNames names = createCacheNames(methodElement, context, getMetricsSql(methodElement));
+        if (names == null) {
+            return body;
+        }
+        String delegateName = methodElement.getSimpleName() + "$uncached";
+        writer.addPrivateMethod(methodElement, delegateName, body);
+
+        List<Object> statements = createCacheLookup(names, methodElement);
+        statements.add(createCachePut(names, createDelegateCall(methodElement, delegateName)));
+        return treeBuilder.createBlock(statements);
+    }
+
+    /**
+     * Static cache field of a @CachedQuery method, or null when the method has no annotation or
+     * cannot be cached (no result, a stream, or a statement that is not a query)
+     */
+    private CacheNames createCacheNames(ExecutableElement methodElement, ClassProcessingContext context,
+                                        String sql) throws Exception {
+        CachedQuery cachedQuery = methodElement.getAnnotation(CachedQuery.class);
+        if (cachedQuery == null) {
+            return null;
+        }
+        String methodName = methodElement.getSimpleName().toString();
+        String upperSql = sql != null ? sql.trim().toUpperCase() : "";
+        if (isVoidReturnType(methodElement) || methodElement.getReturnType().toString().startsWith("java.util.stream.")
+                || !(upperSql.startsWith("SELECT") || upperSql.startsWith("WITH"))) {
+            logError("@CachedQuery ignored on " + methodName + ": only queries returning a value can be cached");
+            return null;
+        }
+        if (cachedQuery.maxSize() < 1 || cachedQuery.ttlMillis() < 0) {
+            logError("@CachedQuery ignored on " + methodName + ": maxSize must be positive and ttlMillis not negative");
+            return null;
+        }
+
+        String cacheType = "io.github.simplesqlgen.cache.QueryCache";
+        Object newCache = treeBuilder.createNewClass(treeBuilder.createQualifiedIdent(cacheType), new Object[]{
+                treeBuilder.createLiteral(context.getQualifiedClassName()),
+                treeBuilder.createLiteral(getMethodSignature(methodElement)),
+                treeBuilder.createLiteral(cachedQuery.maxSize()), treeBuilder.createLiteral(cachedQuery.ttlMillis())});
+        String cacheField = treeBuilder.registerStaticField("QueryCache:" + methodElement,
+                camelToSnake(methodName).toUpperCase() + "_CACHE", treeBuilder.createQualifiedIdent(cacheType), newCache);
+
+        List<String> paramNames = getParameterNames(methodElement);
+        return new CacheNames(cacheField, uniqueName("cacheKey", paramNames), uniqueName("cached", paramNames));
+    }
+
+    /**
+     * Object key = QueryCache.key(new Object[]{args}); Object cached = CACHE.get(key);
+     * if (cached != QueryCache.MISS) return QueryCache.value(cached);
+     */
+    private List<Object> createCacheLookup(CacheNames names, ExecutableElement methodElement) throws Exception {
+        List<Object> args = new ArrayList<>();
+        for (String paramName : getParameterNames(methodElement)) {
+            args.add(treeBuilder.createIdent(paramName));
+        }
+        Object key = treeBuilder.createMethodCall(createQueryCacheMember("key"),
+                treeBuilder.createArrayInitializer("Object", args));
+        Object lookup = treeBuilder.createMethodCall(treeBuilder.createFieldAccess(
+                treeBuilder.createIdent(names.cacheField), "get"), treeBuilder.createIdent(names.keyName));
+        Object hit = treeBuilder.createBinaryExpression(treeBuilder.createIdent(names.cachedName), "!=",
+                createQueryCacheMember("MISS"));
+        Object value = treeBuilder.createMethodCall(createQueryCacheMember("value"), treeBuilder.createIdent(names.cachedName));
+
+        List<Object> statements = new ArrayList<>();
+        statements.add(treeBuilder.createLocalVariable(names.keyName, treeBuilder.createQualifiedIdent("java.lang.Object"), key));
+        statements.add(treeBuilder.createLocalVariable(names.cachedName, treeBuilder.createQualifiedIdent("java.lang.Object"), lookup));
+        statements.add(treeBuilder.createIfStatement(hit, treeBuilder.createReturnStatement(value)));
+        return statements;
+    }
+
+    private Object createQueryCacheMember(String member) throws Exception {
+        return treeBuilder.createFieldAccess(treeBuilder.createQualifiedIdent("io.github.simplesqlgen.cache.QueryCache"), member);
+    }
+
+    /**
+     * return CACHE.put(key, value);
+     */
+    private Object createCachePut(CacheNames names, Object value) throws Exception {
+        treeBuilder.nextPosition();
+        Object put = treeBuilder.createFieldAccess(treeBuilder.createIdent(names.cacheField), "put");
+        return treeBuilder.createReturnStatement(treeBuilder.createMethodCall(put,
+                treeBuilder.createIdent(names.keyName), value));
+    }
+
+    /**
+     * Method name with its erased parameter types, e.g. findByIdIn(java.util.List,int)
+     */
+    private String getMethodSignature(ExecutableElement methodElement) {
+        StringJoiner types = new StringJoiner(",", methodElement.getSimpleName() + "(", ")");
+        for (VariableElement param : methodElement.getParameters()) {
+            types.add(processingEnv.getTypeUtils().erasure(param.asType()).toString());
+        }
+        return types.toString();
+    }
+
+    private List<String> getParameterNames(ExecutableElement methodElement) {
+        List<String> names = new ArrayList<>();
+        for (VariableElement param : methodElement.getParameters()) {
+            names.add(param.getSimpleName().toString());
+        }
+        return names;
+    }
+
+    private String uniqueName(String baseName, List<String> takenNames) {
+        String name = baseName;
+        while (takenNames.contains(name)) {
+            name = name + "_";
+        }
+        return name;
+    }
+
+    private void registerEntityRowMapper(ClassProcessingContext context) throws Exception {
+        sqlGenerator.setEntityRowMapperField(null);
+        if (context.isNativeQueryOnly() || !rowMapperGenerator.isSupported(context.getEntityInfo())) {
+            return;
+        }
+
+        sqlGenerator.setEntityRowMapperField(rowMapperGenerator.createEntityRowMapper(context.getEntityName(),
+                context.getEntityType().toString(), context.getEntityInfo()));
     }
 
     private int transformClassMethods(Object classDecl, ClassProcessingContext context) throws Exception {
@@ -178,11 +849,11 @@ public class SqlProcessor extends AbstractProcessor {
             return result.transformedCount;
         } catch (Exception e) {
             try {
-                Object membersList = classDecl.getClass().getDeclaredMethod("getMembers").invoke(classDecl);
+                Object membersList = ReflectionCache.getDeclaredMethod(classDecl.getClass(), "getMembers").invoke(classDecl);
                 TransformResult result = createTransformedMembersList(membersList, context);
 
-                java.lang.reflect.Method setMembersMethod = classDecl.getClass().getDeclaredMethod("setMembers",
-                        Class.forName("com.sun.tools.javac.util.List"));
+                java.lang.reflect.Method setMembersMethod = ReflectionCache.getDeclaredMethod(classDecl.getClass(), "setMembers",
+                        ReflectionCache.forName("com.sun.tools.javac.util.List"));
                 setMembersMethod.invoke(classDecl, result.newList);
 
                 return result.transformedCount;
@@ -205,57 +876,55 @@ public class SqlProcessor extends AbstractProcessor {
 
         if (originalList instanceof Iterable) {
             for (Object member : (Iterable<?>) originalList) {
-                if (isMethodDeclaration(member)) {
-                    Object transformedMember = processMethodMember(member, context);
-                    if (transformedMember != member) {
-                        transformedCount++;
-                    }
-                    newMembers.add(transformedMember);
-                } else {
-                    newMembers.add(member);
+                if (isMethodDeclaration(member) && processMethodMember(member, context)) {
+                    transformedCount++;
                 }
+                newMembers.add(member);
             }
         }
 
         return new TransformResult(convertToJavacList(newMembers), transformedCount);
     }
 
-    private Object processMethodMember(Object member, ClassProcessingContext context) throws Exception {
+    /**
+     * Fill in the body of one method declaration in place; true when its body was generated
+     */
+    private boolean processMethodMember(Object member, ClassProcessingContext context) throws Exception {
         String methodName = "unknown";
         try {
+            long start = startTimer();
             methodName = getMethodName(member);
             debug("Processing method member: " + methodName);
 
             ExecutableElement methodElement = findMethodElement(context.getClassElement(), methodName);
             debug("Finding methodElement: " + (methodElement != null ? "found" : "not found") + " (" + methodName + ")");
+            methodStats = classStats != null && methodElement != null ? classStats.forMethod(methodName) : null;
 
             boolean isEmpty = isEmptyMethod(member);
             debug("Empty method check: " + isEmpty + " (" + methodName + ")");
 
             boolean shouldForceTransform = false;
             try {
-                NativeQuery nq = methodElement != null ? methodElement.getAnnotation(NativeQuery.class) : null;
-                boolean isGeneratedName = methodName.startsWith("findBy") || methodName.startsWith("findAll")
-                        || methodName.startsWith("countBy") || methodName.startsWith("deleteBy")
-                        || methodName.startsWith("existsBy") || methodName.startsWith("save")
-                        || methodName.startsWith("update");
-                boolean isOptionalReturn = methodElement != null && methodElement.getReturnType().toString().startsWith("java.util.Optional");
-                shouldForceTransform = !isOptionalReturn && ((nq != null) || isGeneratedName);
+                shouldForceTransform = methodElement != null && shouldForceTransform(methodName, methodElement);
                 debug("Force transform check: " + shouldForceTransform + " (" + methodName + ")");
             } catch (Exception ignore) { }
 
+            recordPhase(Phase.METHOD_PARSING, start);
+
             if (methodElement != null && (isEmpty || shouldForceTransform)) {
                 debug("Starting method transformation: " + methodName);
 
-                Object result = createImplementedMethod(member, methodName, methodElement, context);
+                createImplementedMethod(member, methodName, methodElement, context);
 
                 boolean isTransformed = checkMethodBodyChanged(member, methodName);
                 debug("Body changed check: " + isTransformed);
-
-                return result;
+                if (methodStats != null) {
+                    methodStats.setTransformed(isTransformed);
+                }
+                return isTransformed;
             }
 
-            return member;
+            return false;
         } catch (Exception e) {
             logError("Method member processing failed: " + methodName + " - " + e.getMessage());
             if (AST_DEBUG) {
@@ -264,17 +933,35 @@ public class SqlProcessor extends AbstractProcessor {
                 e.printStackTrace(pw);
                 processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, sw.toString());
             }
-            return member;
+            return false;
+        } finally {
+            methodStats = null;
         }
     }
 
+    /**
+     * Native queries and derived method names are generated even when the method already has a body
+     */
+    private boolean shouldForceTransform(String methodName, ExecutableElement methodElement) {
+        boolean isOptionalReturn = methodElement.getReturnType().toString().startsWith("java.util.Optional");
+        return !isOptionalReturn
+                && (methodElement.getAnnotation(NativeQuery.class) != null || isGeneratedMethodName(methodName));
+    }
+
+    private boolean isGeneratedMethodName(String methodName) {
+        return sqlGenerator.isDerivedFindMethod(methodName)
+                || methodName.startsWith("countBy") || methodName.startsWith("deleteBy")
+                || methodName.startsWith("existsBy") || methodName.startsWith("save")
+                || methodName.startsWith("update") || methodName.startsWith("upsert");
+    }
+
     private boolean checkMethodBodyChanged(Object methodDecl, String methodName) {
         try {
-            Object body = methodDecl.getClass().getDeclaredMethod("getBody").invoke(methodDecl);
+            Object body = ReflectionCache.getDeclaredMethod(methodDecl.getClass(), "getBody").invoke(methodDecl);
             if (body == null) {
                 return false;
             }
-            Object statements = body.getClass().getDeclaredMethod("getStatements").invoke(body);
+            Object statements = ReflectionCache.getDeclaredMethod(body.getClass(), "getStatements").invoke(body);
             if (statements instanceof List) {
                 List<?> stmtList = (List<?>) statements;
                 if (stmtList.size() > 1) {
@@ -294,8 +981,8 @@ public class SqlProcessor extends AbstractProcessor {
     }
 
     private Object convertToJavacList(List<Object> members) throws Exception {
-        Class<?> javacListClass = Class.forName("com.sun.tools.javac.util.List");
-        java.lang.reflect.Method fromMethod = javacListClass.getDeclaredMethod("from", Object[].class);
+        Class<?> javacListClass = ReflectionCache.forName("com.sun.tools.javac.util.List");
+        java.lang.reflect.Method fromMethod = ReflectionCache.getDeclaredMethod(javacListClass, "from", Object[].class);
         return fromMethod.invoke(null, new Object[]{members.toArray()});
     }
 
@@ -305,7 +992,7 @@ public class SqlProcessor extends AbstractProcessor {
             NativeQuery nativeQuery = methodElement.getAnnotation(NativeQuery.class);
             if (nativeQuery != null) {
     
-                return processNativeQueryMethod(nativeQuery, methodElement, originalMethod);
+                return processNativeQueryMethod(nativeQuery, methodElement, originalMethod, context);
             }
             if (context.isNativeQueryOnly()) {
     
@@ -331,32 +1018,127 @@ public class SqlProcessor extends AbstractProcessor {
     }
 
     private Object processNativeQueryMethod(NativeQuery nativeQuery, ExecutableElement methodElement,
-                                           Object originalMethod) throws Exception {
+                                           Object originalMethod, ClassProcessingContext context) throws Exception {
         String sql = nativeQuery.value();
-        List<ParameterInfo> methodParams = parameterProcessor.analyzeMethodParameters(methodElement);
+        List<ParameterInfo> methodParams = queryPlan.getParameters(methodElement);
+        if (methodParams == null) {
+            methodParams = parameterProcessor.analyzeMethodParameters(methodElement);
+        }
 
+        long start = startTimer();
         Object queryExecution = createQueryExecution(sql, nativeQuery, methodElement, methodParams);
+        if (context.isMetrics()) {
+            queryExecution = instrumentWithMetrics(queryExecution, methodElement, context, sql);
+        }
+        queryExecution = instrumentWithCache(queryExecution, methodElement, context, sql);
+        recordPhase(Phase.SQL_GENERATION, start);
         return replaceMethodBody(originalMethod, queryExecution);
     }
 
     private Object createQueryExecution(String sql, NativeQuery nativeQuery, ExecutableElement methodElement,
                                        List<ParameterInfo> methodParams) throws Exception {
         boolean isUpdate = isUpdateQuery(sql);
+        List<ParameterInfo> boundParams = new ArrayList<>(methodParams);
+        List<Object> arrayDeclarations = new ArrayList<>();
+        String boundSql = bindArrayParameters(sql, boundParams, arrayDeclarations);
 
-        if (hasNamedParameters(sql)) {
-            return createNamedParameterExecution(sql, nativeQuery, methodElement, methodParams, isUpdate);
+        Object execution;
+        if (hasNamedParameters(boundSql)) {
+            execution = createNamedParameterExecution(boundSql, nativeQuery, methodElement, boundParams, isUpdate);
         } else {
-            return createPositionalParameterExecution(sql, nativeQuery, methodElement, methodParams, isUpdate);
+            execution = createPositionalParameterExecution(boundSql, nativeQuery, methodElement, boundParams, isUpdate);
         }
+        if (arrayDeclarations.isEmpty()) {
+            return execution;
+        }
+        arrayDeclarations.add(execution);
+        return treeBuilder.createBlock(arrayDeclarations);
+    }
+
+    /**
+     * Rewrite "col IN (?)" and "col IN (:name)" over collection parameters to the dialect's array
+     * condition when it supports array binding. Each rewritten parameter is replaced in boundParams
+     * by a local SqlTypeValue whose declaration is added to declarations
+     */
+    private String bindArrayParameters(String sql, List<ParameterInfo> boundParams,
+                                       List<Object> declarations) throws Exception {
+        if (!sqlGenerator.getDialect().supportsArrayBinding()) {
+            return sql;
+        }
+        List<String> reservedNames = new ArrayList<>();
+        for (ParameterInfo param : boundParams) {
+            reservedNames.add(param.getName());
+        }
+
+        boolean named = hasNamedParameters(sql);
+        String boundSql = sql;
+        for (int i = boundParams.size() - 1; i >= 0; i--) {
+            ParameterInfo param = boundParams.get(i);
+            String elementType = parameterProcessor.isInListParameter(param)
+                    ? parameterProcessor.getArrayElementType(param) : null;
+            if (elementType == null) {
+                continue;
+            }
+            String rewritten = named ? replaceNamedInLists(boundSql, param.getParamName())
+                    : replacePositionalInList(boundSql, i);
+            if (rewritten == null) {
+                continue;
+            }
+
+            String arrayName = uniqueName(param.getName() + "Array", reservedNames);
+            reservedNames.add(arrayName);
+            declarations.add(0, parameterProcessor.createArrayParameter(param.getName(), arrayName, elementType, reservedNames));
+
+            ParameterInfo arrayParam = new ParameterInfo();
+            arrayParam.setName(arrayName);
+            arrayParam.setParamName(param.getParamName());
+            arrayParam.setType(param.getType());
+            arrayParam.setTypeString(param.getTypeString());
+            arrayParam.setParameterType(param.getParameterType());
+            boundParams.set(i, arrayParam);
+            boundSql = rewritten;
+        }
+        return boundSql;
+    }
+
+    private String replacePositionalInList(String sql, int index) {
+        int at = -1;
+        for (int i = 0; i <= index; i++) {
+            at = sql.indexOf('?', at + 1);
+            if (at < 0) {
+                return null;
+            }
+        }
+        return sqlGenerator.replaceInWithArrayCondition(sql, at, at + 1);
+    }
+
+    /**
+     * Rewrite every occurrence of the named parameter, or return null unless all of them are IN lists
+     */
+    private String replaceNamedInLists(String sql, String paramName) {
+        Matcher matcher = Pattern.compile(":" + Pattern.quote(paramName) + "(?![a-zA-Z0-9_])").matcher(sql);
+        List<Integer> starts = new ArrayList<>();
+        while (matcher.find()) {
+            starts.add(matcher.start());
+        }
+        String rewritten = starts.isEmpty() ? null : sql;
+        for (int k = starts.size() - 1; k >= 0 && rewritten != null; k--) {
+            rewritten = sqlGenerator.replaceInWithArrayCondition(rewritten, starts.get(k),
+                    starts.get(k) + paramName.length() + 1);
+        }
+        return rewritten;
     }
 
     private Object createNamedParameterExecution(String sql, NativeQuery nativeQuery, ExecutableElement methodElement,
                                                 List<ParameterInfo> methodParams, boolean isUpdate) throws Exception {
-        List<String> namedParams = parameterProcessor.extractNamedParameters(sql);
-        try {
-            parameterProcessor.validateParameterMapping(namedParams, methodParams, methodElement.getSimpleName().toString());
-        } catch (RuntimeException ex) {
-            // Parameter validation failed - continue with generation
+        List<String> namedParams = queryPlan.getNamedParameters(sql);
+        if (namedParams == null) {
+            namedParams = parameterProcessor.extractNamedParameters(sql);
+            try {
+                parameterProcessor.validateParameterMapping(namedParams, methodParams, methodElement.getSimpleName().toString());
+            } catch (RuntimeException ex) {
+                // Parameter validation failed - continue with generation
+            }
         }
 
         String resultTypeName = getResultTypeName(nativeQuery, methodElement);
@@ -369,12 +1151,14 @@ public class SqlProcessor extends AbstractProcessor {
 
     private Object createPositionalParameterExecution(String sql, NativeQuery nativeQuery, ExecutableElement methodElement,
                                                      List<ParameterInfo> methodParams, boolean isUpdate) throws Exception {
-        int placeholderCount = parameterProcessor.countPositionalParameters(sql);
-        try {
-            parameterProcessor.validatePositionalParameters(placeholderCount, methodParams,
-                methodElement.getSimpleName().toString());
-        } catch (RuntimeException ex) {
-            // Parameter validation failed - continue with generation
+        if (queryPlan.getPlaceholderCount(sql) == null) {
+            int placeholderCount = parameterProcessor.countPositionalParameters(sql);
+            try {
+                parameterProcessor.validatePositionalParameters(placeholderCount, methodParams,
+                    methodElement.getSimpleName().toString());
+            } catch (RuntimeException ex) {
+                // Parameter validation failed - continue with generation
+            }
         }
 
         String resultTypeName = getResultTypeName(nativeQuery, methodElement);
@@ -412,19 +1196,27 @@ public class SqlProcessor extends AbstractProcessor {
 
     private Object processGeneratedSqlMethod(String methodName, ExecutableElement methodElement, 
                                             Object originalMethod, ClassProcessingContext context) throws Exception {
-        
+        long start = startTimer();
+        sqlGenerator.clearLastSql();
+        sqlGenerator.setCurrentMethod(methodName);
         Object methodBody = generateMethodBody(methodName, methodElement, context);
         
         if (methodBody == null) {
+            recordPhase(Phase.SQL_GENERATION, start);
             return originalMethod;
         }
         
-        if (!isReturnStatement(methodBody) && !isVoidReturnType(methodElement)) {
+        if (!isReturnStatement(methodBody) && !isBlock(methodBody) && !isVoidReturnType(methodElement)) {
             Object defaultReturn = createDefaultReturnFor(methodElement);
             if (defaultReturn != null) {
                 methodBody = defaultReturn;
             }
         }
+        if (context.isMetrics()) {
+            methodBody = instrumentWithMetrics(methodBody, methodElement, context, sqlGenerator.getLastSql());
+        }
+        methodBody = instrumentWithCache(methodBody, methodElement, context, sqlGenerator.getLastSql());
+        recordPhase(Phase.SQL_GENERATION, start);
         
         Object result = replaceMethodBody(originalMethod, methodBody);
         
@@ -435,18 +1227,25 @@ public class SqlProcessor extends AbstractProcessor {
                                      ClassProcessingContext context) throws Exception {
         String entityFqn = context.getEntityType().toString();
         
-        if (methodName.startsWith("findBy") || methodName.startsWith("findAll")) {
+        if (sqlGenerator.isDerivedFindMethod(methodName)) {
             return generateFindMethod(methodName, methodElement, context, entityFqn);
         } else if (methodName.startsWith("countBy")) {
-            return sqlGenerator.createCountByImplementationWithValidation(methodName, context.getTableName(), context.getEntityInfo(), methodElement, astHelper);
+            return sqlGenerator.createCountByImplementationWithValidation(methodName, context.getTableName(), context.getEntityInfo(), methodElement, treeBuilder);
         } else if (methodName.startsWith("deleteBy")) {
-            return sqlGenerator.createDeleteByImplementationWithValidation(methodName, context.getTableName(), context.getEntityInfo(), methodElement, astHelper);
+            return sqlGenerator.createDeleteByImplementationWithValidation(methodName, context.getTableName(), context.getEntityInfo(), methodElement, treeBuilder);
         } else if (methodName.startsWith("existsBy")) {
-            return sqlGenerator.createExistsByImplementationWithValidation(methodName, context.getTableName(), context.getEntityInfo(), methodElement, astHelper);
+            return sqlGenerator.createExistsByImplementationWithValidation(methodName, context.getTableName(), context.getEntityInfo(), methodElement, treeBuilder);
+        } else if (methodName.startsWith("upsert") || methodName.startsWith("saveOrUpdate")) {
+            return sqlGenerator.createUpsertImplementation(context.getTableName(), context.getEntityInfo(), methodElement, treeBuilder);
+        } else if (isBatchMethod(methodName, methodElement)) {
+            if (methodName.startsWith("save")) {
+                return sqlGenerator.createBatchSaveImplementation(entityFqn, context.getTableName(), context.getEntityInfo(), methodElement, treeBuilder);
+            }
+            return sqlGenerator.createBatchUpdateImplementation(entityFqn, context.getTableName(), context.getEntityInfo(), methodElement, treeBuilder);
         } else if (methodName.startsWith("save")) {
-            return sqlGenerator.createSaveImplementationWithEntity(context.getEntityName(), context.getTableName(), context.getEntityInfo(), methodElement, astHelper);
+            return sqlGenerator.createSaveImplementationWithEntity(context.getEntityName(), context.getTableName(), context.getEntityInfo(), methodElement, treeBuilder);
         } else if (methodName.startsWith("update")) {
-            return sqlGenerator.createUpdateImplementationWithEntity(context.getEntityName(), context.getTableName(), context.getEntityInfo(), methodElement, astHelper);
+            return sqlGenerator.createUpdateImplementationWithEntity(context.getEntityName(), context.getTableName(), context.getEntityInfo(), methodElement, treeBuilder);
         } else {
             return createDebugStatement(methodName);
         }
@@ -454,15 +1253,166 @@ public class SqlProcessor extends AbstractProcessor {
 
     private Object generateFindMethod(String methodName, ExecutableElement methodElement, 
                                      ClassProcessingContext context, String entityFqn) throws Exception {
-        if (methodName.equals("findAll")) {
-            return sqlGenerator.createFindAllImplementation(entityFqn, context.getTableName(), astHelper);
+        if (isVoidReturnType(methodElement) && hasRowCallbackParameter(methodElement)) {
+            return sqlGenerator.createCallbackQueryImplementation(methodName, entityFqn, context.getTableName(),
+                    methodElement, treeBuilder);
+        }
+
+        TypeMirror projectionType = getProjectionType(methodElement, context);
+        if (projectionType != null) {
+            return generateProjectionFindMethod(methodName, methodElement, context, projectionType);
+        } else if (methodName.equals("findAll")) {
+            return sqlGenerator.createFindAllImplementation(entityFqn, context.getTableName(), methodElement, treeBuilder);
         } else {
             return sqlGenerator.createFindByImplementationWithValidation(methodName, context.getEntityName(), entityFqn, 
-                    context.getTableName(), context.getEntityInfo(), methodElement, astHelper);
+                    context.getTableName(), context.getEntityInfo(), methodElement, treeBuilder);
         }
     }
 
+    private Object generateProjectionFindMethod(String methodName, ExecutableElement methodElement,
+                                                ClassProcessingContext context, TypeMirror projectionType) throws Exception {
+        String projectionFqn = processingEnv.getTypeUtils().erasure(projectionType).toString();
+        ProjectionInfo projection = analyzeProjection(projectionType);
+        if (projection.getFields().isEmpty()) {
+            throw new IllegalStateException("Unsupported projection type " + projectionFqn
+                    + ": expected a record, a class with a public constructor or setters, or an interface with getters");
+        }
+        for (String property : projection.getFields()) {
+            if (!context.getEntityInfo().getFields().contains(property)) {
+                logError("Projection property '" + property + "' of " + projectionFqn
+                        + " has no matching field in " + context.getEntityName());
+            }
+        }
+
+        Object rowMapper;
+        if (rowMapperGenerator.isSupported(projection)) {
+            rowMapper = rowMapperGenerator.createProjectionRowMapper(projectionFqn, projection);
+        } else if (projection.getKind() == ProjectionInfo.Kind.CONSTRUCTOR) {
+            rowMapper = treeBuilder.createDataClassRowMapper(projectionFqn);
+        } else if (projection.getKind() == ProjectionInfo.Kind.SETTER) {
+            rowMapper = treeBuilder.createBeanPropertyRowMapper(projectionFqn);
+        } else {
+            throw new IllegalStateException("Interface projection " + projectionFqn + " has properties without a supported column type");
+        }
+        return sqlGenerator.createProjectionQueryImplementation(methodName, projectionFqn, projection.getFields(),
+                rowMapper, context.getTableName(), methodElement, treeBuilder);
+    }
+
+    /**
+     * Element type of a finder's result (T, List&lt;T&gt;, Stream&lt;T&gt;, Optional&lt;T&gt;) when it is a
+     * user type other than the entity; null for entity, Map and JDK value results
+     */
+    private TypeMirror getProjectionType(ExecutableElement methodElement, ClassProcessingContext context) {
+        if (context.isNativeQueryOnly()) {
+            return null;
+        }
+        TypeMirror type = methodElement.getReturnType();
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        String erasedType = processingEnv.getTypeUtils().erasure(type).toString();
+        if (PROJECTION_CONTAINER_TYPES.contains(erasedType)) {
+            List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+            if (typeArguments.size() != 1 || typeArguments.get(0).getKind() != TypeKind.DECLARED) {
+                return null;
+            }
+            type = typeArguments.get(0);
+        }
+        if (processingEnv.getTypeUtils().isSameType(type, context.getEntityType())
+                || processingEnv.getTypeUtils().erasure(type).toString().startsWith("java.")) {
+            return null;
+        }
+        return type;
+    }
+
+    private boolean isBatchMethod(String methodName, ExecutableElement methodElement) {
+        if (!methodName.startsWith("saveAll") && !methodName.startsWith("updateAll")) {
+            return false;
+        }
+        if (methodElement.getParameters().isEmpty()) {
+            return false;
+        }
+        TypeMirror paramType = processingEnv.getTypeUtils().erasure(methodElement.getParameters().get(0).asType());
+        TypeElement collectionElement = processingEnv.getElementUtils().getTypeElement("java.util.Collection");
+        return collectionElement != null
+                && processingEnv.getTypeUtils().isAssignable(paramType, processingEnv.getTypeUtils().erasure(collectionElement.asType()));
+    }
+
+    private boolean hasRowCallbackParameter(ExecutableElement methodElement) {
+        List<? extends VariableElement> params = methodElement.getParameters();
+        if (params.isEmpty()) {
+            return false;
+        }
+        String lastParamType = processingEnv.getTypeUtils().erasure(params.get(params.size() - 1).asType()).toString();
+        return "java.util.function.Consumer".equals(lastParamType)
+                || "org.springframework.jdbc.core.RowCallbackHandler".equals(lastParamType);
+    }
+
     // Utility methods
+    private long startTimer() {
+        return stats != null ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Add the time since start to the current method, or to the current class outside a method
+     */
+    private void recordPhase(Phase phase, long start) {
+        if (stats == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (methodStats != null) {
+            methodStats.add(phase, elapsed);
+        } else if (classStats != null) {
+            classStats.add(phase, elapsed);
+        }
+    }
+
+    private Path getStatsFile() {
+        String value = processingEnv.getOptions().get(OPTION_STATS_FILE);
+        return value == null || value.trim().isEmpty() ? null : Paths.get(value.trim());
+    }
+
+    private boolean getBooleanOption(String name, boolean defaultValue) {
+        String value = processingEnv.getOptions().get(name);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Planner threads from -Asimplesqlgen.parallelism (number or "auto"); 1 keeps processing serial
+     */
+    private int getParallelism() {
+        String value = processingEnv.getOptions().get(OPTION_PARALLELISM);
+        if (value == null || value.isBlank()) {
+            return 1;
+        }
+        if ("auto".equalsIgnoreCase(value.trim())) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            logError("Invalid " + OPTION_PARALLELISM + " '" + value + "', processing serially");
+            return 1;
+        }
+    }
+
+    /**
+     * Code generation backend from -Asimplesqlgen.mode ("ast" rewrites the class in place, "filer" writes an Impl)
+     */
+    private String getMode() {
+        String value = processingEnv.getOptions().get(OPTION_MODE);
+        if (value == null || value.isBlank()) {
+            return MODE_AST;
+        }
+        String mode = value.trim().toLowerCase();
+        if (!MODE_AST.equals(mode) && !MODE_FILER.equals(mode)) {
+            logError("Invalid " + OPTION_MODE + " '" + value + "', using " + MODE_AST);
+            return MODE_AST;
+        }
+        return mode;
+    }
+
     private TypeMirror getEntityType(SqlGenerator annotation) {
         try {
             annotation.entity();
@@ -517,21 +1467,82 @@ public class SqlProcessor extends AbstractProcessor {
         }
     }
 
+    /**
+     * Entity model for the type, analysed once per qualified name for the lifetime of the processor
+     */
     private EntityInfo analyzeEntity(TypeMirror entityType) {
+        String key = processingEnv.getTypeUtils().erasure(entityType).toString();
+        EntityInfo cached = entityMetadata.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        EntityInfo entityInfo = analyzeEntityElements(entityType);
+        if (!entityInfo.getFields().isEmpty()) {
+            entityMetadata.put(key, entityInfo);
+        }
+        return entityInfo;
+    }
+
+    private EntityInfo analyzeEntityElements(TypeMirror entityType) {
         EntityInfo entityInfo = new EntityInfo();
         try {
             Element element = processingEnv.getTypeUtils().asElement(entityType);
             if (element instanceof TypeElement) {
                 TypeElement typeElement = (TypeElement) element;
                 List<String> fields = new ArrayList<>();
+                Map<String, String> fieldTypes = new LinkedHashMap<>();
+                Set<String> methodNames = new HashSet<>();
+                Set<String> accessorNames = new HashSet<>();
+                boolean hasConstructor = false;
+                boolean hasNoArgConstructor = false;
                 
                 for (Element enclosedElement : typeElement.getEnclosedElements()) {
                     if (enclosedElement.getKind() == ElementKind.FIELD) {
-                        fields.add(enclosedElement.getSimpleName().toString());
+                        if (enclosedElement.getModifiers().contains(Modifier.STATIC)
+                                || enclosedElement.getModifiers().contains(Modifier.TRANSIENT)) {
+                            continue;
+                        }
+                        String fieldName = enclosedElement.getSimpleName().toString();
+                        fields.add(fieldName);
+                        fieldTypes.put(fieldName, enclosedElement.asType().toString());
+                    } else if (enclosedElement.getKind() == ElementKind.METHOD) {
+                        ExecutableElement method = (ExecutableElement) enclosedElement;
+                        if (method.getParameters().size() == 1) {
+                            methodNames.add(method.getSimpleName().toString());
+                        } else if (method.getParameters().isEmpty()) {
+                            accessorNames.add(method.getSimpleName().toString());
+                        }
+                    } else if (enclosedElement.getKind() == ElementKind.CONSTRUCTOR) {
+                        hasConstructor = true;
+                        ExecutableElement constructor = (ExecutableElement) enclosedElement;
+                        if (constructor.getParameters().isEmpty()
+                                && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                            hasNoArgConstructor = true;
+                        }
+                    }
+                }
+                
+                Map<String, String> setters = new LinkedHashMap<>();
+                Map<String, String> getters = new LinkedHashMap<>();
+                for (String fieldName : fields) {
+                    String capitalized = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+                    String setter = "set" + capitalized;
+                    if (methodNames.contains(setter)) {
+                        setters.put(fieldName, setter);
+                    }
+                    if (accessorNames.contains("get" + capitalized)) {
+                        getters.put(fieldName, "get" + capitalized);
+                    } else if (accessorNames.contains("is" + capitalized)) {
+                        getters.put(fieldName, "is" + capitalized);
                     }
                 }
                 
                 entityInfo.setFields(fields);
+                entityInfo.setFieldTypes(fieldTypes);
+                entityInfo.setSetters(setters);
+                entityInfo.setGetters(getters);
+                entityInfo.setIdField(fields.contains("id") ? "id" : null);
+                entityInfo.setInstantiable(!hasConstructor || hasNoArgConstructor);
             }
         } catch (Exception e) {
             logError("Entity analysis failed: " + e.getMessage());
@@ -539,6 +1550,82 @@ public class SqlProcessor extends AbstractProcessor {
         return entityInfo;
     }
 
+    /**
+     * Analyze projection type: record components, widest public constructor, interface getters,
+     * or setter properties for no-arg classes
+     */
+    private ProjectionInfo analyzeProjection(TypeMirror projectionType) {
+        String key = processingEnv.getTypeUtils().erasure(projectionType).toString();
+        ProjectionInfo cached = projectionMetadata.get(key);
+        if (cached == null) {
+            cached = analyzeProjectionElements(projectionType);
+            projectionMetadata.put(key, cached);
+        }
+        return cached;
+    }
+
+    private ProjectionInfo analyzeProjectionElements(TypeMirror projectionType) {
+        ProjectionInfo projection = new ProjectionInfo();
+        TypeElement typeElement = (TypeElement) processingEnv.getTypeUtils().asElement(projectionType);
+
+        if (typeElement.getKind() == ElementKind.RECORD) {
+            projection.setKind(ProjectionInfo.Kind.CONSTRUCTOR);
+            for (Element enclosedElement : typeElement.getEnclosedElements()) {
+                if (enclosedElement.getKind() == ElementKind.RECORD_COMPONENT) {
+                    projection.addProperty(enclosedElement.getSimpleName().toString(), enclosedElement.asType().toString(), null);
+                }
+            }
+        } else if (typeElement.getKind() == ElementKind.INTERFACE) {
+            projection.setKind(ProjectionInfo.Kind.INTERFACE);
+            for (Element member : processingEnv.getElementUtils().getAllMembers(typeElement)) {
+                if (member.getKind() != ElementKind.METHOD || !member.getModifiers().contains(Modifier.ABSTRACT)) {
+                    continue;
+                }
+                ExecutableElement method = (ExecutableElement) member;
+                if (method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID) {
+                    String methodName = method.getSimpleName().toString();
+                    projection.addProperty(propertyName(methodName), method.getReturnType().toString(), methodName);
+                }
+            }
+        } else {
+            ExecutableElement widestConstructor = null;
+            for (Element enclosedElement : typeElement.getEnclosedElements()) {
+                if (enclosedElement.getKind() == ElementKind.CONSTRUCTOR
+                        && enclosedElement.getModifiers().contains(Modifier.PUBLIC)) {
+                    ExecutableElement constructor = (ExecutableElement) enclosedElement;
+                    if (widestConstructor == null || constructor.getParameters().size() > widestConstructor.getParameters().size()) {
+                        widestConstructor = constructor;
+                    }
+                }
+            }
+            if (widestConstructor != null && !widestConstructor.getParameters().isEmpty()) {
+                projection.setKind(ProjectionInfo.Kind.CONSTRUCTOR);
+                for (VariableElement param : widestConstructor.getParameters()) {
+                    projection.addProperty(param.getSimpleName().toString(), param.asType().toString(), null);
+                }
+            } else {
+                EntityInfo beanInfo = analyzeEntity(projectionType);
+                projection.setKind(ProjectionInfo.Kind.SETTER);
+                projection.setInstantiable(beanInfo.isInstantiable());
+                for (Map.Entry<String, String> setter : beanInfo.getSetters().entrySet()) {
+                    projection.addProperty(setter.getKey(), beanInfo.getFieldTypes().get(setter.getKey()), null);
+                    projection.getSetters().put(setter.getKey(), setter.getValue());
+                }
+            }
+        }
+        return projection;
+    }
+
+    private String propertyName(String accessorName) {
+        String property = accessorName;
+        if (accessorName.length() > 3 && accessorName.startsWith("get") && Character.isUpperCase(accessorName.charAt(3))) {
+            property = accessorName.substring(3);
+        } else if (accessorName.length() > 2 && accessorName.startsWith("is") && Character.isUpperCase(accessorName.charAt(2))) {
+            property = accessorName.substring(2);
+        }
+        return Character.toLowerCase(property.charAt(0)) + property.substring(1);
+    }
+
     private ExecutableElement findMethodElement(TypeElement classElement, String methodName) {
         for (Element enclosedElement : classElement.getEnclosedElements()) {
             if (enclosedElement.getKind() == ElementKind.METHOD &&
@@ -555,11 +1642,11 @@ public class SqlProcessor extends AbstractProcessor {
 
     private boolean isEmptyMethod(Object methodDecl) {
         try {
-            Object body = methodDecl.getClass().getDeclaredMethod("getBody").invoke(methodDecl);
+            Object body = ReflectionCache.getDeclaredMethod(methodDecl.getClass(), "getBody").invoke(methodDecl);
             if (body == null) {
                 return true;
             }
-            Object statements = body.getClass().getDeclaredMethod("getStatements").invoke(body);
+            Object statements = ReflectionCache.getDeclaredMethod(body.getClass(), "getStatements").invoke(body);
             if (statements instanceof List) {
                 List<?> stmtList = (List<?>) statements;
                 if (stmtList.isEmpty()) {
@@ -585,13 +1672,13 @@ public class SqlProcessor extends AbstractProcessor {
         try {
             String stmtClass = stmt.getClass().getSimpleName();
             if ("JCReturn".equals(stmtClass)) {
-                Object expr = stmt.getClass().getDeclaredMethod("getExpression").invoke(stmt);
+                Object expr = ReflectionCache.getDeclaredMethod(stmt.getClass(), "getExpression").invoke(stmt);
                 if (expr == null) {
                     return true;
                 }
                 String exprClass = expr.getClass().getSimpleName();
                 if ("JCLiteral".equals(exprClass)) {
-                    Object value = expr.getClass().getDeclaredMethod("getValue").invoke(expr);
+                    Object value = ReflectionCache.getDeclaredMethod(expr.getClass(), "getValue").invoke(expr);
                     return value == null;
                 }
             }
@@ -603,11 +1690,12 @@ public class SqlProcessor extends AbstractProcessor {
     }
 
     private String getMethodName(Object methodDecl) throws Exception {
-        Object name = methodDecl.getClass().getDeclaredMethod("getName").invoke(methodDecl);
+        Object name = ReflectionCache.getDeclaredMethod(methodDecl.getClass(), "getName").invoke(methodDecl);
         return name.toString();
     }
 
     private Object replaceMethodBody(Object originalMethod, Object newStatement) throws Exception {
+        long start = startTimer();
         try {
             Object newBlock = astHelper.createBlockFromStatement(newStatement);
             // Modify the body field of the original method
@@ -625,22 +1713,34 @@ public class SqlProcessor extends AbstractProcessor {
                 logError("Method body replacement failed: " + ex.getMessage());
                 return originalMethod;
             }
+        } finally {
+            recordPhase(Phase.AST_TRANSFORMATION, start);
         }
     }
 
     private Object createDebugStatement(String methodName) throws Exception {
-        Object systemOut = astHelper.createQualifiedIdent("System.out");
-        Object printlnAccess = astHelper.createFieldAccess(systemOut, "println");
-        Object messageLiteral = astHelper.createLiteral("Method " + methodName + " called (implementation needed)");
-        Object printCall = astHelper.createMethodCall(printlnAccess, messageLiteral);
-        return astHelper.createExpressionStatement(printCall);
+        Object systemOut = treeBuilder.createQualifiedIdent("System.out");
+        Object printlnAccess = treeBuilder.createFieldAccess(systemOut, "println");
+        Object messageLiteral = treeBuilder.createLiteral("Method " + methodName + " called (implementation needed)");
+        Object printCall = treeBuilder.createMethodCall(printlnAccess, messageLiteral);
+        return treeBuilder.createExpressionStatement(printCall);
     }
 
     // Safety utility methods
     private boolean isReturnStatement(Object stmt) {
+        if (stmt instanceof String) {
+            return ((String) stmt).startsWith("return");
+        }
         return stmt != null && "JCReturn".equals(stmt.getClass().getSimpleName());
     }
 
+    private boolean isBlock(Object stmt) {
+        if (stmt instanceof String) {
+            return ((String) stmt).startsWith("{");
+        }
+        return stmt != null && "JCBlock".equals(stmt.getClass().getSimpleName());
+    }
+
     private boolean isVoidReturnType(ExecutableElement methodElement) {
         try {
             return "void".equals(methodElement.getReturnType().toString());
@@ -656,38 +1756,37 @@ public class SqlProcessor extends AbstractProcessor {
                 return null;
             }
             if (rt.equals("boolean") || rt.equals("java.lang.Boolean")) {
-                Object lit = astHelper.createLiteral(false);
-                return astHelper.createReturnStatement(lit);
+                Object lit = treeBuilder.createLiteral(false);
+                return treeBuilder.createReturnStatement(lit);
             }
             if (rt.equals("int") || rt.equals("java.lang.Integer")) {
-                Object lit = astHelper.createLiteral(0);
-                return astHelper.createReturnStatement(lit);
+                Object lit = treeBuilder.createLiteral(0);
+                return treeBuilder.createReturnStatement(lit);
             }
             if (rt.equals("long") || rt.equals("java.lang.Long")) {
-                Object lit = astHelper.createLiteral(0L);
-                return astHelper.createReturnStatement(lit);
+                Object lit = treeBuilder.createLiteral(0L);
+                return treeBuilder.createReturnStatement(lit);
             }
             if (rt.equals("double") || rt.equals("java.lang.Double")) {
-                Object lit = astHelper.createLiteral(0.0);
-                return astHelper.createReturnStatement(lit);
+                Object lit = treeBuilder.createLiteral(0.0);
+                return treeBuilder.createReturnStatement(lit);
             }
             if (rt.startsWith("java.util.List")) {
-                Object collections = astHelper.createQualifiedIdent("java.util.Collections");
-                Object emptyList = astHelper.createFieldAccess(collections, "emptyList");
-                Object call = astHelper.createMethodCall(emptyList);
-                return astHelper.createReturnStatement(call);
+                Object collections = treeBuilder.createQualifiedIdent("java.util.Collections");
+                Object emptyList = treeBuilder.createFieldAccess(collections, "emptyList");
+                Object call = treeBuilder.createMethodCall(emptyList);
+                return treeBuilder.createReturnStatement(call);
             }
             if (rt.startsWith("java.util.Optional")) {
-                Object optional = astHelper.createQualifiedIdent("java.util.Optional");
-                Object empty = astHelper.createFieldAccess(optional, "empty");
-                Object call = astHelper.createMethodCall(empty);
-                return astHelper.createReturnStatement(call);
+                Object optional = treeBuilder.createQualifiedIdent("java.util.Optional");
+                Object empty = treeBuilder.createFieldAccess(optional, "empty");
+                Object call = treeBuilder.createMethodCall(empty);
+                return treeBuilder.createReturnStatement(call);
             }
 
             try {
-                java.lang.reflect.Method m = astHelper.getClass().getMethod("createLiteral", Object.class);
-                Object nullLit = m.invoke(astHelper, new Object[]{null});
-                return astHelper.createReturnStatement(nullLit);
+                Object nullLit = treeBuilder.createLiteral((Object) null);
+                return treeBuilder.createReturnStatement(nullLit);
             } catch (Exception ex) {
 
                 return null;
@@ -727,9 +1826,66 @@ public class SqlProcessor extends AbstractProcessor {
     // Inner classes
     public static class EntityInfo {
         private List<String> fields = new ArrayList<>();
+        private Map<String, String> fieldTypes = new LinkedHashMap<>();
+        private Map<String, String> setters = new LinkedHashMap<>();
+        private Map<String, String> getters = new LinkedHashMap<>();
+        private String idField;
+        private boolean instantiable;
+        private final Map<NamingStrategy, Map<String, String>> columnNames = new EnumMap<>(NamingStrategy.class);
 
         public List<String> getFields() { return fields; }
         public void setFields(List<String> fields) { this.fields = fields; }
+
+        public Map<String, String> getFieldTypes() { return fieldTypes; }
+        public void setFieldTypes(Map<String, String> fieldTypes) { this.fieldTypes = fieldTypes; }
+
+        public Map<String, String> getSetters() { return setters; }
+        public void setSetters(Map<String, String> setters) { this.setters = setters; }
+
+        public Map<String, String> getGetters() { return getters; }
+        public void setGetters(Map<String, String> getters) { this.getters = getters; }
+
+        public String getIdField() { return idField; }
+        public void setIdField(String idField) { this.idField = idField; }
+
+        /**
+         * Field to column names under the given naming strategy, mapped once per strategy
+         */
+        public Map<String, String> getColumnNames(NamingStrategy strategy) {
+            return columnNames.computeIfAbsent(strategy, key -> {
+                Map<String, String> columns = new LinkedHashMap<>();
+                for (String field : fields) {
+                    columns.put(field, io.github.simplesqlgen.processor.sql.SqlGenerator.toColumnName(field, strategy));
+                }
+                return columns;
+            });
+        }
+
+        public boolean isInstantiable() { return instantiable; }
+        public void setInstantiable(boolean instantiable) { this.instantiable = instantiable; }
+    }
+
+    /**
+     * Projection type analysis: properties in mapping order plus how instances are built
+     */
+    public static class ProjectionInfo extends EntityInfo {
+        public enum Kind { CONSTRUCTOR, INTERFACE, SETTER }
+
+        private Kind kind;
+        private Map<String, String> accessors = new LinkedHashMap<>();
+
+        public Kind getKind() { return kind; }
+        public void setKind(Kind kind) { this.kind = kind; }
+
+        public Map<String, String> getAccessors() { return accessors; }
+
+        public void addProperty(String name, String type, String accessor) {
+            getFields().add(name);
+            getFieldTypes().put(name, type);
+            if (accessor != null) {
+                accessors.put(name, accessor);
+            }
+        }
     }
 
     private static class ClassProcessingContext {
@@ -739,19 +1895,30 @@ public class SqlProcessor extends AbstractProcessor {
         private final String tableName;
         private final EntityInfo entityInfo;
         private final NamingStrategy namingStrategy;
+        private final int batchSize;
+        private final int fetchSize;
         private final boolean nativeQueryOnly;
+        private final boolean metrics;
+        private final int inChunkSize;
+        private final int inChunkParallelism;
 
         public ClassProcessingContext(TypeElement classElement, TypeMirror entityType,
                                       String entityName, String tableName, EntityInfo entityInfo,
-                                      NamingStrategy namingStrategy,
-                                      boolean nativeQueryOnly) {
+                                      NamingStrategy namingStrategy, int batchSize, int fetchSize,
+                                      boolean nativeQueryOnly, boolean metrics,
+                                      int inChunkSize, int inChunkParallelism) {
             this.classElement = classElement;
             this.entityType = entityType;
             this.entityName = entityName;
             this.tableName = tableName;
             this.entityInfo = entityInfo;
             this.namingStrategy = namingStrategy;
+            this.batchSize = batchSize;
+            this.fetchSize = fetchSize;
             this.nativeQueryOnly = nativeQueryOnly;
+            this.metrics = metrics;
+            this.inChunkSize = inChunkSize;
+            this.inChunkParallelism = inChunkParallelism;
         }
 
         public TypeElement getClassElement() { return classElement; }
@@ -760,10 +1927,76 @@ public class SqlProcessor extends AbstractProcessor {
         public String getTableName() { return tableName; }
         public EntityInfo getEntityInfo() { return entityInfo; }
         public String getClassName() { return classElement.getSimpleName().toString(); }
+        public String getQualifiedClassName() { return classElement.getQualifiedName().toString(); }
         public NamingStrategy getNamingStrategy() { return namingStrategy; }
+        public int getBatchSize() { return batchSize; }
+        public int getFetchSize() { return fetchSize; }
         public boolean isNativeQueryOnly() { return nativeQueryOnly; }
+        public boolean isMetrics() { return metrics; }
+        public int getInChunkSize() { return inChunkSize; }
+        public int getInChunkParallelism() { return inChunkParallelism; }
     }
     
+    /**
+     * Inputs of one method's query planning, read from the model on the compiler thread
+     */
+    private static class PlannedMethod {
+        final String methodName;
+        final int bindableParams;
+        final String lastParamType;
+        final ExecutableElement methodElement;
+        final String nativeSql;
+        final List<ParameterInfo> parameters;
+
+        PlannedMethod(String methodName, int bindableParams, String lastParamType) {
+            this.methodName = methodName;
+            this.bindableParams = bindableParams;
+            this.lastParamType = lastParamType;
+            this.methodElement = null;
+            this.nativeSql = null;
+            this.parameters = null;
+        }
+
+        PlannedMethod(ExecutableElement methodElement, String nativeSql, List<ParameterInfo> parameters) {
+            this.methodName = methodElement.getSimpleName().toString();
+            this.bindableParams = 0;
+            this.lastParamType = null;
+            this.methodElement = methodElement;
+            this.nativeSql = nativeSql;
+            this.parameters = parameters;
+        }
+    }
+
+    /**
+     * Identifiers shared by the statements of one instrumented method
+     */
+    private static class MetricsNames {
+        final String keyField;
+        final String startName;
+        final String errorName;
+
+        MetricsNames(String keyField, String startName, String errorName) {
+            this.keyField = keyField;
+            this.startName = startName;
+            this.errorName = errorName;
+        }
+    }
+
+    /**
+     * Identifiers shared by the statements of one cached method
+     */
+    private static class CacheNames {
+        final String cacheField;
+        final String keyName;
+        final String cachedName;
+
+        CacheNames(String cacheField, String keyName, String cachedName) {
+            this.cacheField = cacheField;
+            this.keyName = keyName;
+            this.cachedName = cachedName;
+        }
+    }
+
     private static class TransformResult {
         final Object newList;
         final int transformedCount;
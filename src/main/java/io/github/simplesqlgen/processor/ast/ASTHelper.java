@@ -5,14 +5,19 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.TypeMirror;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * AST manipulation helper class
  * Handles code generation using JavaC internal APIs via reflection
  */
-public class ASTHelper {
+public class ASTHelper implements TreeBuilder {
 
     
     private Object trees;
@@ -20,6 +25,13 @@ public class ASTHelper {
     private Object names;
     private Object context;
     private boolean astAvailable = false;
+    private boolean cacheRowMappers = true;
+    private int basePosition;
+    private int positionOffset;
+
+    private final Map<String, String> pendingFieldNames = new LinkedHashMap<>();
+    private final Map<String, Object> pendingStaticFields = new LinkedHashMap<>();
+    private final Set<String> declaredFieldNames = new HashSet<>();
 
     private Class<?> javacEnvClass;
     private Class<?> jcTreeClass;
@@ -36,16 +48,17 @@ public class ASTHelper {
     public void initialize(ProcessingEnvironment processingEnv) throws Exception {
         loadAllJavacClasses();
         
-        if (!isJavacProcessingEnvironment(processingEnv)) {
+        ProcessingEnvironment javacEnv = unwrapProcessingEnvironment(processingEnv);
+        if (javacEnv == null) {
             return;
         }
 
-        this.context = extractContext(processingEnv);
+        this.context = extractContext(javacEnv);
         if (this.context == null) {
             return;
         }
 
-        initializeASTTools(processingEnv);
+        initializeASTTools(javacEnv);
         this.astAvailable = true;
     }
 
@@ -57,20 +70,59 @@ public class ASTHelper {
     }
 
     private void loadAllJavacClasses() throws Exception {
-        this.javacEnvClass = Class.forName("com.sun.tools.javac.processing.JavacProcessingEnvironment");
-        this.jcTreeClass = Class.forName("com.sun.tools.javac.tree.JCTree");
-        this.jcMethodDeclClass = Class.forName("com.sun.tools.javac.tree.JCTree$JCMethodDecl");
-        this.jcClassDeclClass = Class.forName("com.sun.tools.javac.tree.JCTree$JCClassDecl");
-        this.jcBlockClass = Class.forName("com.sun.tools.javac.tree.JCTree$JCBlock");
-        this.jcReturnClass = Class.forName("com.sun.tools.javac.tree.JCTree$JCReturn");
-        this.jcLiteralClass = Class.forName("com.sun.tools.javac.tree.JCTree$JCLiteral");
-        this.jcStatementClass = Class.forName("com.sun.tools.javac.tree.JCTree$JCStatement");
+        this.javacEnvClass = ReflectionCache.forName("com.sun.tools.javac.processing.JavacProcessingEnvironment");
+        this.jcTreeClass = ReflectionCache.forName("com.sun.tools.javac.tree.JCTree");
+        this.jcMethodDeclClass = ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCMethodDecl");
+        this.jcClassDeclClass = ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCClassDecl");
+        this.jcBlockClass = ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCBlock");
+        this.jcReturnClass = ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCReturn");
+        this.jcLiteralClass = ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCLiteral");
+        this.jcStatementClass = ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCStatement");
     }
 
-    private boolean isJavacProcessingEnvironment(ProcessingEnvironment processingEnv) {
+    private boolean isJavacProcessingEnvironment(Object processingEnv) {
         return javacEnvClass.isInstance(processingEnv);
     }
 
+    /**
+     * Find javac's environment behind wrappers such as Gradle's incremental processing
+     * environment or IDE proxies, by following their delegate fields
+     */
+    private ProcessingEnvironment unwrapProcessingEnvironment(ProcessingEnvironment processingEnv) {
+        Object current = processingEnv;
+        for (int depth = 0; current != null && depth < 8; depth++) {
+            if (isJavacProcessingEnvironment(current)) {
+                return (ProcessingEnvironment) current;
+            }
+            if (Proxy.isProxyClass(current.getClass())) {
+                current = findDelegate(Proxy.getInvocationHandler(current));
+            } else {
+                current = findDelegate(current);
+            }
+        }
+        return null;
+    }
+
+    private Object findDelegate(Object wrapper) {
+        for (Class<?> type = wrapper.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!ProcessingEnvironment.class.isAssignableFrom(field.getType())
+                        && !field.getName().equals("delegate") && !field.getName().equals("val$delegate")) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    Object value = field.get(wrapper);
+                    if (value instanceof ProcessingEnvironment && value != wrapper) {
+                        return value;
+                    }
+                } catch (Exception ignore) {
+                }
+            }
+        }
+        return null;
+    }
+
     private Object extractContext(ProcessingEnvironment processingEnv) throws Exception {
         Field contextField = javacEnvClass.getDeclaredField("context");
         contextField.setAccessible(true);
@@ -78,16 +130,16 @@ public class ASTHelper {
     }
 
     private void initializeASTTools(ProcessingEnvironment processingEnv) throws Exception {
-        Class<?> treesClass = Class.forName("com.sun.source.util.Trees");
-        Method instanceMethod = treesClass.getMethod("instance", ProcessingEnvironment.class);
+        Class<?> treesClass = ReflectionCache.forName("com.sun.source.util.Trees");
+        Method instanceMethod = ReflectionCache.getMethod(treesClass, "instance", ProcessingEnvironment.class);
         this.trees = instanceMethod.invoke(null, processingEnv);
 
-        Class<?> treeMakerClass = Class.forName("com.sun.tools.javac.tree.TreeMaker");
-        Method instanceTreeMakerMethod = treeMakerClass.getMethod("instance", Class.forName("com.sun.tools.javac.util.Context"));
+        Class<?> treeMakerClass = ReflectionCache.forName("com.sun.tools.javac.tree.TreeMaker");
+        Method instanceTreeMakerMethod = ReflectionCache.getMethod(treeMakerClass, "instance", ReflectionCache.forName("com.sun.tools.javac.util.Context"));
         this.treeMaker = instanceTreeMakerMethod.invoke(null, this.context);
 
-        Class<?> namesClass = Class.forName("com.sun.tools.javac.util.Names");
-        Method instanceNamesMethod = namesClass.getMethod("instance", Class.forName("com.sun.tools.javac.util.Context"));
+        Class<?> namesClass = ReflectionCache.forName("com.sun.tools.javac.util.Names");
+        Method instanceNamesMethod = ReflectionCache.getMethod(namesClass, "instance", ReflectionCache.forName("com.sun.tools.javac.util.Context"));
         this.names = instanceNamesMethod.invoke(null, this.context);
     }
 
@@ -95,16 +147,35 @@ public class ASTHelper {
      * Get compilation unit
      */
     public Object getCompilationUnit(Object treePath) throws Exception {
-        Method getCompilationUnitMethod = treePath.getClass().getDeclaredMethod("getCompilationUnit");
+        Method getCompilationUnitMethod = ReflectionCache.getDeclaredMethod(treePath.getClass(), "getCompilationUnit");
         return getCompilationUnitMethod.invoke(treePath);
     }
 
+    /**
+     * Position newly created trees at the given tree (flow analysis skips variables positioned before it)
+     */
+    public void setPosition(Object tree) throws Exception {
+        Field posField = jcTreeClass.getDeclaredField("pos");
+        basePosition = posField.getInt(tree);
+        positionOffset = 0;
+        Method atMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "at", int.class);
+        atMethod.invoke(treeMaker, basePosition);
+    }
+
+    /**
+     * Move to a fresh position for the next trees (javac caches deferred lambda/poly arguments by position)
+     */
+    public void nextPosition() throws Exception {
+        Method atMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "at", int.class);
+        atMethod.invoke(treeMaker, basePosition + (++positionOffset));
+    }
+
     /**
      * Get class declaration
      */
     public Object getClassDecl(Object treePath) throws Exception {
         Object compilationUnit = getCompilationUnit(treePath);
-        Method getTypeDeclsMethod = compilationUnit.getClass().getDeclaredMethod("getTypeDecls");
+        Method getTypeDeclsMethod = ReflectionCache.getDeclaredMethod(compilationUnit.getClass(), "getTypeDecls");
         List<?> typeDecls = (List<?>) getTypeDeclsMethod.invoke(compilationUnit);
         return typeDecls.get(0);
     }
@@ -142,12 +213,12 @@ public class ASTHelper {
 
     private void addSingleImportIfMissing(Object compilationUnit, String importPath) throws Exception {
         try {
-            Method getDefsMethod = compilationUnit.getClass().getDeclaredMethod("defs");
+            Method getDefsMethod = ReflectionCache.getDeclaredMethod(compilationUnit.getClass(), "defs");
             Object existingDefs = getDefsMethod.invoke(compilationUnit);
 
             if (!hasImport(existingDefs, importPath)) {
                 Object importDecl = createImportDecl(importPath);
-                Method prependMethod = existingDefs.getClass().getDeclaredMethod("prepend", Object.class);
+                Method prependMethod = ReflectionCache.getDeclaredMethod(existingDefs.getClass(), "prepend", Object.class);
                 Object newDefs = prependMethod.invoke(existingDefs, importDecl);
                 
 
@@ -166,14 +237,14 @@ public class ASTHelper {
     public Object createImportDecl(String qualifiedName) throws Exception {
         try {
             Object qualifiedIdent = createQualifiedIdent(qualifiedName);
-            Method importMethod = treeMaker.getClass().getDeclaredMethod("Import", 
+            Method importMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Import", 
                     jcTreeClass, boolean.class);
             return importMethod.invoke(treeMaker, qualifiedIdent, false);
         } catch (Exception e) {
             try {
                 Object qualifiedIdent = createQualifiedIdent(qualifiedName);
-                Method importMethod = treeMaker.getClass().getDeclaredMethod("Import", 
-                        Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"), boolean.class);
+                Method importMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Import", 
+                        ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"), boolean.class);
                 return importMethod.invoke(treeMaker, qualifiedIdent, false);
             } catch (Exception ex) {
                 throw new RuntimeException("Import creation failed: " + qualifiedName, ex);
@@ -185,17 +256,17 @@ public class ASTHelper {
      * Create qualified identifier
      */
     public Object createQualifiedIdent(String qualifiedName) throws Exception {
-        Method identMethod = treeMaker.getClass().getDeclaredMethod("Ident", 
-                Class.forName("com.sun.tools.javac.util.Name"));
-        Method fromStringMethod = names.getClass().getDeclaredMethod("fromString", String.class);
+        Method identMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Ident", 
+                ReflectionCache.forName("com.sun.tools.javac.util.Name"));
+        Method fromStringMethod = ReflectionCache.getDeclaredMethod(names.getClass(), "fromString", String.class);
         
         String[] parts = qualifiedName.split("\\.");
         Object result = identMethod.invoke(treeMaker, fromStringMethod.invoke(names, parts[0]));
         
         for (int i = 1; i < parts.length; i++) {
-            Method selectMethod = treeMaker.getClass().getDeclaredMethod("Select", 
-                    Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"), 
-                    Class.forName("com.sun.tools.javac.util.Name"));
+            Method selectMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Select", 
+                    ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"), 
+                    ReflectionCache.forName("com.sun.tools.javac.util.Name"));
             result = selectMethod.invoke(treeMaker, result, fromStringMethod.invoke(names, parts[i]));
         }
         
@@ -215,15 +286,15 @@ public class ASTHelper {
      */
     public int transformMethods(Object classDecl, TypeElement classElement, TypeMirror entityType,
                                String tableName, Object entityInfo) throws Exception {
-        Method getMembersMethod = classDecl.getClass().getDeclaredMethod("getMembers");
+        Method getMembersMethod = ReflectionCache.getDeclaredMethod(classDecl.getClass(), "getMembers");
         Object membersList = getMembersMethod.invoke(classDecl);
 
         Object newMembersList = createTransformedMembersList(membersList, classElement, entityType, tableName, entityInfo);
 
 
         try {
-            Method setMembersMethod = classDecl.getClass().getDeclaredMethod("setMembers", 
-                    Class.forName("com.sun.tools.javac.util.List"));
+            Method setMembersMethod = ReflectionCache.getDeclaredMethod(classDecl.getClass(), "setMembers", 
+                    ReflectionCache.forName("com.sun.tools.javac.util.List"));
             setMembersMethod.invoke(classDecl, newMembersList);
         } catch (NoSuchMethodException e) {
 
@@ -269,11 +340,11 @@ public class ASTHelper {
      */
     public void injectJdbcTemplateConstructor(Object classDecl) throws Exception {
         try {
-            Method getMembersMethod = classDecl.getClass().getDeclaredMethod("getMembers");
+            Method getMembersMethod = ReflectionCache.getDeclaredMethod(classDecl.getClass(), "getMembers");
             Object membersList = getMembersMethod.invoke(classDecl);
 
             if (!hasJdbcTemplateField(membersList) && !hasConstructorWithJdbcTemplate(membersList)) {
-                Method prependMethod = membersList.getClass().getDeclaredMethod("prepend", Object.class);
+                Method prependMethod = ReflectionCache.getDeclaredMethod(membersList.getClass(), "prepend", Object.class);
                 
 
                 Object jdbcTemplateField = createFinalField("JdbcTemplate", "jdbcTemplate");
@@ -302,11 +373,11 @@ public class ASTHelper {
      */
     public void injectAutowiredFields(Object classDecl) throws Exception {
         try {
-            Method getMembersMethod = classDecl.getClass().getDeclaredMethod("getMembers");
+            Method getMembersMethod = ReflectionCache.getDeclaredMethod(classDecl.getClass(), "getMembers");
             Object membersList = getMembersMethod.invoke(classDecl);
 
             if (!hasJdbcTemplateField(membersList)) {
-                Method prependMethod = membersList.getClass().getDeclaredMethod("prepend", Object.class);
+                Method prependMethod = ReflectionCache.getDeclaredMethod(membersList.getClass(), "prepend", Object.class);
                 
                 Object jdbcTemplateField = createAutowiredField("JdbcTemplate", "jdbcTemplate");
                 membersList = prependMethod.invoke(membersList, jdbcTemplateField);
@@ -331,14 +402,14 @@ public class ASTHelper {
             type = createQualifiedIdent("org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate");
         }
 
-        Method fromStringMethod = names.getClass().getDeclaredMethod("fromString", String.class);
+        Method fromStringMethod = ReflectionCache.getDeclaredMethod(names.getClass(), "fromString", String.class);
         Object fieldNameObj = fromStringMethod.invoke(names, fieldName);
 
-        Method varDefMethod = treeMaker.getClass().getDeclaredMethod("VarDef", 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCModifiers"),
-                Class.forName("com.sun.tools.javac.util.Name"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+        Method varDefMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "VarDef", 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCModifiers"),
+                ReflectionCache.forName("com.sun.tools.javac.util.Name"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
 
         return varDefMethod.invoke(treeMaker, modifiers, fieldNameObj, type, null);
     }
@@ -366,37 +437,37 @@ public class ASTHelper {
             type = createQualifiedIdent("org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate");
         }
 
-        Method fromStringMethod = names.getClass().getDeclaredMethod("fromString", String.class);
+        Method fromStringMethod = ReflectionCache.getDeclaredMethod(names.getClass(), "fromString", String.class);
         Object fieldNameObj = fromStringMethod.invoke(names, fieldName);
 
-        Method varDefMethod = treeMaker.getClass().getDeclaredMethod("VarDef", 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCModifiers"),
-                Class.forName("com.sun.tools.javac.util.Name"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+        Method varDefMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "VarDef", 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCModifiers"),
+                ReflectionCache.forName("com.sun.tools.javac.util.Name"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
 
         return varDefMethod.invoke(treeMaker, modifiers, fieldNameObj, type, null);
     }
 
     public Object createAnnotation(Object annotationType) throws Exception {
         try {
-            Class<?> javacListClass = Class.forName("com.sun.tools.javac.util.List");
-            Method nilMethod = javacListClass.getDeclaredMethod("nil");
+            Class<?> javacListClass = ReflectionCache.forName("com.sun.tools.javac.util.List");
+            Method nilMethod = ReflectionCache.getDeclaredMethod(javacListClass, "nil");
             Object emptyArguments = nilMethod.invoke(null);
             
 
             try {
-                Method annotationMethod = treeMaker.getClass().getDeclaredMethod("Annotation", 
-                        Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"), javacListClass);
+                Method annotationMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Annotation", 
+                        ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"), javacListClass);
                 return annotationMethod.invoke(treeMaker, annotationType, emptyArguments);
             } catch (Exception e1) {
                 try {
-                    Method annotationMethod = treeMaker.getClass().getDeclaredMethod("Annotation", 
-                            Class.forName("com.sun.tools.javac.tree.JCTree"), javacListClass);
+                    Method annotationMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Annotation", 
+                            ReflectionCache.forName("com.sun.tools.javac.tree.JCTree"), javacListClass);
                     return annotationMethod.invoke(treeMaker, annotationType, emptyArguments);
                 } catch (Exception e2) {
                     try {
-                        Method annotationMethod = treeMaker.getClass().getDeclaredMethod("Annotation", 
+                        Method annotationMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Annotation", 
                                 Object.class, Object.class);
                         return annotationMethod.invoke(treeMaker, annotationType, emptyArguments);
                     } catch (Exception e3) {
@@ -410,12 +481,12 @@ public class ASTHelper {
     }
 
     public Object createModifiers(long flags, Object annotations) throws Exception {
-        Method modifiersMethod = treeMaker.getClass().getDeclaredMethod("Modifiers", 
-                long.class, Class.forName("com.sun.tools.javac.util.List"));
+        Method modifiersMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Modifiers", 
+                long.class, ReflectionCache.forName("com.sun.tools.javac.util.List"));
 
         if (annotations == null) {
-            Class<?> javacListClass = Class.forName("com.sun.tools.javac.util.List");
-            Method nilMethod = javacListClass.getDeclaredMethod("nil");
+            Class<?> javacListClass = ReflectionCache.forName("com.sun.tools.javac.util.List");
+            Method nilMethod = ReflectionCache.getDeclaredMethod(javacListClass, "nil");
             annotations = nilMethod.invoke(null);
         }
 
@@ -423,8 +494,8 @@ public class ASTHelper {
     }
 
     public Object createSingletonList(Object element) throws Exception {
-        Class<?> javacListClass = Class.forName("com.sun.tools.javac.util.List");
-        Method ofMethod = javacListClass.getDeclaredMethod("of", Object.class);
+        Class<?> javacListClass = ReflectionCache.forName("com.sun.tools.javac.util.List");
+        Method ofMethod = ReflectionCache.getDeclaredMethod(javacListClass, "of", Object.class);
         return ofMethod.invoke(null, element);
     }
 
@@ -432,7 +503,7 @@ public class ASTHelper {
         if (membersList instanceof Iterable) {
             for (Object member : (Iterable<?>) membersList) {
                 if (member.getClass().getSimpleName().equals("JCVariableDecl")) {
-                    Method getNameMethod = member.getClass().getDeclaredMethod("getName");
+                    Method getNameMethod = ReflectionCache.getDeclaredMethod(member.getClass(), "getName");
                     Object name = getNameMethod.invoke(member);
                     String nameStr = name.toString();
                     if ("jdbcTemplate".equals(nameStr) || "namedParameterJdbcTemplate".equals(nameStr)) {
@@ -448,16 +519,16 @@ public class ASTHelper {
         if (membersList instanceof Iterable) {
             for (Object member : (Iterable<?>) membersList) {
                 if (member.getClass().getSimpleName().equals("JCMethodDecl")) {
-                    Method getNameMethod = member.getClass().getDeclaredMethod("getName");
+                    Method getNameMethod = ReflectionCache.getDeclaredMethod(member.getClass(), "getName");
                     Object name = getNameMethod.invoke(member);
                     String nameStr = name.toString();
                     if ("<init>".equals(nameStr)) {
 
-                        Method getParametersMethod = member.getClass().getDeclaredMethod("getParameters");
+                        Method getParametersMethod = ReflectionCache.getDeclaredMethod(member.getClass(), "getParameters");
                         Object params = getParametersMethod.invoke(member);
                         if (params instanceof Iterable) {
                             for (Object param : (Iterable<?>) params) {
-                                Method getTypeMethod = param.getClass().getDeclaredMethod("getType");
+                                Method getTypeMethod = ReflectionCache.getDeclaredMethod(param.getClass(), "getType");
                                 Object type = getTypeMethod.invoke(param);
                                 String typeStr = type.toString();
                                 if (typeStr.contains("JdbcTemplate")) {
@@ -486,14 +557,14 @@ public class ASTHelper {
             type = createQualifiedIdent("org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate");
         }
 
-        Method fromStringMethod = names.getClass().getDeclaredMethod("fromString", String.class);
+        Method fromStringMethod = ReflectionCache.getDeclaredMethod(names.getClass(), "fromString", String.class);
         Object fieldNameObj = fromStringMethod.invoke(names, fieldName);
 
-        Method varDefMethod = treeMaker.getClass().getDeclaredMethod("VarDef", 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCModifiers"),
-                Class.forName("com.sun.tools.javac.util.Name"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+        Method varDefMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "VarDef", 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCModifiers"),
+                ReflectionCache.forName("com.sun.tools.javac.util.Name"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
 
         return varDefMethod.invoke(treeMaker, modifiers, fieldNameObj, type, null);
     }
@@ -502,8 +573,8 @@ public class ASTHelper {
         Object jdbcTemplateParam = createConstructorParameter("JdbcTemplate", "jdbcTemplate");
         Object namedJdbcTemplateParam = createConstructorParameter("NamedParameterJdbcTemplate", "namedParameterJdbcTemplate");
         
-        Class<?> javacListClass = Class.forName("com.sun.tools.javac.util.List");
-        Method ofMethod = javacListClass.getDeclaredMethod("of", Object.class, Object.class);
+        Class<?> javacListClass = ReflectionCache.forName("com.sun.tools.javac.util.List");
+        Method ofMethod = ReflectionCache.getDeclaredMethod(javacListClass, "of", Object.class, Object.class);
         Object paramsList = ofMethod.invoke(null, jdbcTemplateParam, namedJdbcTemplateParam);
 
         Object jdbcTemplateAssignment = createFieldAssignment("jdbcTemplate", "jdbcTemplate");
@@ -515,22 +586,22 @@ public class ASTHelper {
         long publicFlag = 1L << 0;
         Object modifiers = createModifiers(publicFlag, null);
         
-        Method fromStringMethod = names.getClass().getDeclaredMethod("fromString", String.class);
+        Method fromStringMethod = ReflectionCache.getDeclaredMethod(names.getClass(), "fromString", String.class);
         Object constructorName = fromStringMethod.invoke(names, "<init>");
         
-        Method nilMethod = javacListClass.getDeclaredMethod("nil");
+        Method nilMethod = ReflectionCache.getDeclaredMethod(javacListClass, "nil");
         Object emptyTypeParams = nilMethod.invoke(null);
         Object emptyThrows = nilMethod.invoke(null);
 
-        Method methodDefMethod = treeMaker.getClass().getDeclaredMethod("MethodDef", 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCModifiers"),
-                Class.forName("com.sun.tools.javac.util.Name"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.util.List"),
-                Class.forName("com.sun.tools.javac.util.List"),
-                Class.forName("com.sun.tools.javac.util.List"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCBlock"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+        Method methodDefMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "MethodDef", 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCModifiers"),
+                ReflectionCache.forName("com.sun.tools.javac.util.Name"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.util.List"),
+                ReflectionCache.forName("com.sun.tools.javac.util.List"),
+                ReflectionCache.forName("com.sun.tools.javac.util.List"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCBlock"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
 
         return methodDefMethod.invoke(treeMaker, modifiers, constructorName, null, 
                 emptyTypeParams, paramsList, emptyThrows, constructorBody, null);
@@ -541,24 +612,24 @@ public class ASTHelper {
             ? createQualifiedIdent("org.springframework.jdbc.core.JdbcTemplate")
             : createQualifiedIdent("org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate");
 
-        Method fromStringMethod = names.getClass().getDeclaredMethod("fromString", String.class);
+        Method fromStringMethod = ReflectionCache.getDeclaredMethod(names.getClass(), "fromString", String.class);
         Object paramNameObj = fromStringMethod.invoke(names, paramName);
         
         long parameterFlag = getParameterFlag();
         Object modifiers = createModifiers(parameterFlag, null);
 
-        Method varDefMethod = treeMaker.getClass().getDeclaredMethod("VarDef", 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCModifiers"),
-                Class.forName("com.sun.tools.javac.util.Name"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+        Method varDefMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "VarDef", 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCModifiers"),
+                ReflectionCache.forName("com.sun.tools.javac.util.Name"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
 
         return varDefMethod.invoke(treeMaker, modifiers, paramNameObj, type, null);
     }
 
     private long getParameterFlag() {
         try {
-            Class<?> flagsClass = Class.forName("com.sun.tools.javac.code.Flags");
+            Class<?> flagsClass = ReflectionCache.forName("com.sun.tools.javac.code.Flags");
             Field parameterField = flagsClass.getDeclaredField("PARAMETER");
             return parameterField.getLong(null);
         } catch (Exception e) {
@@ -576,8 +647,8 @@ public class ASTHelper {
 
     private void updateClassMembers(Object classDecl, Object membersList) {
         try {
-            Method setMembersMethod = classDecl.getClass().getDeclaredMethod("setMembers", 
-                    Class.forName("com.sun.tools.javac.util.List"));
+            Method setMembersMethod = ReflectionCache.getDeclaredMethod(classDecl.getClass(), "setMembers", 
+                    ReflectionCache.forName("com.sun.tools.javac.util.List"));
             setMembersMethod.invoke(classDecl, membersList);
         } catch (NoSuchMethodException e) {
             try {
@@ -601,8 +672,8 @@ public class ASTHelper {
     }
 
     private Object createConstructorBody(Object statementsList) throws Exception {
-        Method blockMethod = treeMaker.getClass().getDeclaredMethod("Block", 
-                long.class, Class.forName("com.sun.tools.javac.util.List"));
+        Method blockMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Block", 
+                long.class, ReflectionCache.forName("com.sun.tools.javac.util.List"));
         return blockMethod.invoke(treeMaker, 0L, statementsList);
     }
 
@@ -613,14 +684,14 @@ public class ASTHelper {
     }
 
     public Object createMethodCall(Object method, Object... args) throws Exception {
-        Method applyMethod = treeMaker.getClass().getDeclaredMethod("Apply", 
-                Class.forName("com.sun.tools.javac.util.List"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.util.List"));
+        Method applyMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Apply", 
+                ReflectionCache.forName("com.sun.tools.javac.util.List"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.util.List"));
 
 
-        Class<?> javacListClass = Class.forName("com.sun.tools.javac.util.List");
-        Method nilMethod = javacListClass.getDeclaredMethod("nil");
+        Class<?> javacListClass = ReflectionCache.forName("com.sun.tools.javac.util.List");
+        Method nilMethod = ReflectionCache.getDeclaredMethod(javacListClass, "nil");
         Object emptyTypeArgs = nilMethod.invoke(null);
 
 
@@ -628,7 +699,7 @@ public class ASTHelper {
         if (args.length == 0) {
             argsList = nilMethod.invoke(null);
         } else {
-            Method fromMethod = javacListClass.getDeclaredMethod("from", Object[].class);
+            Method fromMethod = ReflectionCache.getDeclaredMethod(javacListClass, "from", Object[].class);
             argsList = fromMethod.invoke(null, new Object[]{args});
         }
 
@@ -636,12 +707,12 @@ public class ASTHelper {
     }
 
     public Object createFieldAccess(Object base, String fieldName) throws Exception {
-        Method fromStringMethod = names.getClass().getDeclaredMethod("fromString", String.class);
+        Method fromStringMethod = ReflectionCache.getDeclaredMethod(names.getClass(), "fromString", String.class);
         Object fieldNameObj = fromStringMethod.invoke(names, fieldName);
         
-        Method selectMethod = treeMaker.getClass().getDeclaredMethod("Select", 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"), 
-                Class.forName("com.sun.tools.javac.util.Name"));
+        Method selectMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Select", 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"), 
+                ReflectionCache.forName("com.sun.tools.javac.util.Name"));
         return selectMethod.invoke(treeMaker, base, fieldNameObj);
     }
 
@@ -651,27 +722,27 @@ public class ASTHelper {
     }
 
     public Object createIdent(String name) throws Exception {
-        Method identMethod = treeMaker.getClass().getDeclaredMethod("Ident", 
-                Class.forName("com.sun.tools.javac.util.Name"));
-        Method fromStringMethod = names.getClass().getDeclaredMethod("fromString", String.class);
+        Method identMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Ident", 
+                ReflectionCache.forName("com.sun.tools.javac.util.Name"));
+        Method fromStringMethod = ReflectionCache.getDeclaredMethod(names.getClass(), "fromString", String.class);
         Object nameObj = fromStringMethod.invoke(names, name);
         return identMethod.invoke(treeMaker, nameObj);
     }
 
     public Object createLiteral(String value) throws Exception {
-        Method literalMethod = treeMaker.getClass().getDeclaredMethod("Literal", Object.class);
+        Method literalMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Literal", Object.class);
         return literalMethod.invoke(treeMaker, value);
     }
 
     public Object createExpressionStatement(Object expr) throws Exception {
-        Method execMethod = treeMaker.getClass().getDeclaredMethod("Exec", 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+        Method execMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Exec", 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
         return execMethod.invoke(treeMaker, expr);
     }
 
 
     public Object getTreePath(javax.lang.model.element.Element element) throws Exception {
-        Method getPathMethod = trees.getClass().getDeclaredMethod("getPath", javax.lang.model.element.Element.class);
+        Method getPathMethod = ReflectionCache.getDeclaredMethod(trees.getClass(), "getPath", javax.lang.model.element.Element.class);
         return getPathMethod.invoke(trees, element);
     }
 
@@ -683,12 +754,12 @@ public class ASTHelper {
         if (value == null) {
 
             try {
-                Class<?> typeTagClass = Class.forName("com.sun.tools.javac.code.TypeTag");
+                Class<?> typeTagClass = ReflectionCache.forName("com.sun.tools.javac.code.TypeTag");
                 Field botField = typeTagClass.getDeclaredField("BOT");
                 botField.setAccessible(true);
                 Object botTypeTag = botField.get(null);
                 
-                Method literalMethod = treeMaker.getClass().getDeclaredMethod("Literal", 
+                Method literalMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Literal", 
                         typeTagClass, Object.class);
                 return literalMethod.invoke(treeMaker, botTypeTag, null);
             } catch (Exception e) {
@@ -697,14 +768,14 @@ public class ASTHelper {
                     return createIdent("null");
                 } catch (Exception e2) {
 
-                    Method literalMethod = treeMaker.getClass().getDeclaredMethod("Literal", Object.class);
+                    Method literalMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Literal", Object.class);
                     return literalMethod.invoke(treeMaker, (Object) null);
                 }
             }
         } else if (value instanceof String) {
             return createLiteral((String) value);
         } else {
-            Method literalMethod = treeMaker.getClass().getDeclaredMethod("Literal", Object.class);
+            Method literalMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Literal", Object.class);
             return literalMethod.invoke(treeMaker, value);
         }
     }
@@ -718,19 +789,19 @@ public class ASTHelper {
     }
 
     public Object createAssignment(Object left, Object right) throws Exception {
-        Method assignMethod = treeMaker.getClass().getDeclaredMethod("Assign", 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+        Method assignMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Assign", 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
         return assignMethod.invoke(treeMaker, left, right);
     }
 
     public Object createBlock(List<Object> statements) throws Exception {
-        Class<?> javacListClass = Class.forName("com.sun.tools.javac.util.List");
-        Method fromMethod = javacListClass.getDeclaredMethod("from", Object[].class);
+        Class<?> javacListClass = ReflectionCache.forName("com.sun.tools.javac.util.List");
+        Method fromMethod = ReflectionCache.getDeclaredMethod(javacListClass, "from", Object[].class);
         Object statementsList = fromMethod.invoke(null, new Object[]{statements.toArray()});
 
-        Method blockMethod = treeMaker.getClass().getDeclaredMethod("Block", 
-                long.class, Class.forName("com.sun.tools.javac.util.List"));
+        Method blockMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Block", 
+                long.class, ReflectionCache.forName("com.sun.tools.javac.util.List"));
         return blockMethod.invoke(treeMaker, 0L, statementsList);
     }
 
@@ -741,8 +812,8 @@ public class ASTHelper {
     }
 
     public Object createReturnStatement(Object expr) throws Exception {
-        Method returnMethod = treeMaker.getClass().getDeclaredMethod("Return", 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+        Method returnMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Return", 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
         return returnMethod.invoke(treeMaker, expr);
     }
 
@@ -750,91 +821,162 @@ public class ASTHelper {
         Object stringBuilderType = createQualifiedIdent("java.lang.StringBuilder");
         Object stringLiteral = createLiteral(initialValue);
         
-        Method newClassMethod = treeMaker.getClass().getDeclaredMethod("NewClass", 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.util.List"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.util.List"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCClassDecl"));
-
-        Class<?> javacListClass = Class.forName("com.sun.tools.javac.util.List");
-        Method ofMethod = javacListClass.getDeclaredMethod("of", Object.class);
+        Method newClassMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "NewClass", 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.util.List"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.util.List"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCClassDecl"));
+
+        Class<?> javacListClass = ReflectionCache.forName("com.sun.tools.javac.util.List");
+        Method ofMethod = ReflectionCache.getDeclaredMethod(javacListClass, "of", Object.class);
         Object argsList = ofMethod.invoke(null, stringLiteral);
         
-        Method nilMethod = javacListClass.getDeclaredMethod("nil");
+        Method nilMethod = ReflectionCache.getDeclaredMethod(javacListClass, "nil");
         Object emptyList = nilMethod.invoke(null);
 
         return newClassMethod.invoke(treeMaker, null, emptyList, stringBuilderType, argsList, null);
     }
 
     public Object createUnaryExpression(String operator, Object operand) throws Exception {
-        int opcode;
+        String tag;
         switch (operator) {
-            case "!": opcode = 37; break;
-            case "++": opcode = 48; break;
+            case "!": tag = "NOT"; break;
+            case "++": tag = "PREINC"; break;
             default: throw new IllegalArgumentException("Unsupported unary operator: " + operator);
         }
 
-        Method unaryMethod = treeMaker.getClass().getDeclaredMethod("Unary", 
-                int.class, Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
-        return unaryMethod.invoke(treeMaker, opcode, operand);
+        Class<?> tagClass = ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$Tag");
+        Method unaryMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Unary", 
+                tagClass, ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+        return unaryMethod.invoke(treeMaker, ReflectionCache.getMethod(tagClass, "valueOf", String.class).invoke(null, tag), operand);
     }
 
     public Object createBinaryExpression(Object left, String operator, Object right) throws Exception {
-        int opcode;
+        String tag;
         switch (operator) {
-            case ">": opcode = 19; break;
-            case "<": opcode = 17; break;
-            case ">=": opcode = 20; break;
-            case "<=": opcode = 18; break;
-            case "==": opcode = 15; break;
-            case "!=": opcode = 16; break;
-            case "+": opcode = 13; break;
-            case "-": opcode = 14; break;
+            case ">": tag = "GT"; break;
+            case "<": tag = "LT"; break;
+            case ">=": tag = "GE"; break;
+            case "<=": tag = "LE"; break;
+            case "==": tag = "EQ"; break;
+            case "!=": tag = "NE"; break;
+            case "+": tag = "PLUS"; break;
+            case "-": tag = "MINUS"; break;
             default: throw new IllegalArgumentException("Unsupported binary operator: " + operator);
         }
 
-        Method binaryMethod = treeMaker.getClass().getDeclaredMethod("Binary", 
-                int.class,
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
-        return binaryMethod.invoke(treeMaker, opcode, left, right);
+        Class<?> tagClass = ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$Tag");
+        Method binaryMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Binary", 
+                tagClass,
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+        return binaryMethod.invoke(treeMaker, ReflectionCache.getMethod(tagClass, "valueOf", String.class).invoke(null, tag), left, right);
     }
 
     public Object createIfStatement(Object condition, Object thenStatement) throws Exception {
-        Method ifMethod = treeMaker.getClass().getDeclaredMethod("If", 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCStatement"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCStatement"));
+        Method ifMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "If", 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCStatement"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCStatement"));
         return ifMethod.invoke(treeMaker, condition, thenStatement, null);
     }
 
     public Object createForStatement(Object init, Object condition, Object update, Object body) throws Exception {
-        Class<?> javacListClass = Class.forName("com.sun.tools.javac.util.List");
-        Method ofMethod = javacListClass.getDeclaredMethod("of", Object.class);
+        Class<?> javacListClass = ReflectionCache.forName("com.sun.tools.javac.util.List");
+        Method ofMethod = ReflectionCache.getDeclaredMethod(javacListClass, "of", Object.class);
         Object initList = ofMethod.invoke(null, init);
         Object updateList = ofMethod.invoke(null, update);
 
-        Method forLoopMethod = treeMaker.getClass().getDeclaredMethod("ForLoop", 
-                Class.forName("com.sun.tools.javac.util.List"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.util.List"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCStatement"));
+        Method forLoopMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "ForLoop", 
+                ReflectionCache.forName("com.sun.tools.javac.util.List"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.util.List"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCStatement"));
         return forLoopMethod.invoke(treeMaker, initList, condition, updateList, body);
     }
 
+    public Object createTryCatch(Object body, String exceptionType, String exceptionName, Object handler) throws Exception {
+        Class<?> javacListClass = ReflectionCache.forName("com.sun.tools.javac.util.List");
+        Class<?> blockClass = ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCBlock");
+        Object param = createParameter(exceptionName, createQualifiedIdent(exceptionType));
+
+        Method catchMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Catch",
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCVariableDecl"), blockClass);
+        Object catcher = catchMethod.invoke(treeMaker, param, handler);
+
+        Method ofMethod = ReflectionCache.getDeclaredMethod(javacListClass, "of", Object.class);
+        Method tryMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Try",
+                blockClass, javacListClass, blockClass);
+        return tryMethod.invoke(treeMaker, body, ofMethod.invoke(null, catcher), null);
+    }
+
+    public Object createThrowStatement(Object expr) throws Exception {
+        Method throwMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Throw",
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+        return throwMethod.invoke(treeMaker, expr);
+    }
+
+    /**
+     * Replacement for a return statement, given its expression (null for a bare return)
+     */
+    public interface ReturnReplacement {
+        Object replace(Object expression) throws Exception;
+    }
+
+    /**
+     * Replace the return statements of a generated body in place, descending through blocks, if
+     * statements and try bodies only, so returns inside lambdas and anonymous classes are left alone
+     */
+    public Object replaceReturnStatements(Object statement, ReturnReplacement replacement) throws Exception {
+        if (statement == null) {
+            return null;
+        }
+        switch (statement.getClass().getSimpleName()) {
+            case "JCReturn":
+                return replacement.replace(ReflectionCache.getDeclaredMethod(statement.getClass(), "getExpression").invoke(statement));
+            case "JCBlock": {
+                Field statsField = statement.getClass().getDeclaredField("stats");
+                statsField.setAccessible(true);
+                List<Object> statements = new ArrayList<>();
+                for (Object child : (Iterable<?>) statsField.get(statement)) {
+                    statements.add(replaceReturnStatements(child, replacement));
+                }
+                Method fromMethod = ReflectionCache.getDeclaredMethod(ReflectionCache.forName("com.sun.tools.javac.util.List"),
+                        "from", Object[].class);
+                statsField.set(statement, fromMethod.invoke(null, new Object[]{statements.toArray()}));
+                return statement;
+            }
+            case "JCIf":
+                for (String part : new String[]{"thenpart", "elsepart"}) {
+                    Field partField = statement.getClass().getDeclaredField(part);
+                    partField.setAccessible(true);
+                    partField.set(statement, replaceReturnStatements(partField.get(statement), replacement));
+                }
+                return statement;
+            case "JCTry": {
+                Field bodyField = statement.getClass().getDeclaredField("body");
+                bodyField.setAccessible(true);
+                bodyField.set(statement, replaceReturnStatements(bodyField.get(statement), replacement));
+                return statement;
+            }
+            default:
+                return statement;
+        }
+    }
+
     public Object createArrayInitializer(String elementType, List<Object> elements) throws Exception {
-        Class<?> javacListClass = Class.forName("com.sun.tools.javac.util.List");
-        Method fromMethod = javacListClass.getDeclaredMethod("from", Object[].class);
+        Class<?> javacListClass = ReflectionCache.forName("com.sun.tools.javac.util.List");
+        Method fromMethod = ReflectionCache.getDeclaredMethod(javacListClass, "from", Object[].class);
         Object elementsList = fromMethod.invoke(null, new Object[]{elements.toArray()});
 
-        Method newArrayMethod = treeMaker.getClass().getDeclaredMethod("NewArray", 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.util.List"),
-                Class.forName("com.sun.tools.javac.util.List"));
+        Method newArrayMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "NewArray", 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.util.List"),
+                ReflectionCache.forName("com.sun.tools.javac.util.List"));
         
         Object elementTypeExpr = createQualifiedIdent(elementType);
-        Method nilMethod = javacListClass.getDeclaredMethod("nil");
+        Method nilMethod = ReflectionCache.getDeclaredMethod(javacListClass, "nil");
         Object emptyDims = nilMethod.invoke(null);
 
         return newArrayMethod.invoke(treeMaker, elementTypeExpr, emptyDims, elementsList);
@@ -842,10 +984,10 @@ public class ASTHelper {
 
     public Object createClassLiteral(String className) throws Exception {
         Object classType = createQualifiedIdent(className);
-        Method selectMethod = treeMaker.getClass().getDeclaredMethod("Select", 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"), 
-                Class.forName("com.sun.tools.javac.util.Name"));
-        Method fromStringMethod = names.getClass().getDeclaredMethod("fromString", String.class);
+        Method selectMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Select", 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"), 
+                ReflectionCache.forName("com.sun.tools.javac.util.Name"));
+        Method fromStringMethod = ReflectionCache.getDeclaredMethod(names.getClass(), "fromString", String.class);
         Object classNameObj = fromStringMethod.invoke(names, "class");
         return selectMethod.invoke(treeMaker, classType, classNameObj);
     }
@@ -867,12 +1009,12 @@ public class ASTHelper {
         }
         
         try {
-            Method getName = param.getClass().getMethod("getName");
+            Method getName = ReflectionCache.getMethod(param.getClass(), "getName");
             Object val = getName.invoke(param);
             if (val != null) return val.toString();
         } catch (Exception ignore) {}
         try {
-            Method getParamName = param.getClass().getMethod("getParamName");
+            Method getParamName = ReflectionCache.getMethod(param.getClass(), "getParamName");
             Object val = getParamName.invoke(param);
             if (val != null) return val.toString();
         } catch (Exception ignore) {}
@@ -902,80 +1044,378 @@ public class ASTHelper {
     }
 
     public Object createVariable(String name, Object type) throws Exception {
-        Method fromStringMethod = names.getClass().getDeclaredMethod("fromString", String.class);
+        Method fromStringMethod = ReflectionCache.getDeclaredMethod(names.getClass(), "fromString", String.class);
         Object nameObj = fromStringMethod.invoke(names, name);
 
-        Method varDefMethod = treeMaker.getClass().getDeclaredMethod("VarDef", 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCModifiers"),
-                Class.forName("com.sun.tools.javac.util.Name"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+        Method varDefMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "VarDef", 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCModifiers"),
+                ReflectionCache.forName("com.sun.tools.javac.util.Name"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
 
         Object modifiers = createModifiers(0L, null);
         return varDefMethod.invoke(treeMaker, modifiers, nameObj, type, null);
     }
 
     public Object createNewInstance(Object type) throws Exception {
-        Method newClassMethod = treeMaker.getClass().getDeclaredMethod("NewClass", 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.util.List"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.util.List"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCClassDecl"));
-
-        Class<?> javacListClass = Class.forName("com.sun.tools.javac.util.List");
-        Method nilMethod = javacListClass.getDeclaredMethod("nil");
+        Method newClassMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "NewClass", 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.util.List"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.util.List"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCClassDecl"));
+
+        Class<?> javacListClass = ReflectionCache.forName("com.sun.tools.javac.util.List");
+        Method nilMethod = ReflectionCache.getDeclaredMethod(javacListClass, "nil");
         Object emptyList = nilMethod.invoke(null);
 
         return newClassMethod.invoke(treeMaker, null, emptyList, type, emptyList, null);
     }
 
     public Object createNewClass(Object type, Object[] args) throws Exception {
-        Method newClassMethod = treeMaker.getClass().getDeclaredMethod("NewClass", 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.util.List"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.util.List"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCClassDecl"));
-
-        Class<?> javacListClass = Class.forName("com.sun.tools.javac.util.List");
-        Method fromMethod = javacListClass.getDeclaredMethod("from", Object[].class);
+        Method newClassMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "NewClass", 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.util.List"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.util.List"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCClassDecl"));
+
+        Class<?> javacListClass = ReflectionCache.forName("com.sun.tools.javac.util.List");
+        Method fromMethod = ReflectionCache.getDeclaredMethod(javacListClass, "from", Object[].class);
         Object argsList = fromMethod.invoke(null, new Object[]{args});
         
-        Method nilMethod = javacListClass.getDeclaredMethod("nil");
+        Method nilMethod = ReflectionCache.getDeclaredMethod(javacListClass, "nil");
         Object emptyList = nilMethod.invoke(null);
 
         return newClassMethod.invoke(treeMaker, null, emptyList, type, argsList, null);
     }
 
     public Object createBeanPropertyRowMapper(String resultTypeClass) throws Exception {
+        if (cacheRowMappers) {
+            String simpleName = resultTypeClass.substring(resultTypeClass.lastIndexOf('.') + 1);
+            String fieldName = registerStaticField("BeanPropertyRowMapper:" + resultTypeClass,
+                    toConstantName(simpleName) + "_BEAN_ROW_MAPPER",
+                    createParameterizedType("org.springframework.jdbc.core.BeanPropertyRowMapper", resultTypeClass),
+                    createNewBeanPropertyRowMapper(resultTypeClass));
+            return createIdent(fieldName);
+        }
+        return createNewBeanPropertyRowMapper(resultTypeClass);
+    }
+
+    private Object createNewBeanPropertyRowMapper(String resultTypeClass) throws Exception {
         Object parameterizedRowMapperType = createParameterizedType("org.springframework.jdbc.core.BeanPropertyRowMapper", resultTypeClass);
         Object entityClassLiteral = createClassLiteral(resultTypeClass);
         return createNewClass(parameterizedRowMapperType, new Object[]{entityClassLiteral});
     }
 
+    public Object createDataClassRowMapper(String resultTypeClass) throws Exception {
+        if (cacheRowMappers) {
+            String simpleName = resultTypeClass.substring(resultTypeClass.lastIndexOf('.') + 1);
+            String fieldName = registerStaticField("DataClassRowMapper:" + resultTypeClass,
+                    toConstantName(simpleName) + "_DATA_ROW_MAPPER",
+                    createParameterizedType("org.springframework.jdbc.core.DataClassRowMapper", resultTypeClass),
+                    createNewDataClassRowMapper(resultTypeClass));
+            return createIdent(fieldName);
+        }
+        return createNewDataClassRowMapper(resultTypeClass);
+    }
+
+    private Object createNewDataClassRowMapper(String resultTypeClass) throws Exception {
+        Object parameterizedRowMapperType = createParameterizedType("org.springframework.jdbc.core.DataClassRowMapper", resultTypeClass);
+        return createNewClass(parameterizedRowMapperType, new Object[]{createClassLiteral(resultTypeClass)});
+    }
+
+    /**
+     * Create public no-arg method declaration: public ResType name() { body }
+     */
+    public Object createPublicMethod(String name, Object resultType, Object body) throws Exception {
+        Class<?> javacListClass = ReflectionCache.forName("com.sun.tools.javac.util.List");
+        Object emptyList = ReflectionCache.getDeclaredMethod(javacListClass, "nil").invoke(null);
+
+        Method fromStringMethod = ReflectionCache.getDeclaredMethod(names.getClass(), "fromString", String.class);
+        Object nameObj = fromStringMethod.invoke(names, name);
+
+        Method methodDefMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "MethodDef",
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCModifiers"),
+                ReflectionCache.forName("com.sun.tools.javac.util.Name"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                javacListClass, javacListClass, javacListClass, jcBlockClass,
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+
+        long publicFlag = 1L;
+        return methodDefMethod.invoke(treeMaker, createModifiers(publicFlag, null), nameObj, resultType,
+                emptyList, emptyList, emptyList, body, null);
+    }
+
+    /**
+     * Create anonymous class instance: new Type() { members }
+     */
+    public Object createAnonymousClass(Object type, List<Object> members) throws Exception {
+        Class<?> javacListClass = ReflectionCache.forName("com.sun.tools.javac.util.List");
+        Object emptyList = ReflectionCache.getDeclaredMethod(javacListClass, "nil").invoke(null);
+        Method fromMethod = ReflectionCache.getDeclaredMethod(javacListClass, "from", Object[].class);
+        Object membersList = fromMethod.invoke(null, new Object[]{members.toArray()});
+
+        Method anonymousClassDefMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "AnonymousClassDef",
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCModifiers"), javacListClass);
+        Object classDef = anonymousClassDefMethod.invoke(treeMaker, createModifiers(0L, null), membersList);
+
+        Method newClassMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "NewClass",
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                javacListClass,
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                javacListClass,
+                jcClassDeclClass);
+        return newClassMethod.invoke(treeMaker, null, emptyList, type, emptyList, classDef);
+    }
+
+    /**
+     * Create lambda expression: (params) -> body
+     */
+    public Object createLambda(List<Object> params, Object body) throws Exception {
+        Class<?> javacListClass = ReflectionCache.forName("com.sun.tools.javac.util.List");
+        Method fromMethod = ReflectionCache.getDeclaredMethod(javacListClass, "from", Object[].class);
+        Object paramsList = fromMethod.invoke(null, new Object[]{params.toArray()});
+
+        Method lambdaMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Lambda",
+                javacListClass, jcTreeClass);
+        return lambdaMethod.invoke(treeMaker, paramsList, body);
+    }
+
+    /**
+     * Create explicitly typed parameter declaration (for lambdas and methods)
+     */
+    public Object createParameter(String name, Object type) throws Exception {
+        Method fromStringMethod = ReflectionCache.getDeclaredMethod(names.getClass(), "fromString", String.class);
+        Object nameObj = fromStringMethod.invoke(names, name);
+
+        Method varDefMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "VarDef",
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCModifiers"),
+                ReflectionCache.forName("com.sun.tools.javac.util.Name"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+
+        Object modifiers = createModifiers(getParameterFlag(), null);
+        return varDefMethod.invoke(treeMaker, modifiers, nameObj, type, null);
+    }
+
+    /**
+     * Create primitive type tree (int, long, boolean, ...)
+     */
+    public Object createPrimitiveType(String primitive) throws Exception {
+        Class<?> typeTagClass = ReflectionCache.forName("com.sun.tools.javac.code.TypeTag");
+        Method valueOfMethod = ReflectionCache.getMethod(typeTagClass, "valueOf", String.class);
+        Object typeTag = valueOfMethod.invoke(null, primitive.toUpperCase());
+
+        Method typeIdentMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "TypeIdent", typeTagClass);
+        return typeIdentMethod.invoke(treeMaker, typeTag);
+    }
+
+    /**
+     * Create array type tree: elementType[]
+     */
+    public Object createArrayType(Object elementType) throws Exception {
+        Method typeArrayMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "TypeArray",
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+        return typeArrayMethod.invoke(treeMaker, elementType);
+    }
+
+    /**
+     * Create local variable declaration with initializer: Type name = init;
+     */
+    public Object createLocalVariable(String name, Object type, Object init) throws Exception {
+        Method fromStringMethod = ReflectionCache.getDeclaredMethod(names.getClass(), "fromString", String.class);
+        Object nameObj = fromStringMethod.invoke(names, name);
+
+        Method varDefMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "VarDef",
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCModifiers"),
+                ReflectionCache.forName("com.sun.tools.javac.util.Name"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+
+        Object modifiers = createModifiers(0L, null);
+        return varDefMethod.invoke(treeMaker, modifiers, nameObj, type, init);
+    }
+
+    /**
+     * Create private static final field with initializer
+     */
+    public Object createStaticFinalField(String name, Object type, Object init) throws Exception {
+        long privateFlag = 1L << 1;
+        long staticFlag = 1L << 3;
+        long finalFlag = 1L << 4;
+        Object modifiers = createModifiers(privateFlag | staticFlag | finalFlag, null);
+
+        Method fromStringMethod = ReflectionCache.getDeclaredMethod(names.getClass(), "fromString", String.class);
+        Object nameObj = fromStringMethod.invoke(names, name);
+
+        Method varDefMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "VarDef",
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCModifiers"),
+                ReflectionCache.forName("com.sun.tools.javac.util.Name"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+
+        return varDefMethod.invoke(treeMaker, modifiers, nameObj, type, init);
+    }
+
+    /**
+     * Check if class already declares a field with the given name
+     */
+    public boolean hasField(Object classDecl, String fieldName) throws Exception {
+        Method getMembersMethod = ReflectionCache.getDeclaredMethod(classDecl.getClass(), "getMembers");
+        Object membersList = getMembersMethod.invoke(classDecl);
+        if (membersList instanceof Iterable) {
+            for (Object member : (Iterable<?>) membersList) {
+                if (member.getClass().getSimpleName().equals("JCVariableDecl")) {
+                    Method getNameMethod = ReflectionCache.getDeclaredMethod(member.getClass(), "getName");
+                    if (fieldName.equals(getNameMethod.invoke(member).toString())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inject field declaration into class; the name must not be declared yet
+     */
+    public void injectField(Object classDecl, String fieldName, Object fieldDecl) throws Exception {
+        if (hasField(classDecl, fieldName)) {
+            throw new IllegalStateException("Field '" + fieldName + "' is already declared");
+        }
+        Method getMembersMethod = ReflectionCache.getDeclaredMethod(classDecl.getClass(), "getMembers");
+        Object membersList = getMembersMethod.invoke(classDecl);
+        Method prependMethod = ReflectionCache.getDeclaredMethod(membersList.getClass(), "prepend", Object.class);
+        updateClassMembers(classDecl, prependMethod.invoke(membersList, fieldDecl));
+    }
+
     public Object createColumnMapRowMapper() throws Exception {
         Object rowMapperType = createQualifiedIdent("org.springframework.jdbc.core.ColumnMapRowMapper");
+        if (cacheRowMappers) {
+            String fieldName = registerStaticField("ColumnMapRowMapper", "COLUMN_MAP_ROW_MAPPER",
+                    createQualifiedIdent("org.springframework.jdbc.core.ColumnMapRowMapper"),
+                    createNewInstance(rowMapperType));
+            return createIdent(fieldName);
+        }
         return createNewInstance(rowMapperType);
     }
+
+    /**
+     * Create PreparedStatementSetter lambda for streaming queries:
+     * (java.sql.PreparedStatement ps) -&gt; { ps.setFetchSize(n); setParameterValue(ps, 1, TYPE_UNKNOWN, arg1); ... }
+     */
+    public Object createStreamingStatementSetter(int fetchSize, List<Object> args, List<String> reservedNames) throws Exception {
+        String psName = "ps";
+        while (reservedNames.contains(psName)) {
+            psName = psName + "_";
+        }
+
+        nextPosition();
+        List<Object> statements = new ArrayList<>();
+        if (fetchSize > 0) {
+            Object setFetchSize = createMethodCall(createFieldAccess(createIdent(psName), "setFetchSize"), createLiteral(fetchSize));
+            statements.add(createExpressionStatement(setFetchSize));
+        }
+
+        Object setParameterValue = createQualifiedIdent("org.springframework.jdbc.core.StatementCreatorUtils.setParameterValue");
+        for (int i = 0; i < args.size(); i++) {
+            Object setCall = createMethodCall(setParameterValue, createIdent(psName), createLiteral(i + 1),
+                    createQualifiedIdent("org.springframework.jdbc.core.SqlTypeValue.TYPE_UNKNOWN"), args.get(i));
+            statements.add(createExpressionStatement(setCall));
+        }
+
+        List<Object> params = new ArrayList<>();
+        params.add(createParameter(psName, createQualifiedIdent("java.sql.PreparedStatement")));
+        Object lambda = createLambda(params, createBlock(statements));
+        nextPosition();
+        return lambda;
+    }
+
+    /**
+     * Enable or disable hoisting of stateless RowMapper instances into static final fields
+     */
+    public void setCacheRowMappers(boolean cacheRowMappers) {
+        this.cacheRowMappers = cacheRowMappers;
+    }
+
+    /**
+     * Register a private static final field for the class being processed and return its name.
+     * Fields sharing the same key are created only once; see {@link #injectPendingStaticFields(Object)}.
+     */
+    public String registerStaticField(String key, String preferredName, Object type, Object init) throws Exception {
+        String existing = pendingFieldNames.get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        String fieldName = preferredName;
+        int suffix = 2;
+        while (pendingFieldNames.containsValue(fieldName) || declaredFieldNames.contains(fieldName)) {
+            fieldName = preferredName + "_" + suffix++;
+        }
+
+        pendingFieldNames.put(key, fieldName);
+        pendingStaticFields.put(fieldName, createStaticFinalField(fieldName, type, init));
+        return fieldName;
+    }
+
+    /**
+     * Inject static fields registered while transforming the current class
+     */
+    public void injectPendingStaticFields(Object classDecl) throws Exception {
+        try {
+            for (Map.Entry<String, Object> field : pendingStaticFields.entrySet()) {
+                injectField(classDecl, field.getKey(), field.getValue());
+            }
+        } finally {
+            clearPendingStaticFields();
+        }
+    }
+
+    /**
+     * Keep registered static fields clear of the fields the class already declares
+     */
+    public void reserveDeclaredFields(Object classDecl) throws Exception {
+        Method getMembersMethod = ReflectionCache.getDeclaredMethod(classDecl.getClass(), "getMembers");
+        Object membersList = getMembersMethod.invoke(classDecl);
+        if (membersList instanceof Iterable) {
+            for (Object member : (Iterable<?>) membersList) {
+                if (member.getClass().getSimpleName().equals("JCVariableDecl")) {
+                    Method getNameMethod = ReflectionCache.getDeclaredMethod(member.getClass(), "getName");
+                    declaredFieldNames.add(getNameMethod.invoke(member).toString());
+                }
+            }
+        }
+    }
+
+    public void clearPendingStaticFields() {
+        pendingFieldNames.clear();
+        pendingStaticFields.clear();
+        declaredFieldNames.clear();
+    }
+
+    private String toConstantName(String simpleName) {
+        return simpleName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+    }
     
     public Object createParameterizedType(String baseTypeName, String paramTypeName) throws Exception {
 
         Object baseType = createQualifiedIdent(baseTypeName);
         Object paramType = createQualifiedIdent(paramTypeName);
-        Class<?> javacListClass = Class.forName("com.sun.tools.javac.util.List");
+        Class<?> javacListClass = ReflectionCache.forName("com.sun.tools.javac.util.List");
         Method ofMethod;
         Object argsList;
         try {
-            ofMethod = javacListClass.getDeclaredMethod("of", Object.class);
+            ofMethod = ReflectionCache.getDeclaredMethod(javacListClass, "of", Object.class);
             argsList = ofMethod.invoke(null, paramType);
         } catch (NoSuchMethodException e) {
-            Method fromMethod = javacListClass.getDeclaredMethod("from", Object[].class);
+            Method fromMethod = ReflectionCache.getDeclaredMethod(javacListClass, "from", Object[].class);
             argsList = fromMethod.invoke(null, new Object[]{new Object[]{paramType}});
         }
-        Method typeApply = treeMaker.getClass().getDeclaredMethod("TypeApply",
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.util.List"));
+        Method typeApply = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "TypeApply",
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.util.List"));
         return typeApply.invoke(treeMaker, baseType, argsList);
     }
 
@@ -985,9 +1425,9 @@ public class ASTHelper {
     }
 
     public Object createTypeCast(Object type, Object expression) throws Exception {
-        Method typeCastMethod = treeMaker.getClass().getDeclaredMethod("TypeCast", 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+        Method typeCastMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "TypeCast", 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
         return typeCastMethod.invoke(treeMaker, type, expression);
     }
 
@@ -1019,10 +1459,10 @@ public class ASTHelper {
     }
 
     public Object createConditionalExpression(Object condition, Object trueExpr, Object falseExpr) throws Exception {
-        Method conditionalMethod = treeMaker.getClass().getDeclaredMethod("Conditional",
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"), 
-                Class.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
+        Method conditionalMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Conditional",
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"),
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"), 
+                ReflectionCache.forName("com.sun.tools.javac.tree.JCTree$JCExpression"));
         return conditionalMethod.invoke(treeMaker, condition, trueExpr, falseExpr);
     }
 
@@ -1055,7 +1495,7 @@ public class ASTHelper {
                 return createLiteral(defaultValue);
             }
             
-            Method literalMethod = treeMaker.getClass().getDeclaredMethod("Literal", Object.class);
+            Method literalMethod = ReflectionCache.getDeclaredMethod(treeMaker.getClass(), "Literal", Object.class);
             return literalMethod.invoke(treeMaker, actualValue);
         } catch (Exception e) {
             return createLiteral(defaultValue);
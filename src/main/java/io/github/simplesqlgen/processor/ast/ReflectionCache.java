@@ -0,0 +1,98 @@
+package io.github.simplesqlgen.processor.ast;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of reflective lookups into the javac internals.
+ * Every generated AST node goes through TreeMaker/Names reflection, so the
+ * {@link Class#getMethod} and {@link Class#forName} scans are resolved once
+ * per signature and reused for the rest of the compilation.
+ */
+public final class ReflectionCache {
+
+    private static final Map<String, Class<?>> CLASSES = new ConcurrentHashMap<>();
+    private static final Map<Key, Method> METHODS = new ConcurrentHashMap<>();
+
+    private ReflectionCache() {
+    }
+
+    /**
+     * Cached equivalent of {@link Class#forName(String)}
+     */
+    public static Class<?> forName(String className) throws ClassNotFoundException {
+        Class<?> type = CLASSES.get(className);
+        if (type == null) {
+            type = Class.forName(className);
+            CLASSES.put(className, type);
+        }
+        return type;
+    }
+
+    /**
+     * Cached equivalent of {@link Class#getMethod(String, Class[])}
+     */
+    public static Method getMethod(Class<?> type, String name, Class<?>... parameterTypes)
+            throws NoSuchMethodException {
+        Key key = new Key(type, name, parameterTypes, false);
+        Method method = METHODS.get(key);
+        if (method == null) {
+            method = type.getMethod(name, parameterTypes);
+            METHODS.put(key, method);
+        }
+        return method;
+    }
+
+    /**
+     * Cached equivalent of {@link Class#getDeclaredMethod(String, Class[])}
+     */
+    public static Method getDeclaredMethod(Class<?> type, String name, Class<?>... parameterTypes)
+            throws NoSuchMethodException {
+        Key key = new Key(type, name, parameterTypes, true);
+        Method method = METHODS.get(key);
+        if (method == null) {
+            method = type.getDeclaredMethod(name, parameterTypes);
+            METHODS.put(key, method);
+        }
+        return method;
+    }
+
+    private static final class Key {
+        private final Class<?> type;
+        private final String name;
+        private final Class<?>[] parameterTypes;
+        private final boolean declared;
+        private final int hash;
+
+        Key(Class<?> type, String name, Class<?>[] parameterTypes, boolean declared) {
+            this.type = type;
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+            this.declared = declared;
+            this.hash = Objects.hash(type, name, declared) * 31 + Arrays.hashCode(parameterTypes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return declared == other.declared
+                    && type == other.type
+                    && name.equals(other.name)
+                    && Arrays.equals(parameterTypes, other.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package io.github.simplesqlgen.processor.ast;
+
+import java.util.List;
+
+/**
+ * Typed facade over the javac TreeMaker/Names factories
+ * Processor modules build method bodies through this interface instead of looking up
+ * {@link ASTHelper} methods by name, so each node factory is an ordinary (inlinable) call.
+ * Tree nodes stay typed as {@code Object} so callers need no access to jdk.compiler.
+ */
+public interface TreeBuilder {
+
+    /** Advance the synthetic source position used for the next poly expression */
+    void nextPosition() throws Exception;
+
+    // Names and expressions
+
+    Object createIdent(String name) throws Exception;
+
+    Object createQualifiedIdent(String qualifiedName) throws Exception;
+
+    Object createFieldAccess(Object base, String fieldName) throws Exception;
+
+    Object createFieldAccess(String baseName, String fieldName) throws Exception;
+
+    Object createMethodCall(Object method, Object... args) throws Exception;
+
+    Object createLiteral(String value) throws Exception;
+
+    Object createLiteral(Object value) throws Exception;
+
+    Object createClassLiteral(String className) throws Exception;
+
+    Object createVariable(String name) throws Exception;
+
+    Object createVariable(String name, String type) throws Exception;
+
+    Object createVariable(String name, Object type) throws Exception;
+
+    Object createAssignment(Object left, Object right) throws Exception;
+
+    Object createBinaryExpression(Object left, String operator, Object right) throws Exception;
+
+    Object createUnaryExpression(String operator, Object operand) throws Exception;
+
+    Object createTypeCast(Object type, Object expression) throws Exception;
+
+    /** condition ? trueExpression : falseExpression */
+    Object createConditionalExpression(Object condition, Object trueExpr, Object falseExpr) throws Exception;
+
+    Object createNewInstance(Object type) throws Exception;
+
+    Object createNewClass(Object type, Object[] args) throws Exception;
+
+    Object createNewStringBuilder(String initialValue) throws Exception;
+
+    Object createArrayInitializer(String elementType, List<Object> elements) throws Exception;
+
+    Object createParameterArray(List<?> methodParams) throws Exception;
+
+    Object createLambda(List<Object> params, Object body) throws Exception;
+
+    Object createAnonymousClass(Object type, List<Object> members) throws Exception;
+
+    // Types
+
+    Object createPrimitiveType(String primitive) throws Exception;
+
+    Object createArrayType(Object elementType) throws Exception;
+
+    Object createParameterizedType(String baseTypeName, String paramTypeName) throws Exception;
+
+    // Statements and declarations
+
+    Object createBlock(List<Object> statements) throws Exception;
+
+    Object createBlockFromStatement(Object statement) throws Exception;
+
+    Object createExpressionStatement(Object expr) throws Exception;
+
+    Object createReturnStatement(Object expr) throws Exception;
+
+    Object createIfStatement(Object condition, Object thenStatement) throws Exception;
+
+    Object createForStatement(Object init, Object condition, Object update, Object body) throws Exception;
+
+    /** try { body } catch (exceptionType exceptionName) { handler } */
+    Object createTryCatch(Object body, String exceptionType, String exceptionName, Object handler) throws Exception;
+
+    Object createThrowStatement(Object expr) throws Exception;
+
+    Object createLocalVariable(String name, Object type, Object init) throws Exception;
+
+    Object createParameter(String name, Object type) throws Exception;
+
+    Object createPublicMethod(String name, Object resultType, Object body) throws Exception;
+
+    Object createStaticFinalField(String name, Object type, Object init) throws Exception;
+
+    /** Register a shared static field on the class being processed and return its (possibly renamed) name */
+    String registerStaticField(String key, String preferredName, Object type, Object init) throws Exception;
+
+    // Spring JDBC building blocks
+
+    Object createColumnMapRowMapper() throws Exception;
+
+    Object createBeanPropertyRowMapper(String resultTypeClass) throws Exception;
+
+    Object createDataClassRowMapper(String resultTypeClass) throws Exception;
+
+    Object createManualRowMapper(String resultTypeClass, String columnMapping) throws Exception;
+
+    Object createNestedRowMapper(String resultTypeClass, String columnMapping) throws Exception;
+
+    Object createStreamingStatementSetter(int fetchSize, List<Object> args, List<String> reservedNames) throws Exception;
+
+    Object createAddValueStatement(Object param) throws Exception;
+
+    Object createCollectionProcessing(Object param) throws Exception;
+}
\ No newline at end of file
@@ -0,0 +1,208 @@
+package io.github.simplesqlgen.processor.filer;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Assembles the {@code <Repository>Impl} source written in filer mode
+ * The Impl extends (or implements) the annotated repository, declares the injected templates
+ * and overrides each generated method with a body rendered by {@link SourceTreeBuilder}.
+ */
+public class RepositoryImplWriter {
+
+    public static final String IMPL_SUFFIX = "Impl";
+
+    private static final String GENERATED = "io.github.simplesqlgen.processor.SqlProcessor";
+
+    private final TypeElement repositoryElement;
+    private final String packageName;
+    private final String implName;
+    private final Set<String> imports = new TreeSet<>();
+    private final List<String> fields = new ArrayList<>();
+    private final List<String> methods = new ArrayList<>();
+
+    public RepositoryImplWriter(TypeElement repositoryElement) {
+        this.repositoryElement = repositoryElement;
+        this.packageName = getPackage(repositoryElement).getQualifiedName().toString();
+        this.implName = repositoryElement.getSimpleName() + IMPL_SUFFIX;
+    }
+
+    public String getQualifiedImplName() {
+        return packageName.isEmpty() ? implName : packageName + "." + implName;
+    }
+
+    /**
+     * Reason the repository cannot be subclassed by the generated Impl, or null when it can
+     */
+    public String checkExtendable() {
+        Set<Modifier> modifiers = repositoryElement.getModifiers();
+        if (modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.PRIVATE)) {
+            return "it is final or private";
+        }
+        if (repositoryElement.getNestingKind().isNested() && !modifiers.contains(Modifier.STATIC)
+                && repositoryElement.getKind() == ElementKind.CLASS) {
+            return "it is an inner (non-static) class";
+        }
+        if (repositoryElement.getKind() == ElementKind.INTERFACE) {
+            return null;
+        }
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(repositoryElement.getEnclosedElements());
+        for (ExecutableElement constructor : constructors) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return null;
+            }
+        }
+        return constructors.isEmpty() ? null : "it has no non-private no-arg constructor";
+    }
+
+    /**
+     * Check if the Impl can override the method (not private, static or final, no type parameters)
+     */
+    public static boolean isOverridable(ExecutableElement methodElement) {
+        Set<Modifier> modifiers = methodElement.getModifiers();
+        return !modifiers.contains(Modifier.PRIVATE) && !modifiers.contains(Modifier.STATIC)
+                && !modifiers.contains(Modifier.FINAL) && methodElement.getTypeParameters().isEmpty();
+    }
+
+    /**
+     * Import a type referenced by simple name in generated bodies, unless it is already in scope
+     */
+    public void addImport(TypeElement type) {
+        String simpleName = type.getSimpleName().toString();
+        if (simpleName.equals(implName) || simpleName.equals(repositoryElement.getSimpleName().toString())) {
+            return;
+        }
+        boolean topLevel = !type.getNestingKind().isNested();
+        String typePackage = getPackage(type).getQualifiedName().toString();
+        if (topLevel && (typePackage.equals(packageName) || "java.lang".equals(typePackage))) {
+            return;
+        }
+        imports.add(type.getQualifiedName().toString());
+    }
+
+    public void addField(Object declaration) {
+        fields.add(String.valueOf(declaration));
+    }
+
+    /**
+     * Add an override of the repository method; the body is a rendered block or single statement
+     */
+    public void addMethod(ExecutableElement methodElement, Object body) {
+        StringBuilder method = new StringBuilder("@Override\n");
+        Set<Modifier> modifiers = methodElement.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC) || repositoryElement.getKind() == ElementKind.INTERFACE) {
+            method.append("public ");
+        } else if (modifiers.contains(Modifier.PROTECTED)) {
+            method.append("protected ");
+        }
+        methods.add(appendSignature(method, methodElement, methodElement.getSimpleName().toString(), body));
+    }
+
+    /**
+     * Add a private method with the repository method's signature under another name
+     */
+    public void addPrivateMethod(ExecutableElement methodElement, String name, Object body) {
+        methods.add(appendSignature(new StringBuilder("private "), methodElement, name, body));
+    }
+
+    private String appendSignature(StringBuilder method, ExecutableElement methodElement, String name, Object body) {
+        method.append(methodElement.getReturnType()).append(' ').append(name).append('(');
+
+        List<? extends VariableElement> params = methodElement.getParameters();
+        for (int i = 0; i < params.size(); i++) {
+            if (i > 0) {
+                method.append(", ");
+            }
+            String type = params.get(i).asType().toString();
+            if (methodElement.isVarArgs() && i == params.size() - 1 && type.endsWith("[]")) {
+                type = type.substring(0, type.length() - 2) + "...";
+            }
+            method.append(type).append(' ').append(params.get(i).getSimpleName());
+        }
+        method.append(')');
+
+        List<? extends TypeMirror> thrownTypes = methodElement.getThrownTypes();
+        for (int i = 0; i < thrownTypes.size(); i++) {
+            method.append(i == 0 ? " throws " : ", ").append(thrownTypes.get(i));
+        }
+
+        String text = String.valueOf(body);
+        method.append(' ').append(text.startsWith("{") ? text : "{\n" + SourceTreeBuilder.indent(text) + "\n}");
+        return method.toString();
+    }
+
+    public boolean hasMethods() {
+        return !methods.isEmpty();
+    }
+
+    public String render() {
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        for (String qualifiedName : imports) {
+            source.append("import ").append(qualifiedName).append(";\n");
+        }
+        if (!imports.isEmpty()) {
+            source.append('\n');
+        }
+
+        String repositoryName = repositoryElement.getQualifiedName().toString();
+        source.append("/**\n * Generated implementation of {@link ").append(repositoryName).append("}\n */\n");
+        source.append("@javax.annotation.processing.Generated(\"").append(GENERATED).append("\")\n");
+        source.append("@org.springframework.stereotype.Repository\n");
+        source.append("@org.springframework.context.annotation.Primary\n");
+        if (repositoryElement.getModifiers().contains(Modifier.PUBLIC)) {
+            source.append("public ");
+        }
+        source.append("class ").append(implName)
+                .append(repositoryElement.getKind() == ElementKind.INTERFACE ? " implements " : " extends ")
+                .append(repositoryName).append(" {\n\n");
+
+        List<String> members = new ArrayList<>();
+        members.add("@org.springframework.beans.factory.annotation.Autowired\n"
+                + "private org.springframework.jdbc.core.JdbcTemplate jdbcTemplate;");
+        members.add("@org.springframework.beans.factory.annotation.Autowired\n"
+                + "private org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate namedParameterJdbcTemplate;");
+        members.addAll(fields);
+        members.addAll(methods);
+        for (String member : members) {
+            source.append(SourceTreeBuilder.indent(member)).append("\n\n");
+        }
+        source.setLength(source.length() - 1);
+        return source.append("}\n").toString();
+    }
+
+    /**
+     * Write the Impl through the Filer with the repository as its only originating element
+     */
+    public void write(Filer filer) throws IOException {
+        JavaFileObject sourceFile = filer.createSourceFile(getQualifiedImplName(), repositoryElement);
+        try (Writer writer = sourceFile.openWriter()) {
+            writer.write(render());
+        }
+    }
+
+    private static PackageElement getPackage(Element element) {
+        Element current = element;
+        while (!(current instanceof PackageElement)) {
+            current = current.getEnclosingElement();
+        }
+        return (PackageElement) current;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,425 @@
+package io.github.simplesqlgen.processor.filer;
+
+import io.github.simplesqlgen.processor.ast.TreeBuilder;
+import io.github.simplesqlgen.processor.param.ParameterProcessor.ParameterInfo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link TreeBuilder} that renders Java source text instead of javac trees
+ * Every node is a String, so the SQL, parameter and RowMapper generators produce the same
+ * method bodies for the Filer backend as they do for in-place AST rewriting.
+ */
+public class SourceTreeBuilder implements TreeBuilder {
+
+    private static final String INDENT = "    ";
+
+    private boolean cacheRowMappers = true;
+
+    private final Map<String, String> pendingFieldNames = new LinkedHashMap<>();
+    private final Map<String, String> pendingStaticFields = new LinkedHashMap<>();
+
+    @Override
+    public void nextPosition() {
+        // Source text has no positions to keep apart
+    }
+
+    // Names and expressions
+
+    @Override
+    public Object createIdent(String name) {
+        return name;
+    }
+
+    @Override
+    public Object createQualifiedIdent(String qualifiedName) {
+        return qualifiedName;
+    }
+
+    @Override
+    public Object createFieldAccess(Object base, String fieldName) {
+        return base + "." + fieldName;
+    }
+
+    @Override
+    public Object createFieldAccess(String baseName, String fieldName) {
+        return baseName + "." + fieldName;
+    }
+
+    @Override
+    public Object createMethodCall(Object method, Object... args) {
+        return method + "(" + join(args) + ")";
+    }
+
+    @Override
+    public Object createLiteral(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder literal = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': literal.append("\\\""); break;
+                case '\\': literal.append("\\\\"); break;
+                case '\n': literal.append("\\n"); break;
+                case '\r': literal.append("\\r"); break;
+                case '\t': literal.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    @Override
+    public Object createLiteral(Object value) {
+        if (value == null || value instanceof String) {
+            return createLiteral((String) value);
+        } else if (value instanceof Long) {
+            return value + "L";
+        } else if (value instanceof Float) {
+            return value + "f";
+        } else if (value instanceof Double) {
+            return value + "d";
+        } else if (value instanceof Short) {
+            return "(short) " + value;
+        } else if (value instanceof Byte) {
+            return "(byte) " + value;
+        } else if (value instanceof Character) {
+            char c = (Character) value;
+            return c == '\'' || c == '\\' ? "'\\" + c + "'" : "'" + c + "'";
+        }
+        return String.valueOf(value);
+    }
+
+    @Override
+    public Object createClassLiteral(String className) {
+        return className + ".class";
+    }
+
+    @Override
+    public Object createVariable(String name) {
+        return name;
+    }
+
+    @Override
+    public Object createVariable(String name, String type) {
+        return name;
+    }
+
+    @Override
+    public Object createVariable(String name, Object type) {
+        return type + " " + name;
+    }
+
+    @Override
+    public Object createAssignment(Object left, Object right) {
+        return left + " = " + right;
+    }
+
+    @Override
+    public Object createBinaryExpression(Object left, String operator, Object right) {
+        return left + " " + operator + " " + right;
+    }
+
+    @Override
+    public Object createUnaryExpression(String operator, Object operand) {
+        if (!"!".equals(operator) && !"++".equals(operator)) {
+            throw new IllegalArgumentException("Unsupported unary operator: " + operator);
+        }
+        return operator + operand;
+    }
+
+    @Override
+    public Object createTypeCast(Object type, Object expression) {
+        return "((" + type + ") " + expression + ")";
+    }
+
+    @Override
+    public Object createConditionalExpression(Object condition, Object trueExpr, Object falseExpr) {
+        return "(" + condition + " ? " + trueExpr + " : " + falseExpr + ")";
+    }
+
+    @Override
+    public Object createNewInstance(Object type) {
+        return "new " + type + "()";
+    }
+
+    @Override
+    public Object createNewClass(Object type, Object[] args) {
+        return "new " + type + "(" + join(args) + ")";
+    }
+
+    @Override
+    public Object createNewStringBuilder(String initialValue) {
+        return "new java.lang.StringBuilder(" + createLiteral(initialValue) + ")";
+    }
+
+    @Override
+    public Object createArrayInitializer(String elementType, List<Object> elements) {
+        return "new " + elementType + "[]{" + join(elements.toArray()) + "}";
+    }
+
+    @Override
+    public Object createParameterArray(List<?> methodParams) {
+        List<Object> elements = new ArrayList<>();
+        for (Object param : methodParams) {
+            elements.add(param instanceof ParameterInfo ? ((ParameterInfo) param).getName() : String.valueOf(param));
+        }
+        return createArrayInitializer("Object", elements);
+    }
+
+    @Override
+    public Object createLambda(List<Object> params, Object body) {
+        return "(" + join(params.toArray()) + ") -> " + body;
+    }
+
+    @Override
+    public Object createAnonymousClass(Object type, List<Object> members) {
+        List<String> lines = new ArrayList<>();
+        for (Object member : members) {
+            lines.add(String.valueOf(member));
+        }
+        return "new " + type + "() {\n" + indent(String.join("\n\n", lines)) + "\n}";
+    }
+
+    // Types
+
+    @Override
+    public Object createPrimitiveType(String primitive) {
+        return primitive;
+    }
+
+    @Override
+    public Object createArrayType(Object elementType) {
+        return elementType + "[]";
+    }
+
+    @Override
+    public Object createParameterizedType(String baseTypeName, String paramTypeName) {
+        return baseTypeName + "<" + paramTypeName + ">";
+    }
+
+    // Statements and declarations
+
+    @Override
+    public Object createBlock(List<Object> statements) {
+        if (statements.isEmpty()) {
+            return "{\n}";
+        }
+        List<String> lines = new ArrayList<>();
+        for (Object statement : statements) {
+            lines.add(String.valueOf(statement));
+        }
+        return "{\n" + indent(String.join("\n", lines)) + "\n}";
+    }
+
+    @Override
+    public Object createBlockFromStatement(Object statement) {
+        List<Object> statements = new ArrayList<>();
+        statements.add(statement);
+        return createBlock(statements);
+    }
+
+    @Override
+    public Object createExpressionStatement(Object expr) {
+        return expr + ";";
+    }
+
+    @Override
+    public Object createReturnStatement(Object expr) {
+        return expr == null ? "return;" : "return " + expr + ";";
+    }
+
+    @Override
+    public Object createIfStatement(Object condition, Object thenStatement) {
+        return "if (" + condition + ") " + thenStatement;
+    }
+
+    @Override
+    public Object createForStatement(Object init, Object condition, Object update, Object body) {
+        return "for (" + init + "; " + condition + "; " + update + ") " + body;
+    }
+
+    @Override
+    public Object createTryCatch(Object body, String exceptionType, String exceptionName, Object handler) {
+        return "try " + body + " catch (" + exceptionType + " " + exceptionName + ") " + handler;
+    }
+
+    @Override
+    public Object createThrowStatement(Object expr) {
+        return "throw " + expr + ";";
+    }
+
+    @Override
+    public Object createLocalVariable(String name, Object type, Object init) {
+        return type + " " + name + " = " + init + ";";
+    }
+
+    @Override
+    public Object createParameter(String name, Object type) {
+        return type + " " + name;
+    }
+
+    @Override
+    public Object createPublicMethod(String name, Object resultType, Object body) {
+        return "public " + resultType + " " + name + "() " + body;
+    }
+
+    @Override
+    public Object createStaticFinalField(String name, Object type, Object init) {
+        return "private static final " + type + " " + name + " = " + init + ";";
+    }
+
+    @Override
+    public String registerStaticField(String key, String preferredName, Object type, Object init) {
+        String existing = pendingFieldNames.get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        String fieldName = preferredName;
+        int suffix = 2;
+        while (pendingFieldNames.containsValue(fieldName)) {
+            fieldName = preferredName + "_" + suffix++;
+        }
+
+        pendingFieldNames.put(key, fieldName);
+        pendingStaticFields.put(fieldName, (String) createStaticFinalField(fieldName, type, init));
+        return fieldName;
+    }
+
+    /**
+     * Static field declarations registered since the last {@link #clearPendingStaticFields()}, by name
+     */
+    public Map<String, String> getPendingStaticFields() {
+        return new LinkedHashMap<>(pendingStaticFields);
+    }
+
+    public void clearPendingStaticFields() {
+        pendingFieldNames.clear();
+        pendingStaticFields.clear();
+    }
+
+    /**
+     * Enable or disable hoisting of stateless RowMapper instances into static final fields
+     */
+    public void setCacheRowMappers(boolean cacheRowMappers) {
+        this.cacheRowMappers = cacheRowMappers;
+    }
+
+    // Spring JDBC building blocks
+
+    @Override
+    public Object createColumnMapRowMapper() {
+        Object mapper = createNewInstance("org.springframework.jdbc.core.ColumnMapRowMapper");
+        if (cacheRowMappers) {
+            return registerStaticField("ColumnMapRowMapper", "COLUMN_MAP_ROW_MAPPER",
+                    "org.springframework.jdbc.core.ColumnMapRowMapper", mapper);
+        }
+        return mapper;
+    }
+
+    @Override
+    public Object createBeanPropertyRowMapper(String resultTypeClass) {
+        return createRowMapper("org.springframework.jdbc.core.BeanPropertyRowMapper", "BeanPropertyRowMapper:",
+                "_BEAN_ROW_MAPPER", resultTypeClass);
+    }
+
+    @Override
+    public Object createDataClassRowMapper(String resultTypeClass) {
+        return createRowMapper("org.springframework.jdbc.core.DataClassRowMapper", "DataClassRowMapper:",
+                "_DATA_ROW_MAPPER", resultTypeClass);
+    }
+
+    private Object createRowMapper(String mapperClass, String keyPrefix, String nameSuffix, String resultTypeClass) {
+        Object mapperType = createParameterizedType(mapperClass, resultTypeClass);
+        Object mapper = createNewClass(mapperType, new Object[]{createClassLiteral(resultTypeClass)});
+        if (cacheRowMappers) {
+            String simpleName = resultTypeClass.substring(resultTypeClass.lastIndexOf('.') + 1);
+            return registerStaticField(keyPrefix + resultTypeClass, toConstantName(simpleName) + nameSuffix,
+                    mapperType, mapper);
+        }
+        return mapper;
+    }
+
+    @Override
+    public Object createManualRowMapper(String resultTypeClass, String columnMapping) {
+        return createIdent("manualRowMapper");
+    }
+
+    @Override
+    public Object createNestedRowMapper(String resultTypeClass, String columnMapping) {
+        return createIdent("nestedRowMapper");
+    }
+
+    @Override
+    public Object createStreamingStatementSetter(int fetchSize, List<Object> args, List<String> reservedNames) {
+        String psName = "ps";
+        while (reservedNames.contains(psName)) {
+            psName = psName + "_";
+        }
+
+        List<Object> statements = new ArrayList<>();
+        if (fetchSize > 0) {
+            statements.add(createExpressionStatement(createMethodCall(createFieldAccess(psName, "setFetchSize"),
+                    createLiteral(fetchSize))));
+        }
+        for (int i = 0; i < args.size(); i++) {
+            statements.add(createExpressionStatement(createMethodCall(
+                    "org.springframework.jdbc.core.StatementCreatorUtils.setParameterValue",
+                    psName, createLiteral(i + 1), "org.springframework.jdbc.core.SqlTypeValue.TYPE_UNKNOWN", args.get(i))));
+        }
+
+        List<Object> params = new ArrayList<>();
+        params.add(createParameter(psName, "java.sql.PreparedStatement"));
+        return createLambda(params, createBlock(statements));
+    }
+
+    @Override
+    public Object createAddValueStatement(Object param) {
+        return createExpressionStatement(createMethodCall(createFieldAccess("paramSource", "addValue"),
+                createLiteral("param"), createIdent("value")));
+    }
+
+    @Override
+    public Object createCollectionProcessing(Object param) {
+        return createIdent("collection");
+    }
+
+    /**
+     * Indent every line of a rendered fragment by one level
+     */
+    static String indent(String source) {
+        StringBuilder indented = new StringBuilder();
+        for (String line : source.split("\n", -1)) {
+            if (indented.length() > 0) {
+                indented.append('\n');
+            }
+            if (!line.isEmpty()) {
+                indented.append(INDENT).append(line);
+            }
+        }
+        return indented.toString();
+    }
+
+    private String join(Object[] parts) {
+        List<String> rendered = new ArrayList<>();
+        for (Object part : parts) {
+            rendered.add(String.valueOf(part));
+        }
+        return String.join(", ", rendered);
+    }
+
+    private String toConstantName(String simpleName) {
+        return simpleName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+    }
+}
\ No newline at end of file
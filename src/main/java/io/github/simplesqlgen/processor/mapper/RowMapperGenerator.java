@@ -0,0 +1,212 @@
+package io.github.simplesqlgen.processor.mapper;
+
+import io.github.simplesqlgen.processor.SqlProcessor.EntityInfo;
+import io.github.simplesqlgen.processor.SqlProcessor.ProjectionInfo;
+import io.github.simplesqlgen.processor.ast.TreeBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compile-time RowMapper generator
+ * Builds a reflection-free RowMapper lambda from analyzed entity fields; columns are read by position,
+ * so the mapped query must select the fields in their analyzed order (as the generated finders do)
+ */
+public class RowMapperGenerator {
+
+    private static final Map<String, String> RESULT_SET_GETTERS = new HashMap<>();
+    static {
+        RESULT_SET_GETTERS.put("int", "getInt");
+        RESULT_SET_GETTERS.put("long", "getLong");
+        RESULT_SET_GETTERS.put("double", "getDouble");
+        RESULT_SET_GETTERS.put("float", "getFloat");
+        RESULT_SET_GETTERS.put("boolean", "getBoolean");
+        RESULT_SET_GETTERS.put("short", "getShort");
+        RESULT_SET_GETTERS.put("byte", "getByte");
+        RESULT_SET_GETTERS.put("byte[]", "getBytes");
+        RESULT_SET_GETTERS.put("java.lang.String", "getString");
+        RESULT_SET_GETTERS.put("java.math.BigDecimal", "getBigDecimal");
+        RESULT_SET_GETTERS.put("java.sql.Timestamp", "getTimestamp");
+        RESULT_SET_GETTERS.put("java.sql.Date", "getDate");
+        RESULT_SET_GETTERS.put("java.sql.Time", "getTime");
+    }
+
+    private static final List<String> OBJECT_TYPES = List.of(
+        "java.lang.Integer", "java.lang.Long", "java.lang.Double", "java.lang.Float",
+        "java.lang.Boolean", "java.lang.Short", "java.lang.Byte",
+        "java.time.LocalDate", "java.time.LocalDateTime", "java.time.LocalTime",
+        "java.time.OffsetDateTime", "java.util.UUID"
+    );
+
+    private final TreeBuilder astHelper;
+
+    public RowMapperGenerator(TreeBuilder astHelper) {
+        this.astHelper = astHelper;
+    }
+
+    /**
+     * Constant name used for the entity RowMapper field (User -> USER_ROW_MAPPER)
+     */
+    public static String rowMapperFieldName(String entityName) {
+        return entityName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase() + "_ROW_MAPPER";
+    }
+
+    /**
+     * Check if a reflection-free mapper can be generated for the entity
+     */
+    public boolean isSupported(EntityInfo entityInfo) {
+        if (!entityInfo.isInstantiable() || entityInfo.getSetters().isEmpty()) {
+            return false;
+        }
+        for (String field : entityInfo.getSetters().keySet()) {
+            if (!isSupportedType(entityInfo.getFieldTypes().get(field))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if a reflection-free mapper can be generated for the projection
+     */
+    public boolean isSupported(ProjectionInfo projection) {
+        if (projection.getKind() == ProjectionInfo.Kind.SETTER) {
+            return isSupported((EntityInfo) projection);
+        }
+        if (projection.getFields().isEmpty()) {
+            return false;
+        }
+        for (String property : projection.getFields()) {
+            if (!isSupportedType(projection.getFieldTypes().get(property))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Register projection RowMapper constant for the class being processed and return a reference to it
+     */
+    public Object createProjectionRowMapper(String projectionFqn, ProjectionInfo projection) throws Exception {
+        Object lambda;
+        switch (projection.getKind()) {
+            case CONSTRUCTOR:
+                lambda = createConstructorRowMapperLambda(projectionFqn, projection);
+                break;
+            case INTERFACE:
+                lambda = createInterfaceRowMapperLambda(projectionFqn, projection);
+                break;
+            default:
+                lambda = createRowMapperLambda(projectionFqn, projection);
+        }
+        String simpleName = projectionFqn.substring(projectionFqn.lastIndexOf('.') + 1);
+        Object mapperType = astHelper.createParameterizedType("org.springframework.jdbc.core.RowMapper", projectionFqn);
+        String fieldName = astHelper.registerStaticField("ProjectionRowMapper:" + projectionFqn, rowMapperFieldName(simpleName),
+                mapperType, lambda);
+        return astHelper.createIdent(fieldName);
+    }
+
+    /**
+     * Register entity RowMapper constant for the class being processed and return its field name
+     */
+    public String createEntityRowMapper(String entityName, String entityFqn, EntityInfo entityInfo) throws Exception {
+        Object mapperType = astHelper.createParameterizedType("org.springframework.jdbc.core.RowMapper", entityFqn);
+        Object lambda = createRowMapperLambda(entityFqn, entityInfo);
+        return astHelper.registerStaticField("EntityRowMapper:" + entityFqn, rowMapperFieldName(entityName), mapperType, lambda);
+    }
+
+    /**
+     * Create mapper lambda that instantiates the entity and calls each setter with a typed column read
+     */
+    private Object createRowMapperLambda(String entityFqn, EntityInfo entityInfo) throws Exception {
+        List<Object> params = createRowMapperParameters();
+
+        List<Object> statements = new ArrayList<>();
+        Object newEntity = astHelper.createNewInstance(astHelper.createQualifiedIdent(entityFqn));
+        statements.add(astHelper.createLocalVariable("entity", astHelper.createQualifiedIdent(entityFqn), newEntity));
+
+        for (Map.Entry<String, String> setter : entityInfo.getSetters().entrySet()) {
+            String field = setter.getKey();
+            String fieldType = entityInfo.getFieldTypes().get(field);
+            Object columnValue = createColumnRead(entityInfo.getFields().indexOf(field) + 1, fieldType);
+            Object setterCall = astHelper.createMethodCall(astHelper.createFieldAccess(astHelper.createIdent("entity"), setter.getValue()), columnValue);
+            statements.add(astHelper.createExpressionStatement(setterCall));
+        }
+
+        statements.add(astHelper.createReturnStatement(astHelper.createIdent("entity")));
+        return astHelper.createLambda(params, astHelper.createBlock(statements));
+    }
+
+    /**
+     * Create mapper lambda that passes typed column reads to the widest constructor: new Dto(rs.getLong(1), ...)
+     */
+    private Object createConstructorRowMapperLambda(String projectionFqn, ProjectionInfo projection) throws Exception {
+        List<Object> args = new ArrayList<>();
+        List<String> properties = projection.getFields();
+        for (int i = 0; i < properties.size(); i++) {
+            astHelper.nextPosition();
+            args.add(createColumnRead(i + 1, projection.getFieldTypes().get(properties.get(i))));
+        }
+        astHelper.nextPosition();
+        Object newProjection = astHelper.createNewClass(astHelper.createQualifiedIdent(projectionFqn), args.toArray());
+        return astHelper.createLambda(createRowMapperParameters(), astHelper.createBlock(List.of(astHelper.createReturnStatement(newProjection))));
+    }
+
+    /**
+     * Create mapper lambda that reads each column into a local and returns an anonymous implementation
+     * whose accessors return those locals
+     */
+    private Object createInterfaceRowMapperLambda(String projectionFqn, ProjectionInfo projection) throws Exception {
+        List<Object> statements = new ArrayList<>();
+        List<Object> accessors = new ArrayList<>();
+        List<String> properties = projection.getFields();
+        for (int i = 0; i < properties.size(); i++) {
+            String property = properties.get(i);
+            String fieldType = projection.getFieldTypes().get(property);
+            String local = "rs".equals(property) || "rowNum".equals(property) ? property + "_" : property;
+            Object columnValue = createColumnRead(i + 1, fieldType);
+            statements.add(astHelper.createLocalVariable(local, createTypeTree(fieldType), columnValue));
+
+            Object accessorBody = astHelper.createBlock(List.of(astHelper.createReturnStatement(astHelper.createIdent(local))));
+            accessors.add(astHelper.createPublicMethod(projection.getAccessors().get(property), createTypeTree(fieldType), accessorBody));
+        }
+        statements.add(astHelper.createReturnStatement(astHelper.createAnonymousClass(astHelper.createQualifiedIdent(projectionFqn), accessors)));
+        return astHelper.createLambda(createRowMapperParameters(), astHelper.createBlock(statements));
+    }
+
+    private List<Object> createRowMapperParameters() throws Exception {
+        List<Object> params = new ArrayList<>();
+        params.add(astHelper.createParameter("rs", astHelper.createQualifiedIdent("java.sql.ResultSet")));
+        params.add(astHelper.createParameter("rowNum", astHelper.createPrimitiveType("int")));
+        return params;
+    }
+
+    private Object createTypeTree(String type) throws Exception {
+        if ("byte[]".equals(type)) {
+            return astHelper.createArrayType(astHelper.createPrimitiveType("byte"));
+        }
+        if (RESULT_SET_GETTERS.containsKey(type) && !type.contains(".")) {
+            return astHelper.createPrimitiveType(type);
+        }
+        return astHelper.createQualifiedIdent(type);
+    }
+
+    /**
+     * Create typed column read by 1-based position: rs.getString(2) or rs.getObject(1, Long.class)
+     */
+    private Object createColumnRead(int columnIndex, String fieldType) throws Exception {
+        Object columnLiteral = astHelper.createLiteral(columnIndex);
+        String getter = RESULT_SET_GETTERS.get(fieldType);
+        if (getter != null) {
+            return astHelper.createMethodCall(astHelper.createFieldAccess(astHelper.createIdent("rs"), getter), columnLiteral);
+        }
+        Object classLiteral = astHelper.createClassLiteral(fieldType);
+        return astHelper.createMethodCall(astHelper.createFieldAccess(astHelper.createIdent("rs"), "getObject"), columnLiteral, classLiteral);
+    }
+
+    private boolean isSupportedType(String fieldType) {
+        return fieldType != null && (RESULT_SET_GETTERS.containsKey(fieldType) || OBJECT_TYPES.contains(fieldType));
+    }
+}
@@ -2,12 +2,16 @@ package io.github.simplesqlgen.processor.param;
 
 import io.github.simplesqlgen.annotation.Param;
 import io.github.simplesqlgen.enums.ParameterType;
+import io.github.simplesqlgen.processor.ast.TreeBuilder;
 
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -17,9 +21,9 @@ import java.util.regex.Pattern;
  */
 public class ParameterProcessor {
     
-    private Object astHelper;
+    private TreeBuilder astHelper;
 
-    public ParameterProcessor(Object astHelper) {
+    public ParameterProcessor(TreeBuilder astHelper) {
         this.astHelper = astHelper;
     }
 
@@ -163,110 +167,159 @@ public class ParameterProcessor {
     }
 
     /**
-     * Dynamic SQL processing for Collection parameters
+     * Largest padded IN list; longer collections are bound at their exact size
      */
-    public Object createDynamicSqlProcessing(String sql, List<ParameterInfo> methodParams) throws Exception {
-        List<Object> statements = new ArrayList<>();
-        
-        Object sqlBuilderVar = createVariable("sqlBuilder", "StringBuilder");
-        Object sqlBuilderInit = createNewStringBuilder(sql);
-        Object sqlBuilderAssignment = createAssignment(sqlBuilderVar, sqlBuilderInit);
-        statements.add(sqlBuilderAssignment);
-        
+    public static final int MAX_IN_LIST_BUCKET = 1024;
+
+    private static final Map<String, String> ARRAY_ELEMENT_TYPES = new HashMap<>();
+    static {
+        ARRAY_ELEMENT_TYPES.put("java.lang.Long", "bigint");
+        ARRAY_ELEMENT_TYPES.put("java.lang.Integer", "integer");
+        ARRAY_ELEMENT_TYPES.put("java.lang.Short", "smallint");
+        ARRAY_ELEMENT_TYPES.put("java.lang.String", "varchar");
+        ARRAY_ELEMENT_TYPES.put("java.lang.Boolean", "boolean");
+        ARRAY_ELEMENT_TYPES.put("java.lang.Double", "float8");
+        ARRAY_ELEMENT_TYPES.put("java.lang.Float", "float4");
+        ARRAY_ELEMENT_TYPES.put("java.math.BigDecimal", "numeric");
+        ARRAY_ELEMENT_TYPES.put("java.util.UUID", "uuid");
+        ARRAY_ELEMENT_TYPES.put("java.time.LocalDate", "date");
+        ARRAY_ELEMENT_TYPES.put("java.time.LocalDateTime", "timestamp");
+    }
 
-        for (int i = 0; i < methodParams.size(); i++) {
-            ParameterInfo param = methodParams.get(i);
-            if (param.isCollection()) {
-                Object collectionProcessing = createInClauseProcessing(param, i);
-                statements.add(collectionProcessing);
-            }
+    /**
+     * Check if the parameter is a java.util collection that can be expanded into an IN list
+     */
+    public boolean isInListParameter(ParameterInfo param) {
+        return param.isCollection() && !param.getTypeString().endsWith("[]");
+    }
+
+    /**
+     * Reject a collection the database cannot bind in one IN list instead of sending a statement it refuses
+     * if (ids.size() > 1000) throw new IllegalArgumentException("IN list ids has " + ids.size() + " values; ...");
+     */
+    public Object createInListLimitCheck(String paramName, int maxInListSize, String dialectName) throws Exception {
+        Object size = createMethodCall(createFieldAccess(createVariable(paramName), "size"));
+        Object tooLarge = createBinaryExpression(size, ">", createLiteral(maxInListSize));
+        Object message = createBinaryExpression(createBinaryExpression(createLiteral("IN list " + paramName + " has "), "+",
+                createMethodCall(createFieldAccess(createVariable(paramName), "size"))), "+",
+                createLiteral(" values; " + dialectName + " allows at most " + maxInListSize
+                        + " (only plain IN lists of unordered, unlimited statements can be split with inChunkSize)"));
+        Object error = astHelper.createNewClass(createQualifiedIdent("java.lang.IllegalArgumentException"), new Object[]{message});
+        return astHelper.createIfStatement(tooLarge, astHelper.createBlockFromStatement(astHelper.createThrowStatement(error)));
+    }
+
+    /**
+     * Bucket size for a collection bound to an IN list: the next power of two, capped at
+     * maxBucket, so a method only ever produces a handful of distinct SQL strings; with emptyBucket
+     * an empty collection gets bucket 0 (NOT IN lists, whose predicate is then dropped)
+     * int idsBucket = Math.max(ids.size(), Math.min(maxBucket, Integer.highestOneBit(Math.max(1, ids.size() + ids.size() - 1))));
+     */
+    public Object createInListBucket(String paramName, String bucketName, int maxBucket, boolean emptyBucket) throws Exception {
+        Object size = createMethodCall(createFieldAccess(createVariable(paramName), "size"));
+        Object doubledMinusOne = createBinaryExpression(createBinaryExpression(size, "+",
+                createMethodCall(createFieldAccess(createVariable(paramName), "size"))), "-", createLiteral(1));
+        Object powerOfTwo = createMethodCall(createQualifiedIdent("java.lang.Integer.highestOneBit"),
+                createMethodCall(createQualifiedIdent("java.lang.Math.max"), createLiteral(1), doubledMinusOne));
+        Object capped = createMethodCall(createQualifiedIdent("java.lang.Math.min"), createLiteral(maxBucket), powerOfTwo);
+        Object bucket = createMethodCall(createQualifiedIdent("java.lang.Math.max"),
+                createMethodCall(createFieldAccess(createVariable(paramName), "size")), capped);
+        if (emptyBucket) {
+            astHelper.nextPosition();
+            bucket = astHelper.createConditionalExpression(
+                    createMethodCall(createFieldAccess(createVariable(paramName), "isEmpty")), createLiteral(0), bucket);
         }
-        
-        Object sqlVar = createVariable("sql", "String");
-        Object sqlAssignment = createAssignment(sqlVar, 
-            createMethodCall(createFieldAccess(sqlBuilderVar, "toString")));
-        statements.add(sqlAssignment);
-        
-        return createBlock(statements);
+        return astHelper.createLocalVariable(bucketName, astHelper.createPrimitiveType("int"), bucket);
     }
 
     /**
-     * Create IN clause processing
+     * Add a collection to the bind values, padded to its bucket by repeating the first element
+     * (a single NULL for an empty collection in a bucket of one)
+     * args.addAll(ids); args.addAll(java.util.Collections.nCopies(idsBucket - ids.size(), ids.isEmpty() ? null : ids.iterator().next()));
      */
-    public Object createInClauseProcessing(ParameterInfo param, int paramIndex) throws Exception {
+    public List<Object> createInClauseProcessing(String paramName, String bucketName, String argsName) throws Exception {
         List<Object> statements = new ArrayList<>();
-        
-        Object paramVar = createVariable(param.getName());
-        
-        Object isEmptyCheck = createMethodCall(createFieldAccess(paramVar, "isEmpty"));
-        Object notEmptyCondition = createUnaryExpression("!", isEmptyCheck);
-        
-        Object placeholdersVar = createVariable("placeholders", "StringBuilder");
-        Object placeholdersInit = createNewStringBuilder("");
-        statements.add(createAssignment(placeholdersVar, placeholdersInit));
-        
-        Object forLoop = createForLoop(param, createPlaceholderGeneration(param));
-        statements.add(forLoop);
-        
-        String placeholder = "\\?" + (paramIndex > 0 ? "{" + paramIndex + "}" : "");
-        Object replaceCall = createMethodCall(
-            createFieldAccess("sqlBuilder", "toString"),
-            "replaceFirst",
-            createLiteral(placeholder),
-            createMethodCall(createFieldAccess(placeholdersVar, "toString"))
-        );
-        
-        Object replaceStatement = createExpressionStatement(
-            createAssignment(
-                createFieldAccess("sqlBuilder", "setLength"), 
-                createLiteral(0)
-            )
-        );
-        
-        statements.add(replaceStatement);
-        
-        Object ifStatement = createIfStatement(notEmptyCondition, createBlock(statements));
-        
-        return ifStatement;
+        Object addAll = createFieldAccess(createVariable(argsName), "addAll");
+        statements.add(createExpressionStatement(createMethodCall(addAll, createVariable(paramName))));
+
+        astHelper.nextPosition();
+        Object padding = astHelper.createConditionalExpression(
+                createMethodCall(createFieldAccess(createVariable(paramName), "isEmpty")),
+                createLiteral(null),
+                createMethodCall(createFieldAccess(createMethodCall(createFieldAccess(createVariable(paramName), "iterator")), "next")));
+        Object missing = createBinaryExpression(createVariable(bucketName), "-",
+                createMethodCall(createFieldAccess(createVariable(paramName), "size")));
+        astHelper.nextPosition();
+        Object copies = createMethodCall(createQualifiedIdent("java.util.Collections.nCopies"), missing, padding);
+        statements.add(createExpressionStatement(createMethodCall(createFieldAccess(createVariable(argsName), "addAll"), copies)));
+        return statements;
     }
 
     /**
-     * Placeholder generation loop body
+     * Placeholder list for a padded IN list: String.join(", ", java.util.Collections.nCopies(idsBucket, "?"))
      */
-    public Object createPlaceholderGeneration(ParameterInfo param) throws Exception {
-        List<Object> statements = new ArrayList<>();
-        
-        Object iVar = createVariable("i");
-        Object condition = createBinaryExpression(iVar, ">", createLiteral(0));
-        Object commaAppend = createMethodCall(
-            createFieldAccess("placeholders", "append"),
-            createLiteral(", ")
-        );
-        Object commaIf = createIfStatement(condition, createExpressionStatement(commaAppend));
-        statements.add(commaIf);
-        
-        Object questionAppend = createMethodCall(
-            createFieldAccess("placeholders", "append"),
-            createLiteral("?")
-        );
-        statements.add(createExpressionStatement(questionAppend));
-        
-        return createBlock(statements);
+    public Object createInListPlaceholders(String bucketName) throws Exception {
+        Object copies = createMethodCall(createQualifiedIdent("java.util.Collections.nCopies"),
+                createVariable(bucketName), createLiteral("?"));
+        return createMethodCall(createQualifiedIdent("java.lang.String.join"), createLiteral(", "), copies);
     }
 
     /**
-     * Create For loop
+     * SQL type name for binding a collection parameter as one java.sql.Array, or null when its
+     * element type has no standard array type
      */
-    public Object createForLoop(ParameterInfo param, Object body) throws Exception {
-        Object paramVar = createVariable(param.getName());
-        Object sizeCall = createMethodCall(createFieldAccess(paramVar, "size"));
-        
-        Object iVar = createVariable("i");
-        Object iInit = createAssignment(iVar, createLiteral(0));
-        Object condition = createBinaryExpression(iVar, "<", sizeCall);
-        Object increment = createUnaryExpression("++", iVar);
-        
-        return createForStatement(iInit, condition, increment, body);
+    public String getArrayElementType(ParameterInfo param) {
+        String elementType = getCollectionElementType(param);
+        return elementType != null ? ARRAY_ELEMENT_TYPES.get(elementType) : null;
+    }
+
+    /**
+     * Qualified element type of a collection parameter, or null when it is raw or a wildcard
+     */
+    public String getCollectionElementType(ParameterInfo param) {
+        if (!isInListParameter(param) || !(param.getType() instanceof DeclaredType)) {
+            return null;
+        }
+        List<? extends TypeMirror> typeArguments = ((DeclaredType) param.getType()).getTypeArguments();
+        if (typeArguments.size() != 1 || !(typeArguments.get(0) instanceof DeclaredType)) {
+            return null;
+        }
+        return typeArguments.get(0).toString();
+    }
+
+    /**
+     * Bind value creating the array from the statement's connection when Spring sets the parameter:
+     * org.springframework.jdbc.core.SqlTypeValue idsArray = (ps, index, sqlType, typeName) -&gt;
+     *         ps.setArray(index, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+     */
+    public Object createArrayParameter(String paramName, String arrayName, String elementType,
+                                       List<String> reservedNames) throws Exception {
+        String psName = uniqueName("ps", reservedNames);
+        String indexName = uniqueName("index", reservedNames);
+
+        astHelper.nextPosition();
+        Object connection = createMethodCall(createFieldAccess(createVariable(psName), "getConnection"));
+        Object array = createMethodCall(createFieldAccess(connection, "createArrayOf"), createLiteral(elementType),
+                createMethodCall(createFieldAccess(createVariable(paramName), "toArray")));
+        Object setArray = createMethodCall(createFieldAccess(createVariable(psName), "setArray"),
+                createVariable(indexName), array);
+
+        List<Object> params = new ArrayList<>();
+        params.add(astHelper.createParameter(psName, createQualifiedIdent("java.sql.PreparedStatement")));
+        params.add(astHelper.createParameter(indexName, astHelper.createPrimitiveType("int")));
+        params.add(astHelper.createParameter(uniqueName("sqlType", reservedNames), astHelper.createPrimitiveType("int")));
+        params.add(astHelper.createParameter(uniqueName("typeName", reservedNames), createQualifiedIdent("java.lang.String")));
+        Object lambda = astHelper.createLambda(params, setArray);
+        astHelper.nextPosition();
+        return astHelper.createLocalVariable(arrayName,
+                createQualifiedIdent("org.springframework.jdbc.core.SqlTypeValue"), lambda);
+    }
+
+    private String uniqueName(String baseName, List<String> takenNames) {
+        String name = baseName;
+        while (takenNames.contains(name)) {
+            name = name + "_";
+        }
+        return name;
     }
 
     /**
@@ -289,71 +342,55 @@ public class ParameterProcessor {
 
 
     private Object createQualifiedIdent(String qualifiedName) throws Exception {
-        return astHelper.getClass().getMethod("createQualifiedIdent", String.class).invoke(astHelper, qualifiedName);
+        return astHelper.createQualifiedIdent(qualifiedName);
     }
 
     private Object createNewInstance(Object type) throws Exception {
-        return astHelper.getClass().getMethod("createNewInstance", Object.class).invoke(astHelper, type);
+        return astHelper.createNewInstance(type);
     }
 
     private Object createVariable(String name, Object type) throws Exception {
-        return astHelper.getClass().getMethod("createVariable", String.class, Object.class).invoke(astHelper, name, type);
+        return astHelper.createVariable(name, type);
     }
 
     private Object createVariable(String name) throws Exception {
-        return astHelper.getClass().getMethod("createVariable", String.class).invoke(astHelper, name);
+        return astHelper.createVariable(name);
     }
 
     private Object createAssignment(Object left, Object right) throws Exception {
-        return astHelper.getClass().getMethod("createAssignment", Object.class, Object.class).invoke(astHelper, left, right);
+        return astHelper.createAssignment(left, right);
     }
 
     private Object createBlock(List<Object> statements) throws Exception {
-        return astHelper.getClass().getMethod("createBlock", List.class).invoke(astHelper, statements);
+        return astHelper.createBlock(statements);
     }
 
     private Object createLiteral(Object value) throws Exception {
-        return astHelper.getClass().getMethod("createLiteral", Object.class).invoke(astHelper, value);
+        return astHelper.createLiteral(value);
     }
 
     private Object createMethodCall(Object method, Object... args) throws Exception {
-        return astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class).invoke(astHelper, method, args);
+        return astHelper.createMethodCall(method, args);
     }
 
     private Object createFieldAccess(Object base, String fieldName) throws Exception {
-        return astHelper.getClass().getMethod("createFieldAccess", Object.class, String.class).invoke(astHelper, base, fieldName);
+        return astHelper.createFieldAccess(base, fieldName);
     }
 
     private Object createFieldAccess(String baseName, String fieldName) throws Exception {
-        return astHelper.getClass().getMethod("createFieldAccess", String.class, String.class).invoke(astHelper, baseName, fieldName);
+        return astHelper.createFieldAccess(baseName, fieldName);
     }
 
     private Object createExpressionStatement(Object expr) throws Exception {
-        return astHelper.getClass().getMethod("createExpressionStatement", Object.class).invoke(astHelper, expr);
-    }
-
-    private Object createNewStringBuilder(String initialValue) throws Exception {
-        return astHelper.getClass().getMethod("createNewStringBuilder", String.class).invoke(astHelper, initialValue);
-    }
-
-    private Object createUnaryExpression(String operator, Object operand) throws Exception {
-        return astHelper.getClass().getMethod("createUnaryExpression", String.class, Object.class).invoke(astHelper, operator, operand);
+        return astHelper.createExpressionStatement(expr);
     }
 
     private Object createBinaryExpression(Object left, String operator, Object right) throws Exception {
-        return astHelper.getClass().getMethod("createBinaryExpression", Object.class, String.class, Object.class).invoke(astHelper, left, operator, right);
-    }
-
-    private Object createIfStatement(Object condition, Object thenStatement) throws Exception {
-        return astHelper.getClass().getMethod("createIfStatement", Object.class, Object.class).invoke(astHelper, condition, thenStatement);
-    }
-
-    private Object createForStatement(Object init, Object condition, Object update, Object body) throws Exception {
-        return astHelper.getClass().getMethod("createForStatement", Object.class, Object.class, Object.class, Object.class).invoke(astHelper, init, condition, update, body);
+        return astHelper.createBinaryExpression(left, operator, right);
     }
 
     private Object createArrayInitializer(String elementType, List<Object> elements) throws Exception {
-        return astHelper.getClass().getMethod("createArrayInitializer", String.class, List.class).invoke(astHelper, elementType, elements);
+        return astHelper.createArrayInitializer(elementType, elements);
     }
 
     /**
@@ -1,9 +1,14 @@
 package io.github.simplesqlgen.processor.query;
 
 import io.github.simplesqlgen.enums.ResultMappingType;
+import io.github.simplesqlgen.processor.ast.ReflectionCache;
+import io.github.simplesqlgen.processor.ast.TreeBuilder;
+import io.github.simplesqlgen.processor.param.ParameterProcessor.ParameterInfo;
 
 import javax.lang.model.element.ExecutableElement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Query execution code generator
@@ -11,12 +16,25 @@ import java.util.List;
  */
 public class QueryExecutor {
     
-    private Object astHelper;
+    private TreeBuilder astHelper;
+    private int fetchSize = 1000;
+    private boolean sqlConstants = true;
 
-    public QueryExecutor(Object astHelper) {
+    public QueryExecutor(TreeBuilder astHelper) {
         this.astHelper = astHelper;
     }
 
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Hoist native SQL into private static final constants named after the method (on by default)
+     */
+    public void setSqlConstants(boolean sqlConstants) {
+        this.sqlConstants = sqlConstants;
+    }
+
     /**
      * Create Named Parameter query execution
      */
@@ -25,7 +43,7 @@ public class QueryExecutor {
                                                     String resultTypeClass, String columnMapping,
                                                     List<?> methodParams, boolean isVoid) throws Exception {
         
-        Object sqlLiteral = createLiteral(sql);
+        Object sqlLiteral = createSqlConstant(sql, methodElement);
         Object namedJdbcTemplateAccess = createFieldAccess("this", "namedParameterJdbcTemplate");
         Object paramSourceVar = createParameterSourceCreation(methodParams);
         
@@ -53,7 +71,7 @@ public class QueryExecutor {
                                                          List<?> methodParams, boolean isVoid) throws Exception {
         
         Object jdbcTemplateAccess = createFieldAccess("this", "jdbcTemplate");
-        Object sqlLiteral = createLiteral(sql);
+        Object sqlLiteral = createSqlConstant(sql, methodElement);
         
         Object queryCall;
         
@@ -84,6 +102,8 @@ public class QueryExecutor {
                 return createManualMappingQuery(namedJdbcTemplate, sqlLiteral, paramSource, resultTypeClass, columnMapping);
             case BEAN_PROPERTY:
                 return createBeanPropertyMappingQuery(namedJdbcTemplate, sqlLiteral, paramSource, resultTypeClass);
+            case CONSTRUCTOR:
+                return createConstructorMappingQuery(namedJdbcTemplate, sqlLiteral, paramSource, resultTypeClass, methodElement);
             case NESTED:
                 return createNestedMappingQuery(namedJdbcTemplate, sqlLiteral, paramSource, resultTypeClass, columnMapping);
             default:
@@ -104,7 +124,17 @@ public class QueryExecutor {
 
         String returnTypeStr = methodElement.getReturnType().toString();
 
-        if (returnTypeStr.startsWith("java.util.List")) {
+        if (returnTypeStr.startsWith("java.util.stream.Stream")) {
+            Object rowMapper = createStreamRowMapper(returnTypeStr, resultTypeClass);
+            return createMethodCall(
+                    createFieldAccess(namedJdbcTemplate, "queryForStream"),
+                    sqlLiteral,
+                    paramSource,
+                    rowMapper
+            );
+        }
+
+        else if (returnTypeStr.startsWith("java.util.List")) {
 
             if (returnTypeStr.contains("Map<String") || returnTypeStr.contains("Map<java.lang.String")) {
                 Object columnMapRowMapper = createColumnMapRowMapper();
@@ -176,6 +206,21 @@ public class QueryExecutor {
         return createMethodCall(createFieldAccess(namedJdbcTemplate, "query"), sqlLiteral, paramSource, rowMapper);
     }
 
+    /**
+     * Create constructor mapping query (records and immutable DTOs bound through their constructor)
+     */
+    public Object createConstructorMappingQuery(Object namedJdbcTemplate, Object sqlLiteral, Object paramSource,
+                                               String resultTypeClass, ExecutableElement methodElement) throws Exception {
+        String returnTypeStr = methodElement.getReturnType().toString();
+        Object rowMapper = createDataClassRowMapper(resolveElementType(returnTypeStr, resultTypeClass));
+        if (returnTypeStr.startsWith("java.util.stream.Stream")) {
+            return createMethodCall(createFieldAccess(namedJdbcTemplate, "queryForStream"), sqlLiteral, paramSource, rowMapper);
+        } else if (returnTypeStr.startsWith("java.util.List")) {
+            return createMethodCall(createFieldAccess(namedJdbcTemplate, "query"), sqlLiteral, paramSource, rowMapper);
+        }
+        return createMethodCall(createFieldAccess(namedJdbcTemplate, "queryForObject"), sqlLiteral, paramSource, rowMapper);
+    }
+
     /**
      * Create nested mapping query
      */
@@ -222,11 +267,27 @@ public class QueryExecutor {
         
         String returnTypeStr = methodElement.getReturnType().toString();
 
-        if (returnTypeStr.startsWith("java.util.List")) {
+        if (returnTypeStr.startsWith("java.util.stream.Stream")) {
+            List<Object> args = new ArrayList<>();
+            List<String> paramNames = new ArrayList<>();
+            for (Object param : methodParams) {
+                args.add(createParameterExpression(param));
+                paramNames.add(extractParamName(param));
+            }
+            Object rowMapper = mappingType == ResultMappingType.CONSTRUCTOR
+                    ? createDataClassRowMapper(resolveElementType(returnTypeStr, resultTypeClass))
+                    : createStreamRowMapper(returnTypeStr, resultTypeClass);
+            Object statementSetter = createStreamingStatementSetter(args, paramNames);
+            return createMethodCall(createFieldAccess(jdbcTemplate, "queryForStream"), sqlLiteral, statementSetter, rowMapper);
+        }
+
+        else if (returnTypeStr.startsWith("java.util.List")) {
 
             Object rowMapper;
             if (returnTypeStr.contains("Map<String") || returnTypeStr.contains("Map<java.lang.String")) {
                 rowMapper = createColumnMapRowMapper();
+            } else if (mappingType == ResultMappingType.CONSTRUCTOR) {
+                rowMapper = createDataClassRowMapper(resolveElementType(returnTypeStr, resultTypeClass));
             } else {
                 rowMapper = createBeanPropertyRowMapper(resultTypeClass);
             }
@@ -263,7 +324,9 @@ public class QueryExecutor {
                     return createTypeCastExpression(queryCall, resultTypeClass);
                 }
             } else {
-                Object rowMapper = createBeanPropertyRowMapper(resultTypeClass);
+                Object rowMapper = mappingType == ResultMappingType.CONSTRUCTOR
+                        ? createDataClassRowMapper(resolveElementType(returnTypeStr, resultTypeClass))
+                        : createBeanPropertyRowMapper(resultTypeClass);
                 Object queryCall;
                 if (methodParams.isEmpty()) {
                     queryCall = createMethodCall(createFieldAccess(jdbcTemplate, "queryForObject"), sqlLiteral, rowMapper);
@@ -309,92 +372,131 @@ public class QueryExecutor {
         for (Object param : methodParams) {
             String pName = null;
             try {
-                try { pName = (String) param.getClass().getMethod("getName").invoke(param); } catch (Exception ignore) {}
-                if (pName == null) { try { pName = (String) param.getClass().getMethod("getParamName").invoke(param); } catch (Exception ignore) {} }
-                if (pName == null) { try { pName = (String) param.getClass().getMethod("getEffectiveName").invoke(param); } catch (Exception ignore) {} }
+                try { pName = (String) ReflectionCache.getMethod(param.getClass(), "getName").invoke(param); } catch (Exception ignore) {}
+                if (pName == null) { try { pName = (String) ReflectionCache.getMethod(param.getClass(), "getParamName").invoke(param); } catch (Exception ignore) {} }
+                if (pName == null) { try { pName = (String) ReflectionCache.getMethod(param.getClass(), "getEffectiveName").invoke(param); } catch (Exception ignore) {} }
             } catch (Exception ignore) {}
             if (pName == null) continue;
+            String bindName = param instanceof ParameterInfo ? ((ParameterInfo) param).getParamName() : null;
             Object addValueAccess = createFieldAccess(chained, "addValue");
-            Object nameLiteral = createLiteral(pName);
-            Object nameIdent = astHelper.getClass().getMethod("createIdent", String.class).invoke(astHelper, pName);
+            Object nameLiteral = createLiteral(bindName != null ? bindName : pName);
+            Object nameIdent = astHelper.createIdent(pName);
             chained = createMethodCall(addValueAccess, nameLiteral, nameIdent);
         }
         
         return chained;
     }
 
+    /**
+     * Create RowMapper for Stream&lt;T&gt; results (T taken from the return type when no resultType is given)
+     */
+    private Object createStreamRowMapper(String returnTypeStr, String resultTypeClass) throws Exception {
+        if (returnTypeStr.contains("Map<String") || returnTypeStr.contains("Map<java.lang.String")) {
+            return createColumnMapRowMapper();
+        }
+        return createBeanPropertyRowMapper(resolveElementType(returnTypeStr, resultTypeClass));
+    }
+
+    /**
+     * Row type for mappers: the resultType, or T of List/Stream/Optional&lt;T&gt; when resultType defaulted to the return type
+     */
+    private String resolveElementType(String returnTypeStr, String resultTypeClass) {
+        if (resultTypeClass != null && !resultTypeClass.startsWith("java.util.stream.Stream")
+                && !resultTypeClass.startsWith("java.util.List") && !resultTypeClass.startsWith("java.util.Optional")) {
+            return resultTypeClass;
+        }
+        int start = returnTypeStr.indexOf('<');
+        int end = returnTypeStr.lastIndexOf('>');
+        return start >= 0 && end > start ? returnTypeStr.substring(start + 1, end) : "Object";
+    }
+
+    private Object createStreamingStatementSetter(List<Object> args, List<String> reservedNames) throws Exception {
+        return astHelper.createStreamingStatementSetter(fetchSize, args, reservedNames);
+    }
+
     /**
      * Create BeanPropertyRowMapper
      */
     private Object createBeanPropertyRowMapper(String resultTypeClass) throws Exception {
-        return astHelper.getClass().getMethod("createBeanPropertyRowMapper", String.class)
-                .invoke(astHelper, resultTypeClass);
+        return astHelper.createBeanPropertyRowMapper(resultTypeClass);
+    }
+
+    /**
+     * Create DataClassRowMapper (constructor binding by column name)
+     */
+    private Object createDataClassRowMapper(String resultTypeClass) throws Exception {
+        return astHelper.createDataClassRowMapper(resultTypeClass);
     }
 
     private Object createNewClass(Object type, Object[] args) throws Exception {
-        return astHelper.getClass().getMethod("createNewClass", Object.class, Object[].class)
-                .invoke(astHelper, type, args);
+        return astHelper.createNewClass(type, args);
     }
 
     /**
      * Create ColumnMapRowMapper
      */
     private Object createColumnMapRowMapper() throws Exception {
-        Object columnMapRowMapperType = createQualifiedIdent("org.springframework.jdbc.core.ColumnMapRowMapper");
-        return createNewInstance(columnMapRowMapperType);
+        return astHelper.createColumnMapRowMapper();
     }
 
     // Helper methods - delegate to ASTHelper
     private Object createLiteral(String value) throws Exception {
-        return astHelper.getClass().getMethod("createLiteral", String.class).invoke(astHelper, value);
+        return astHelper.createLiteral(value);
+    }
+
+    private Object createSqlConstant(String sql, ExecutableElement methodElement) throws Exception {
+        if (!sqlConstants || methodElement == null) {
+            return createLiteral(sql);
+        }
+        String methodName = methodElement.getSimpleName().toString();
+        String fieldName = astHelper.registerStaticField("Sql:" + sql,
+                methodName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT) + "_SQL",
+                createQualifiedIdent("java.lang.String"), createLiteral(sql));
+        return astHelper.createIdent(fieldName);
     }
 
     private Object createFieldAccess(Object base, String fieldName) throws Exception {
-        return astHelper.getClass().getMethod("createFieldAccess", Object.class, String.class)
-                .invoke(astHelper, base, fieldName);
+        return astHelper.createFieldAccess(base, fieldName);
     }
     
     private Object createFieldAccess(String baseName, String fieldName) throws Exception {
-        return astHelper.getClass().getMethod("createFieldAccess", String.class, String.class)
-                .invoke(astHelper, baseName, fieldName);
+        return astHelper.createFieldAccess(baseName, fieldName);
     }
 
     private Object createMethodCall(Object method, Object... args) throws Exception {
-        return astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                .invoke(astHelper, method, args);
+        return astHelper.createMethodCall(method, args);
     }
 
     private Object createReturnStatement(Object expr) throws Exception {
-        return astHelper.getClass().getMethod("createReturnStatement", Object.class).invoke(astHelper, expr);
+        return astHelper.createReturnStatement(expr);
     }
     
     private Object createExpressionStatement(Object expr) throws Exception {
-        return astHelper.getClass().getMethod("createExpressionStatement", Object.class).invoke(astHelper, expr);
+        return astHelper.createExpressionStatement(expr);
     }
 
     private Object createVariable(String name, String type) throws Exception {
-        return astHelper.getClass().getMethod("createVariable", String.class, String.class)
-                .invoke(astHelper, name, type);
+        return astHelper.createVariable(name, type);
     }
 
     private Object createNewInstance(Object type) throws Exception {
-        return astHelper.getClass().getMethod("createNewInstance", Object.class).invoke(astHelper, type);
+        return astHelper.createNewInstance(type);
     }
 
     private Object createQualifiedIdent(String qualifiedName) throws Exception {
-        return astHelper.getClass().getMethod("createQualifiedIdent", String.class).invoke(astHelper, qualifiedName);
+        return astHelper.createQualifiedIdent(qualifiedName);
     }
 
     private Object createNewStringBuilder(String initialValue) throws Exception {
-        return astHelper.getClass().getMethod("createNewStringBuilder", String.class).invoke(astHelper, initialValue);
+        return astHelper.createNewStringBuilder(initialValue);
     }
 
     private Object createClassLiteral(String className) throws Exception {
-        return astHelper.getClass().getMethod("createClassLiteral", String.class).invoke(astHelper, className);
+        return astHelper.createClassLiteral(className);
     }
 
     private Object createParameterArray(List<?> methodParams) throws Exception {
-        return astHelper.getClass().getMethod("createParameterArray", List.class).invoke(astHelper, methodParams);
+        return astHelper.createParameterArray(methodParams);
     }
     
     /**
@@ -413,9 +515,9 @@ public class QueryExecutor {
         }
         
         try {
-            try { return (String) param.getClass().getMethod("getName").invoke(param); } catch (Exception ignore) {}
-            try { return (String) param.getClass().getMethod("getParamName").invoke(param); } catch (Exception ignore) {}
-            try { return (String) param.getClass().getMethod("getEffectiveName").invoke(param); } catch (Exception ignore) {}
+            try { return (String) ReflectionCache.getMethod(param.getClass(), "getName").invoke(param); } catch (Exception ignore) {}
+            try { return (String) ReflectionCache.getMethod(param.getClass(), "getParamName").invoke(param); } catch (Exception ignore) {}
+            try { return (String) ReflectionCache.getMethod(param.getClass(), "getEffectiveName").invoke(param); } catch (Exception ignore) {}
         } catch (Exception ignore) {}
         return "param";
     }
@@ -424,11 +526,11 @@ public class QueryExecutor {
         if (param == null) return "Object";
         try {
             try { 
-                Object type = param.getClass().getMethod("getType").invoke(param);
+                Object type = ReflectionCache.getMethod(param.getClass(), "getType").invoke(param);
                 if (type != null) return type.toString();
             } catch (Exception ignore) {}
             try { 
-                Object type = param.getClass().getMethod("getParamType").invoke(param);
+                Object type = ReflectionCache.getMethod(param.getClass(), "getParamType").invoke(param);
                 if (type != null) return type.toString();
             } catch (Exception ignore) {}
         } catch (Exception ignore) {}
@@ -436,30 +538,27 @@ public class QueryExecutor {
     }
     
     private Object createArrayInitializer(String elementType, List<Object> elements) throws Exception {
-        return astHelper.getClass().getMethod("createArrayInitializer", String.class, List.class)
-                .invoke(astHelper, elementType, elements);
+        return astHelper.createArrayInitializer(elementType, elements);
     }
     
     private Object createIdent(String name) throws Exception {
-        return astHelper.getClass().getMethod("createIdent", String.class).invoke(astHelper, name);
+        return astHelper.createIdent(name);
     }
 
     private Object createAddValueStatement(Object param) throws Exception {
-        return astHelper.getClass().getMethod("createAddValueStatement", Object.class).invoke(astHelper, param);
+        return astHelper.createAddValueStatement(param);
     }
 
     private Object createCollectionProcessing(Object param) throws Exception {
-        return astHelper.getClass().getMethod("createCollectionProcessing", Object.class).invoke(astHelper, param);
+        return astHelper.createCollectionProcessing(param);
     }
 
     private Object createManualRowMapper(String resultTypeClass, String columnMapping) throws Exception {
-        return astHelper.getClass().getMethod("createManualRowMapper", String.class, String.class)
-                .invoke(astHelper, resultTypeClass, columnMapping);
+        return astHelper.createManualRowMapper(resultTypeClass, columnMapping);
     }
 
     private Object createNestedRowMapper(String resultTypeClass, String columnMapping) throws Exception {
-        return astHelper.getClass().getMethod("createNestedRowMapper", String.class, String.class)
-                .invoke(astHelper, resultTypeClass, columnMapping);
+        return astHelper.createNestedRowMapper(resultTypeClass, columnMapping);
     }
 
     // Utility methods
@@ -490,8 +589,7 @@ public class QueryExecutor {
         
         try {
             Object targetTypeExpr = createQualifiedIdent(targetType);
-            return astHelper.getClass().getMethod("createTypeCast", Object.class, Object.class)
-                    .invoke(astHelper, targetTypeExpr, expression);
+            return astHelper.createTypeCast(targetTypeExpr, expression);
         } catch (Exception e) {
             return expression;
         }
@@ -0,0 +1,73 @@
+package io.github.simplesqlgen.processor.sql;
+
+import io.github.simplesqlgen.processor.param.ParameterProcessor.ParameterInfo;
+
+import javax.lang.model.element.ExecutableElement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed SQL and parameter analysis for one @SqlGenerator class
+ * Filled off the compiler thread when parallel processing is enabled and consulted while
+ * the method bodies are generated; anything missing is computed inline as usual
+ */
+public class QueryPlan {
+
+    private final Map<String, String> sql = new HashMap<>();
+    private final Map<ExecutableElement, List<ParameterInfo>> parameters = new HashMap<>();
+    private final Map<String, List<String>> namedParameters = new HashMap<>();
+    private final Map<String, Integer> placeholderCounts = new HashMap<>();
+    private long planningNanos;
+
+    /**
+     * Key of a derived finder: its SQL depends on the selected fields and on whether a
+     * trailing parameter is bound as the page size
+     */
+    static String findKey(String methodName, List<String> fields, int bindableParams, String lastParamType) {
+        return methodName + "|" + String.join(",", fields) + "|" + bindableParams + "|" + lastParamType;
+    }
+
+    public String getSql(String key) {
+        return sql.get(key);
+    }
+
+    public void putSql(String key, String value) {
+        sql.put(key, value);
+    }
+
+    public List<ParameterInfo> getParameters(ExecutableElement methodElement) {
+        return parameters.get(methodElement);
+    }
+
+    public void putParameters(ExecutableElement methodElement, List<ParameterInfo> methodParams) {
+        parameters.put(methodElement, methodParams);
+    }
+
+    public List<String> getNamedParameters(String nativeSql) {
+        return namedParameters.get(nativeSql);
+    }
+
+    public void putNamedParameters(String nativeSql, List<String> names) {
+        namedParameters.put(nativeSql, names);
+    }
+
+    public Integer getPlaceholderCount(String nativeSql) {
+        return placeholderCounts.get(nativeSql);
+    }
+
+    public void putPlaceholderCount(String nativeSql, int count) {
+        placeholderCounts.put(nativeSql, count);
+    }
+
+    /**
+     * Time the planner thread spent on this class, reported with -Asimplesqlgen.stats
+     */
+    public long getPlanningNanos() {
+        return planningNanos;
+    }
+
+    public void setPlanningNanos(long planningNanos) {
+        this.planningNanos = planningNanos;
+    }
+}
\ No newline at end of file
@@ -1,10 +1,18 @@
 package io.github.simplesqlgen.processor.sql;
 
 import io.github.simplesqlgen.enums.NamingStrategy;
+import io.github.simplesqlgen.processor.SqlProcessor.EntityInfo;
+import io.github.simplesqlgen.processor.ast.TreeBuilder;
+import io.github.simplesqlgen.processor.param.ParameterProcessor;
+import io.github.simplesqlgen.processor.param.ParameterProcessor.ParameterInfo;
+import io.github.simplesqlgen.processor.sql.dialect.Dialect;
+import io.github.simplesqlgen.processor.sql.dialect.Dialects;
 
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.type.TypeMirror;
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Helper class responsible for SQL generation
@@ -13,14 +21,158 @@ import java.util.*;
 public class SqlGenerator {
 
     private NamingStrategy namingStrategy = NamingStrategy.SNAKE_CASE;
+    private Dialect dialect = Dialects.getDefault();
+    private String entityRowMapperField;
+    private int batchSize = 1000;
+    private int fetchSize = 1000;
+    private int inChunkSize;
+    private int inChunkParallelism = 1;
+    private boolean sqlConstants = true;
+    private boolean inListShapes;
+    private String sqlConstantName = "SQL";
+    private List<String> selectFields = new ArrayList<>();
+    private QueryPlan queryPlan = new QueryPlan();
+    private Map<String, String> entityGetters = new HashMap<>();
+    private Map<String, String> columnNames = new HashMap<>();
+    private String idField = "id";
+    private String lastSql;
 
     public void setNamingStrategy(NamingStrategy strategy) {
         if (strategy != null) this.namingStrategy = strategy;
     }
 
-    private String mapColumnName(String fieldName) {
+    public void setDialect(Dialect dialect) {
+        if (dialect != null) this.dialect = dialect;
+    }
+
+    public Dialect getDialect() {
+        return dialect;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize > 0) this.batchSize = batchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Hoist generated SQL into private static final constants (on by default)
+     */
+    public void setSqlConstants(boolean sqlConstants) {
+        this.sqlConstants = sqlConstants;
+    }
+
+    /**
+     * Hold the padded shapes of single IN list statements in InListSql constants (off by default, since
+     * the generated class then needs this library at run time)
+     */
+    public void setInListShapes(boolean inListShapes) {
+        this.inListShapes = inListShapes;
+    }
+
+    /**
+     * Name the SQL constants of the next statements after the repository method (null for a generic name)
+     */
+    public void setCurrentMethod(String methodName) {
+        this.sqlConstantName = methodName != null
+                ? methodName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT) + "_SQL" : "SQL";
+    }
+
+    /**
+     * Split IN collections into chunks of at most chunkSize values (capped at the dialect's IN list limit)
+     * run on up to parallelism threads; 0 leaves them unchunked
+     */
+    public void setInChunking(int chunkSize, int parallelism) {
+        this.inChunkSize = Math.max(0, chunkSize);
+        this.inChunkParallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Set entity fields projected by generated finders (empty falls back to SELECT *)
+     */
+    public void setSelectFields(List<String> fields) {
+        this.selectFields = fields != null ? fields : new ArrayList<>();
+    }
+
+    /**
+     * Set the entity's actual getter names by field (missing fields use the naming heuristics)
+     */
+    public void setEntityGetters(Map<String, String> getters) {
+        this.entityGetters = getters != null ? getters : new HashMap<>();
+    }
+
+    /**
+     * Set the entity's precomputed column names by field for the current naming strategy
+     */
+    public void setColumnNames(Map<String, String> columnNames) {
+        this.columnNames = columnNames != null ? columnNames : new HashMap<>();
+    }
+
+    /**
+     * Set the entity's id field (null when it has none)
+     */
+    public void setIdField(String idField) {
+        this.idField = idField;
+    }
+
+    /**
+     * Set SQL precomputed for the current class (null clears it)
+     */
+    public void setQueryPlan(QueryPlan queryPlan) {
+        this.queryPlan = queryPlan != null ? queryPlan : new QueryPlan();
+    }
+
+    /**
+     * SQL of the most recently generated statement, or null after {@link #clearLastSql()}
+     */
+    public String getLastSql() {
+        return lastSql;
+    }
+
+    public void clearLastSql() {
+        this.lastSql = null;
+    }
+
+    /**
+     * Copy of the SQL-affecting settings, for planning queries on another thread
+     */
+    public SqlGenerator copy() {
+        SqlGenerator copy = new SqlGenerator();
+        copy.namingStrategy = namingStrategy;
+        copy.dialect = dialect;
+        copy.batchSize = batchSize;
+        copy.fetchSize = fetchSize;
+        copy.inChunkSize = inChunkSize;
+        copy.inChunkParallelism = inChunkParallelism;
+        copy.sqlConstants = sqlConstants;
+        copy.inListShapes = inListShapes;
+        copy.selectFields = selectFields;
+        copy.entityGetters = entityGetters;
+        copy.columnNames = columnNames;
+        copy.idField = idField;
+        return copy;
+    }
+
+    /**
+     * Set generated entity RowMapper constant (null falls back to BeanPropertyRowMapper)
+     */
+    public void setEntityRowMapperField(String fieldName) {
+        this.entityRowMapperField = fieldName;
+    }
+
+    public String mapColumnName(String fieldName) {
+        String column = fieldName != null ? columnNames.get(fieldName) : null;
+        return column != null ? column : toColumnName(fieldName, namingStrategy);
+    }
+
+    /**
+     * Column name of a field under the naming strategy, ignoring any precomputed names
+     */
+    public static String toColumnName(String fieldName, NamingStrategy namingStrategy) {
         if (fieldName == null || fieldName.isEmpty()) return fieldName;
-        switch (this.namingStrategy) {
+        switch (namingStrategy) {
             case CAMEL_CASE:
                 return fieldName;
             case PASCAL_CASE:
@@ -37,34 +189,345 @@ public class SqlGenerator {
     private static final Set<String> COMPARISON_OPERATORS = new HashSet<>(Arrays.asList(
         "Equal", "NotEqual", "GreaterThan", "GreaterThanEqual", "LessThan", "LessThanEqual",
         "Like", "NotLike", "In", "NotIn", "IsNull", "IsNotNull", "Between", "NotBetween",
-        "Containing", "NotContaining", "StartingWith", "EndingWith", "IgnoreCase"
+        "Containing", "NotContaining", "StartingWith", "EndingWith", "IgnoreCase", "After", "Before"
     ));
+    private static final Pattern DERIVED_FIND_PATTERN = Pattern.compile("^find(\\w*?)By([A-Z].*)$");
+    private static final Pattern LIMITED_FIND_PATTERN = Pattern.compile("^find(?:Top|First)(\\d*)By.*");
+    private static final Pattern ORDER_BY_PATTERN = Pattern.compile("(.+?)(Asc|Desc)(?=[A-Z]|$)");
+    private static final Pattern IN_LIST_PREFIX = Pattern.compile("([\\w.\"`]+)\\s+(NOT\\s+)?IN\\s*\\(\\s*$",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern IN_LIST_SUFFIX = Pattern.compile("\\s*\\)");
+    private static final Pattern ORDERED_OR_LIMITED = Pattern.compile(
+            "\\b(?:ORDER\\s+BY|LIMIT|OFFSET|FETCH\\s+(?:FIRST|NEXT)|TOP|ROWNUM)\\b", Pattern.CASE_INSENSITIVE);
     
     /**
      * Create Find method implementation with validation
      */
     public Object createFindByImplementationWithValidation(String methodName, String entityName, String entityFqn, 
-                                                         String tableName, Object entityInfo, ExecutableElement methodElement,
-                                                         Object astHelper) throws Exception {
-        QueryMethodInfo info = parseQueryMethodName(methodName);
+                                                         String tableName, EntityInfo entityInfo, ExecutableElement methodElement,
+                                                         TreeBuilder astHelper) throws Exception {
+        String sql = findSql(methodName, tableName, selectFields, methodElement, methodElement.getParameters().size());
+        return createQueryImplementation(sql, methodElement, entityFqn, astHelper);
+    }
+
+    /**
+     * Create find implementation returning a projection (record, DTO or interface):
+     * only the projection's properties are selected and rows go through the given mapper
+     */
+    public Object createProjectionQueryImplementation(String methodName, String projectionFqn, List<String> properties,
+                                                      Object rowMapper, String tableName, ExecutableElement methodElement,
+                                                      TreeBuilder astHelper) throws Exception {
+        String sql = findSql(methodName, tableName, properties, methodElement, methodElement.getParameters().size());
+        return createQueryImplementation(sql, methodElement, projectionFqn, rowMapper, astHelper);
+    }
+
+    /**
+     * Check if the method name is a derived finder (findAll, findBy..., findTop10By..., findSummaryBy...)
+     */
+    public boolean isDerivedFindMethod(String methodName) {
+        return methodName.startsWith("findAll") || DERIVED_FIND_PATTERN.matcher(methodName).matches();
+    }
+
+    /**
+     * Create callback query implementation for find methods whose last parameter is a
+     * Consumer&lt;T&gt; or RowCallbackHandler: rows are pushed to the callback instead of collected
+     */
+    public Object createCallbackQueryImplementation(String methodName, String entityFqn, String tableName,
+                                                    ExecutableElement methodElement, TreeBuilder astHelper) throws Exception {
+        List<? extends javax.lang.model.element.VariableElement> params = methodElement.getParameters();
+        String sql = "findAll".equals(methodName)
+                ? selectFrom(tableName)
+                : findSql(methodName, tableName, selectFields, methodElement, params.size() - 1);
         
-        for (String field : info.getFields()) {
-            if (!isValidEntityField(entityInfo, field)) {
+        javax.lang.model.element.VariableElement callbackParam = params.get(params.size() - 1);
+        String callbackType = callbackParam.asType().toString();
+        String callbackName = callbackParam.getSimpleName().toString();
+        
+        List<String> paramNames = new ArrayList<>();
+        for (javax.lang.model.element.VariableElement param : params) {
+            paramNames.add(param.getSimpleName().toString());
+        }
+        
+        Object handler;
+        if (callbackType.startsWith("java.util.function.Consumer")) {
+            handler = createConsumerRowCallback(callbackName, callbackType, entityFqn, paramNames, astHelper);
+        } else {
+            handler = astHelper.createIdent(callbackName);
+        }
+        
+        InListBinding inLists = bindInLists(sql, methodElement, params.size() - 1, false, astHelper);
+        List<Object> queryArgs = new ArrayList<>();
+        queryArgs.add(inLists != null ? inLists.sql : createSqlLiteral(sql, astHelper));
+        queryArgs.add(handler);
+        if (inLists != null) {
+            queryArgs.add(inLists.args);
+        } else {
+            for (int i = 0; i < params.size() - 1; i++) {
+                queryArgs.add(astHelper.createIdent(paramNames.get(i)));
             }
         }
         
-        String sql = generateAdvancedDynamicSQL(info, tableName);
-        return createQueryImplementation(sql, methodElement, entityFqn, astHelper);
+        Object jdbcTemplateAccess = astHelper.createFieldAccess("this", "jdbcTemplate");
+        Object queryMethod = astHelper.createFieldAccess(jdbcTemplateAccess, "query");
+        Object queryCall = astHelper.createMethodCall(queryMethod, queryArgs.toArray());
+        return withInLists(inLists, queryCall, true, "query", astHelper);
+    }
+
+    /**
+     * (java.sql.ResultSet rs) -&gt; { consumer.accept(ROW_MAPPER.mapRow(rs, 0)); }
+     * Generated and bean property mappers ignore the row number, so no counter is kept
+     */
+    private Object createConsumerRowCallback(String consumerName, String consumerType, String entityFqn,
+                                             List<String> paramNames, TreeBuilder astHelper) throws Exception {
+        String rsName = uniqueName("rs", paramNames);
+        astHelper.nextPosition();
+        
+        Object rowMapper;
+        if (consumerType.contains("Map<String, Object>") || consumerType.contains("Map<java.lang.String,java.lang.Object>")
+                || consumerType.contains("Map<java.lang.String, java.lang.Object>")) {
+            rowMapper = astHelper.createColumnMapRowMapper();
+        } else {
+            rowMapper = createEntityRowMapper(entityFqn, astHelper);
+        }
+        
+        Object rsIdent = astHelper.createIdent(rsName);
+        Object zero = astHelper.createLiteral(0);
+        Object mapRow = astHelper.createFieldAccess(rowMapper, "mapRow");
+        Object mappedRow = astHelper.createMethodCall(mapRow, new Object[]{rsIdent, zero});
+        Object accept = astHelper.createFieldAccess(astHelper.createIdent(consumerName), "accept");
+        Object acceptCall = astHelper.createMethodCall(accept, new Object[]{mappedRow});
+        
+        List<Object> statements = new ArrayList<>();
+        statements.add(astHelper.createExpressionStatement(acceptCall));
+        Object body = astHelper.createBlock(statements);
+        
+        List<Object> lambdaParams = new ArrayList<>();
+        Object rsType = astHelper.createQualifiedIdent("java.sql.ResultSet");
+        lambdaParams.add(astHelper.createParameter(rsName, rsType));
+        Object lambda = astHelper.createLambda(lambdaParams, body);
+        astHelper.nextPosition();
+        return lambda;
     }
 
     /**
      * Create Save method implementation (with entity)
      */
-    public Object createSaveImplementationWithEntity(String entityName, String tableName, Object entityInfo, 
-                                                    ExecutableElement methodElement, Object astHelper) throws Exception {
+    public Object createSaveImplementationWithEntity(String entityName, String tableName, EntityInfo entityInfo, 
+                                                    ExecutableElement methodElement, TreeBuilder astHelper) throws Exception {
+        List<String> fields = getEntityFields(entityInfo);
+        String keyType = getGeneratedKeyType(entityInfo);
+        List<? extends javax.lang.model.element.VariableElement> params = methodElement.getParameters();
+        if (keyType != null && params.size() == 1 && isEntityParameter(params.get(0))) {
+            return createGeneratedKeySaveImplementation(tableName, fields, keyType,
+                    entityInfo.getSetters().get(entityInfo.getIdField()), methodElement, astHelper);
+        }
+        return createUpdateImplementation(buildInsertSql(tableName, fields), methodElement, fields, astHelper);
+    }
+
+    /**
+     * Create batch Save method implementation (saveAll(Collection&lt;Entity&gt;))
+     */
+    public Object createBatchSaveImplementation(String entityFqn, String tableName, EntityInfo entityInfo,
+                                                ExecutableElement methodElement, TreeBuilder astHelper) throws Exception {
         List<String> fields = getEntityFields(entityInfo);
+        return createBatchUpdateImplementation(buildInsertSql(tableName, fields), entityFqn, fields,
+                methodElement, astHelper);
+    }
+
+    /**
+     * Create batch Update method implementation (updateAll(Collection&lt;Entity&gt;))
+     */
+    public Object createBatchUpdateImplementation(String entityFqn, String tableName, EntityInfo entityInfo,
+                                                  ExecutableElement methodElement, TreeBuilder astHelper) throws Exception {
+        List<String> fields = getEntityFields(entityInfo);
+        return createBatchUpdateImplementation(buildUpdateSql(tableName, fields), entityFqn, fields,
+                methodElement, astHelper);
+    }
+
+    /**
+     * Create Upsert method implementation (upsert(Entity) / saveOrUpdate(Entity)) using the dialect's native form
+     */
+    public Object createUpsertImplementation(String tableName, EntityInfo entityInfo, ExecutableElement methodElement,
+                                             TreeBuilder astHelper) throws Exception {
+        List<String> fields = getEntityFields(entityInfo);
+        if (!hasIdField(fields)) {
+            throw new IllegalStateException("Upsert requires an id field on the entity");
+        }
+        List<String> columns = new ArrayList<>();
+        for (String field : fields) {
+            columns.add(columnName(field));
+        }
+        String sql = dialect.getUpsertSql(quoteTable(tableName), columns, columnName(idField));
+        if (sql == null) {
+            throw new IllegalStateException("Dialect '" + dialect.getName()
+                    + "' has no upsert support; set -Asimplesqlgen.dialect");
+        }
+        return createUpdateImplementation(sql, methodElement, fields, astHelper);
+    }
+
+    /**
+     * Wrapper type of a database-generated id (Long/Integer id with a setter), or null when ids are assigned by the caller
+     */
+    private String getGeneratedKeyType(EntityInfo entityInfo) {
+        String id = entityInfo.getIdField();
+        String idType = id != null ? entityInfo.getFieldTypes().get(id) : null;
+        if (entityInfo.getSetters().containsKey(id) && ("java.lang.Long".equals(idType) || "java.lang.Integer".equals(idType))) {
+            return idType;
+        }
+        return null;
+    }
+
+    /**
+     * Save with database-generated id, in a single statement:
+     * entities that already carry an id are inserted as-is; otherwise the id column is omitted and the key is read
+     * back through INSERT ... RETURNING (dialects that support it) or a KeyHolder, then set on the entity.
+     */
+    private Object createGeneratedKeySaveImplementation(String tableName, List<String> fields, String keyType, String idSetter,
+                                                        ExecutableElement methodElement, TreeBuilder astHelper) throws Exception {
+        String entityName = methodElement.getParameters().get(0).getSimpleName().toString();
+        List<String> takenNames = new ArrayList<>();
+        takenNames.add(entityName);
+        String returnTypeStr = methodElement.getReturnType().toString();
+        boolean returnsCount = "int".equals(returnTypeStr) || "java.lang.Integer".equals(returnTypeStr);
+        boolean returnsVoid = "void".equals(returnTypeStr);
+        
+        List<String> generatedFields = new ArrayList<>(fields);
+        generatedFields.remove(idField);
+        // One column name for both paths: quoted in SQL, passed as-is to prepareStatement since drivers resolve it themselves
+        String keyColumn = mapColumnName(idField);
+        
+        List<Object> statements = new ArrayList<>();
+        
+        // if (entity.getId() != null) { jdbcTemplate.update(INSERT with id, ...); return ...; }
+        Object assignedInsert = astHelper.createMethodCall(createJdbcTemplateMethod("update", astHelper), new Object[]{
+                        createSqlLiteral(buildInsertSql(tableName, fields), astHelper),
+                        createGetterArray(entityName, fields, astHelper)});
+        List<Object> assignedStatements = new ArrayList<>();
+        if (returnsCount) {
+            assignedStatements.add(astHelper.createReturnStatement(assignedInsert));
+        } else {
+            assignedStatements.add(astHelper.createExpressionStatement(assignedInsert));
+            assignedStatements.add(createSaveReturn(entityName, returnsVoid, astHelper));
+        }
+        Object idCheck = astHelper.createBinaryExpression(createGetterCall(entityName, getBooleanAwareGetter(idField), astHelper), "!=",
+                        astHelper.createLiteral((Object) null));
+        statements.add(astHelper.createIfStatement(idCheck, astHelper.createBlock(assignedStatements)));
+        
+        String insertSql = buildInsertSql(tableName, generatedFields);
+        if (dialect.supportsReturning() && !returnsCount) {
+            // entity.setId(jdbcTemplate.queryForObject(INSERT ... RETURNING id, Long.class, ...));
+            Object keyQuery = astHelper.createMethodCall(createJdbcTemplateMethod("queryForObject", astHelper), new Object[]{
+                            createSqlLiteral(insertSql + dialect.getReturningClause(List.of(dialect.quoteIdentifier(keyColumn))), astHelper),
+                            astHelper.createClassLiteral(keyType),
+                            createGetterArray(entityName, generatedFields, astHelper)});
+            statements.add(createSetIdStatement(entityName, idSetter, keyQuery, astHelper));
+            if (!returnsVoid) {
+                statements.add(createSaveReturn(entityName, false, astHelper));
+            }
+            return astHelper.createBlock(statements);
+        }
         
-        StringBuilder sql = new StringBuilder("INSERT INTO ").append(tableName).append(" (");
+        // KeyHolder keyHolder = new GeneratedKeyHolder();
+        String keyHolderName = uniqueName("keyHolder", takenNames);
+        statements.add(astHelper.createLocalVariable(keyHolderName,
+                        astHelper.createQualifiedIdent("org.springframework.jdbc.support.KeyHolder"),
+                        astHelper.createNewInstance(astHelper.createQualifiedIdent("org.springframework.jdbc.support.GeneratedKeyHolder"))));
+        
+        // (java.sql.Connection con) -> { PreparedStatement ps = con.prepareStatement(sql, new String[]{"id"}); ...; return ps; }
+        String conName = uniqueName("con", takenNames);
+        String psName = uniqueName("ps", takenNames);
+        astHelper.nextPosition();
+        List<Object> creatorStatements = new ArrayList<>();
+        List<Object> keyColumns = new ArrayList<>();
+        keyColumns.add(astHelper.createLiteral(keyColumn));
+        Object prepareStatement = astHelper.createMethodCall(astHelper.createFieldAccess(astHelper.createIdent(conName),
+                                        "prepareStatement"),
+                        new Object[]{createSqlLiteral(insertSql, astHelper),
+                                astHelper.createArrayInitializer("String", keyColumns)});
+        creatorStatements.add(astHelper.createLocalVariable(psName,
+                        astHelper.createQualifiedIdent("java.sql.PreparedStatement"),
+                        prepareStatement));
+        Object setParameterValue = astHelper.createQualifiedIdent("org.springframework.jdbc.core.StatementCreatorUtils.setParameterValue");
+        for (int i = 0; i < generatedFields.size(); i++) {
+            Object setCall = astHelper.createMethodCall(setParameterValue, new Object[]{
+                            astHelper.createIdent(psName),
+                            astHelper.createLiteral(i + 1),
+                            astHelper.createQualifiedIdent("org.springframework.jdbc.core.SqlTypeValue.TYPE_UNKNOWN"),
+                            createGetterCall(entityName, getBooleanAwareGetter(generatedFields.get(i)), astHelper)});
+            creatorStatements.add(astHelper.createExpressionStatement(setCall));
+        }
+        creatorStatements.add(astHelper.createReturnStatement(astHelper.createIdent(psName)));
+        List<Object> creatorParams = new ArrayList<>();
+        creatorParams.add(astHelper.createParameter(conName, astHelper.createQualifiedIdent("java.sql.Connection")));
+        Object statementCreator = astHelper.createLambda(creatorParams, astHelper.createBlock(creatorStatements));
+        
+        // int rows = jdbcTemplate.update(creator, keyHolder);
+        astHelper.nextPosition();
+        Object keyedInsert = astHelper.createMethodCall(createJdbcTemplateMethod("update", astHelper), new Object[]{statementCreator,
+                        astHelper.createIdent(keyHolderName)});
+        String rowsName = uniqueName("rows", takenNames);
+        if (returnsCount) {
+            statements.add(astHelper.createLocalVariable(rowsName, astHelper.createPrimitiveType("int"),
+                            keyedInsert));
+        } else {
+            statements.add(astHelper.createExpressionStatement(keyedInsert));
+        }
+        
+        // Number key = keyHolder.getKey(); if (key != null) { entity.setId(key.longValue()); }
+        String keyName = uniqueName("key", takenNames);
+        statements.add(astHelper.createLocalVariable(keyName,
+                        astHelper.createQualifiedIdent("java.lang.Number"),
+                        createGetterCall(keyHolderName, "getKey", astHelper)));
+        Object keyValue = createGetterCall(keyName, "java.lang.Long".equals(keyType) ? "longValue" : "intValue", astHelper);
+        Object keyCheck = astHelper.createBinaryExpression(astHelper.createIdent(keyName), "!=",
+                        astHelper.createLiteral((Object) null));
+        statements.add(astHelper.createIfStatement(keyCheck, astHelper.createBlockFromStatement(createSetIdStatement(entityName, idSetter, keyValue, astHelper))));
+        
+        if (returnsCount) {
+            statements.add(astHelper.createReturnStatement(astHelper.createIdent(rowsName)));
+        } else if (!returnsVoid) {
+            statements.add(createSaveReturn(entityName, false, astHelper));
+        }
+        return astHelper.createBlock(statements);
+    }
+
+    private boolean hasIdField(List<String> fields) {
+        return idField != null && fields.contains(idField);
+    }
+
+    private Object createJdbcTemplateMethod(String methodName, TreeBuilder astHelper) throws Exception {
+        Object jdbcTemplateAccess = astHelper.createFieldAccess("this", "jdbcTemplate");
+        return astHelper.createFieldAccess(jdbcTemplateAccess, methodName);
+    }
+
+    private Object createGetterCall(String targetName, String getter, TreeBuilder astHelper) throws Exception {
+        Object target = astHelper.createIdent(targetName);
+        Object getterSel = astHelper.createFieldAccess(target, getter);
+        return astHelper.createMethodCall(getterSel, new Object[]{});
+    }
+
+    private Object createGetterArray(String entityName, List<String> fields, TreeBuilder astHelper) throws Exception {
+        List<Object> elements = new ArrayList<>();
+        for (String f : fields) {
+            elements.add(createGetterCall(entityName, getBooleanAwareGetter(f), astHelper));
+        }
+        return astHelper.createArrayInitializer("Object", elements);
+    }
+
+    private Object createSetIdStatement(String entityName, String idSetter, Object value, TreeBuilder astHelper) throws Exception {
+        Object entityIdent = astHelper.createIdent(entityName);
+        Object setIdSel = astHelper.createFieldAccess(entityIdent, idSetter);
+        Object setIdCall = astHelper.createMethodCall(setIdSel, new Object[]{value});
+        return astHelper.createExpressionStatement(setIdCall);
+    }
+
+    private Object createSaveReturn(String entityName, boolean returnsVoid, TreeBuilder astHelper) throws Exception {
+        Object value = returnsVoid ? null : astHelper.createIdent(entityName);
+        return astHelper.createReturnStatement(value);
+    }
+
+    private String buildInsertSql(String tableName, List<String> fields) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(quoteTable(tableName)).append(" (");
         StringBuilder values = new StringBuilder(" VALUES (");
         
         for (int i = 0; i < fields.size(); i++) {
@@ -72,20 +535,37 @@ public class SqlGenerator {
                 sql.append(", ");
                 values.append(", ");
             }
-            sql.append(mapColumnName(fields.get(i)));
+            sql.append(columnName(fields.get(i)));
             values.append("?");
         }
         
         sql.append(")").append(values).append(")");
+        return sql.toString();
+    }
+
+    private String buildUpdateSql(String tableName, List<String> fields) {
+        StringBuilder sql = new StringBuilder("UPDATE ").append(quoteTable(tableName)).append(" SET ");
+        boolean first = true;
+        for (String f : fields) {
+            if (f.equals(idField)) continue;
+            if (!first) {
+                sql.append(", ");
+            }
+            sql.append(columnName(f)).append(" = ?");
+            first = false;
+        }
         
-        return createUpdateImplementation(sql.toString(), methodElement, fields, astHelper);
+        if (hasIdField(fields)) {
+            sql.append(" WHERE ").append(columnName(idField)).append(" = ?");
+        }
+        return sql.toString();
     }
 
     /**
      * Create UpdateBy method implementation with validation
      */
-    public Object createUpdateByImplementationWithValidation(String methodName, String tableName, Object entityInfo,
-                                                            ExecutableElement methodElement, Object astHelper) throws Exception {
+    public Object createUpdateByImplementationWithValidation(String methodName, String tableName, EntityInfo entityInfo,
+                                                            ExecutableElement methodElement, TreeBuilder astHelper) throws Exception {
         QueryMethodInfo info = parseQueryMethodName(methodName);
         
         for (String field : info.getFields()) {
@@ -94,7 +574,7 @@ public class SqlGenerator {
         }
         
         String setField = extractSetField(methodName);
-        String sql = "UPDATE " + tableName + " SET " + mapColumnName(setField) + " = ?" + generateWhereClause(info);
+        String sql = "UPDATE " + quoteTable(tableName) + " SET " + columnName(setField) + " = ?" + generateWhereClause(info);
         
         List<String> allFields = new ArrayList<>();
         allFields.add(setField);
@@ -103,32 +583,26 @@ public class SqlGenerator {
         return createUpdateByImplementation(sql, methodElement, allFields, astHelper);
     }
     
-    private Object createUpdateByImplementation(String sql, ExecutableElement methodElement, List<String> fields, Object astHelper) throws Exception {
-        Object jdbcTemplateAccess = astHelper.getClass().getMethod("createFieldAccess", String.class, String.class)
-                .invoke(astHelper, "this", "jdbcTemplate");
-        Object updateMethod = astHelper.getClass().getMethod("createFieldAccess", Object.class, String.class)
-                .invoke(astHelper, jdbcTemplateAccess, "update");
+    private Object createUpdateByImplementation(String sql, ExecutableElement methodElement, List<String> fields, TreeBuilder astHelper) throws Exception {
+        Object jdbcTemplateAccess = astHelper.createFieldAccess("this", "jdbcTemplate");
+        Object updateMethod = astHelper.createFieldAccess(jdbcTemplateAccess, "update");
         
-        Object sqlLiteral = astHelper.getClass().getMethod("createLiteral", String.class).invoke(astHelper, sql);
+        Object sqlLiteral = createSqlLiteral(sql, astHelper);
         
         List<? extends javax.lang.model.element.VariableElement> params = methodElement.getParameters();
         Object updateCall;
         
         if (params.isEmpty()) {
-            updateCall = astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                    .invoke(astHelper, updateMethod, new Object[]{sqlLiteral});
+            updateCall = astHelper.createMethodCall(updateMethod, new Object[]{sqlLiteral});
         } else {
             List<Object> elements = new ArrayList<>();
             for (javax.lang.model.element.VariableElement param : params) {
-                Object paramIdent = astHelper.getClass().getMethod("createIdent", String.class)
-                        .invoke(astHelper, param.getSimpleName().toString());
+                Object paramIdent = astHelper.createIdent(param.getSimpleName().toString());
                 elements.add(paramIdent);
             }
             
-            Object paramArray = astHelper.getClass().getMethod("createArrayInitializer", String.class, List.class)
-                    .invoke(astHelper, "Object", elements);
-            updateCall = astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                    .invoke(astHelper, updateMethod, new Object[]{sqlLiteral, paramArray});
+            Object paramArray = astHelper.createArrayInitializer("Object", elements);
+            updateCall = astHelper.createMethodCall(updateMethod, new Object[]{sqlLiteral, paramArray});
         }
         
         TypeMirror returnType = methodElement.getReturnType();
@@ -136,27 +610,24 @@ public class SqlGenerator {
         boolean isVoid = "void".equals(returnTypeStr) || returnType.getKind().toString().equals("VOID");
         
         if (isVoid) {
-            return astHelper.getClass().getMethod("createExpressionStatement", Object.class).invoke(astHelper, updateCall);
+            return astHelper.createExpressionStatement(updateCall);
         } else if ("int".equals(returnTypeStr) || "java.lang.Integer".equals(returnTypeStr)) {
-            return astHelper.getClass().getMethod("createReturnStatement", Object.class).invoke(astHelper, updateCall);
+            return astHelper.createReturnStatement(updateCall);
         } else {
             List<? extends javax.lang.model.element.VariableElement> methodParams = methodElement.getParameters();
             if (!methodParams.isEmpty()) {
-                Object entityIdent = astHelper.getClass().getMethod("createIdent", String.class)
-                        .invoke(astHelper, methodParams.get(0).getSimpleName().toString());
+                Object entityIdent = astHelper.createIdent(methodParams.get(0).getSimpleName().toString());
                 
-                Object updateStatement = astHelper.getClass().getMethod("createExpressionStatement", Object.class)
-                        .invoke(astHelper, updateCall);
-                Object returnStatement = astHelper.getClass().getMethod("createReturnStatement", Object.class)
-                        .invoke(astHelper, entityIdent);
+                Object updateStatement = astHelper.createExpressionStatement(updateCall);
+                Object returnStatement = astHelper.createReturnStatement(entityIdent);
                 
                 List<Object> statements = new ArrayList<>();
                 statements.add(updateStatement);
                 statements.add(returnStatement);
                 
-                return astHelper.getClass().getMethod("createBlock", List.class).invoke(astHelper, statements);
+                return astHelper.createBlock(statements);
             } else {
-                return astHelper.getClass().getMethod("createReturnStatement", Object.class).invoke(astHelper, updateCall);
+                return astHelper.createReturnStatement(updateCall);
             }
         }
     }
@@ -178,77 +649,42 @@ public class SqlGenerator {
     /**
      * Create Update method implementation (with entity)
      */
-    public Object createUpdateImplementationWithEntity(String entityName, String tableName, Object entityInfo,
-                                                      ExecutableElement methodElement, Object astHelper) throws Exception {
+    public Object createUpdateImplementationWithEntity(String entityName, String tableName, EntityInfo entityInfo,
+                                                      ExecutableElement methodElement, TreeBuilder astHelper) throws Exception {
         List<String> fields = getEntityFields(entityInfo);
-        
-        StringBuilder sql = new StringBuilder("UPDATE ").append(tableName).append(" SET ");
-        boolean first = true;
-        for (String f : fields) {
-            if ("id".equals(f)) continue;
-            if (!first) {
-                sql.append(", ");
-            }
-            sql.append(mapColumnName(f)).append(" = ?");
-            first = false;
-        }
-        
-        if (fields.contains("id")) {
-            sql.append(" WHERE id = ?");
-        }
-        
-        return createUpdateImplementation(sql.toString(), methodElement, fields, astHelper);
+        return createUpdateImplementation(buildUpdateSql(tableName, fields), methodElement, fields, astHelper);
     }
 
     /**
      * Create Count method implementation with validation
      */
-    public Object createCountByImplementationWithValidation(String methodName, String tableName, Object entityInfo,
-                                                           ExecutableElement methodElement, Object astHelper) throws Exception {
-        QueryMethodInfo info = parseQueryMethodName(methodName);
-        
-        for (String field : info.getFields()) {
-            if (!isValidEntityField(entityInfo, field)) {
-            }
-        }
-        
-        String sql = "SELECT COUNT(*) FROM " + tableName + generateWhereClause(info);
+    public Object createCountByImplementationWithValidation(String methodName, String tableName, EntityInfo entityInfo,
+                                                           ExecutableElement methodElement, TreeBuilder astHelper) throws Exception {
+        String sql = conditionSql(methodName, tableName);
         return createCountImplementation(sql, methodElement, astHelper);
     }
 
     /**
      * Create Delete method implementation with validation
      */
-    public Object createDeleteByImplementationWithValidation(String methodName, String tableName, Object entityInfo,
-                                                            ExecutableElement methodElement, Object astHelper) throws Exception {
-        QueryMethodInfo info = parseQueryMethodName(methodName);
-        
-        for (String field : info.getFields()) {
-            if (!isValidEntityField(entityInfo, field)) {
-            }
-        }
-        
-        String sql = "DELETE FROM " + tableName + generateWhereClause(info);
+    public Object createDeleteByImplementationWithValidation(String methodName, String tableName, EntityInfo entityInfo,
+                                                            ExecutableElement methodElement, TreeBuilder astHelper) throws Exception {
+        String sql = conditionSql(methodName, tableName);
         return createDeleteImplementation(sql, methodElement, astHelper);
     }
 
     /**
      * Create Exists method implementation with validation
      */
-    public Object createExistsByImplementationWithValidation(String methodName, String tableName, Object entityInfo,
-                                                            ExecutableElement methodElement, Object astHelper) throws Exception {
+    public Object createExistsByImplementationWithValidation(String methodName, String tableName, EntityInfo entityInfo,
+                                                            ExecutableElement methodElement, TreeBuilder astHelper) throws Exception {
         try {
-            QueryMethodInfo info = parseQueryMethodName(methodName);
-            for (String field : info.getFields()) {
-                if (!isValidEntityField(entityInfo, field)) {
-                }
-            }
-            String sql = "SELECT COUNT(*) FROM " + tableName + generateWhereClause(info);
+            String sql = conditionSql(methodName, tableName);
             return createExistsImplementation(sql, methodElement, astHelper);
         } catch (Exception e) {
             try {
-                Object falseLit = astHelper.getClass().getMethod("createLiteral", Object.class).invoke(astHelper, false);
-                return astHelper.getClass().getMethod("createReturnStatement", Object.class).invoke(astHelper, falseLit);
+                Object falseLit = astHelper.createLiteral(false);
+                return astHelper.createReturnStatement(falseLit);
             } catch (Exception ex) {
                 throw e;
             }
@@ -258,20 +694,46 @@ public class SqlGenerator {
     /**
      * Create FindAll implementation
      */
-    public Object createFindAllImplementation(String entityFqn, String tableName, Object astHelper) throws Exception {
-        String sql = "SELECT * FROM " + tableName;
+    public Object createFindAllImplementation(String entityFqn, String tableName, TreeBuilder astHelper) throws Exception {
+        String sql = selectFrom(tableName);
         return createFindAllQueryImplementation(sql, entityFqn, astHelper);
     }
 
+    /**
+     * Create FindAll implementation honouring the declared return type (List or Stream)
+     */
+    public Object createFindAllImplementation(String entityFqn, String tableName, ExecutableElement methodElement,
+                                              TreeBuilder astHelper) throws Exception {
+        if (!isStreamReturnType(methodElement)) {
+            return createFindAllImplementation(entityFqn, tableName, astHelper);
+        }
+        String sql = selectFrom(tableName);
+        return createQueryImplementation(sql, methodElement, entityFqn, astHelper);
+    }
+
     /**
      * Parse query method name
      */
     public QueryMethodInfo parseQueryMethodName(String methodName) {
         QueryMethodInfo info = new QueryMethodInfo();
         
-        if (methodName.startsWith("findBy")) {
-            String condition = methodName.substring(methodName.indexOf("By") + 2);
-            info = parseCondition(condition);
+        Matcher derivedFind = DERIVED_FIND_PATTERN.matcher(methodName);
+        if (derivedFind.matches()) {
+            String condition = derivedFind.group(2);
+            int orderByIndex = condition.indexOf("OrderBy");
+            String orderBy = null;
+            if (orderByIndex >= 0) {
+                orderBy = condition.substring(orderByIndex + "OrderBy".length());
+                condition = condition.substring(0, orderByIndex);
+            }
+            info = condition.isEmpty() ? new QueryMethodInfo() : parseCondition(condition);
+            if (orderBy != null) {
+                info.setOrderBy(parseOrderBy(orderBy));
+            }
+            Matcher limited = LIMITED_FIND_PATTERN.matcher(methodName);
+            if (limited.matches()) {
+                info.setLimit(limited.group(1).isEmpty() ? 1 : Integer.parseInt(limited.group(1)));
+            }
             info.setOperation("find");
             return info;
         } else if (methodName.startsWith("countBy")) {
@@ -332,10 +794,10 @@ public class SqlGenerator {
             String operator = "=";
             
             for (String compOp : COMPARISON_OPERATORS) {
-                if (part.endsWith(compOp)) {
+                // Longest suffix wins, so NotIn is not read as In on a field ending in "Not"
+                if (part.endsWith(compOp) && part.length() - compOp.length() < field.length()) {
                     field = part.substring(0, part.length() - compOp.length());
                     operator = mapOperatorToSql(compOp);
-                    break;
                 }
             }
             
@@ -359,15 +821,147 @@ public class SqlGenerator {
      * Generate advanced dynamic SQL
      */
     public String generateAdvancedDynamicSQL(QueryMethodInfo info, String tableName) {
-        StringBuilder sql = new StringBuilder("SELECT * FROM ").append(tableName);
+        return generateAdvancedDynamicSQL(info, tableName, selectFields);
+    }
+
+    /**
+     * Generate advanced dynamic SQL selecting the given fields
+     */
+    public String generateAdvancedDynamicSQL(QueryMethodInfo info, String tableName, List<String> fields) {
+        StringBuilder sql = new StringBuilder(selectFrom(tableName, fields));
         
         if (!info.getFields().isEmpty()) {
             sql.append(generateWhereClause(info));
         }
         
+        if (!info.getOrderBy().isEmpty()) {
+            sql.append(" ORDER BY ").append(String.join(", ", info.getOrderBy()));
+        }
+        
+        if (info.getLimit() != null) {
+            return dialect.applyLimit(sql.toString(), String.valueOf(info.getLimit()));
+        } else if (info.isLimitParameter()) {
+            return dialect.applyLimit(sql.toString(), "?");
+        }
+        
         return sql.toString();
     }
 
+    /**
+     * Find SQL for a derived finder, taken from the query plan when it was precomputed
+     */
+    private String findSql(String methodName, String tableName, List<String> fields,
+                           ExecutableElement methodElement, int bindableParams) {
+        String lastParamType = bindableParams > 0
+                ? methodElement.getParameters().get(bindableParams - 1).asType().toString() : null;
+        String sql = queryPlan.getSql(QueryPlan.findKey(methodName, fields, bindableParams, lastParamType));
+        return sql != null ? sql : generateFindSql(methodName, tableName, fields, bindableParams, lastParamType);
+    }
+
+    /**
+     * Generate find SQL; one trailing integral parameter beyond the condition parameters is bound
+     * as the page size (keyset pagination: findByIdGreaterThanOrderByIdAsc(Long lastId, int pageSize))
+     */
+    private String generateFindSql(String methodName, String tableName, List<String> fields,
+                                   int bindableParams, String lastParamType) {
+        QueryMethodInfo info = parseQueryMethodName(methodName);
+        if (info.getLimit() == null && bindableParams == countConditionParameters(info) + 1) {
+            if ("int".equals(lastParamType) || "long".equals(lastParamType)
+                    || "java.lang.Integer".equals(lastParamType) || "java.lang.Long".equals(lastParamType)) {
+                info.setLimitParameter(true);
+            }
+        }
+        return generateAdvancedDynamicSQL(info, tableName, fields);
+    }
+
+    /**
+     * COUNT/DELETE SQL for countBy, existsBy and deleteBy methods, taken from the query plan when precomputed
+     */
+    private String conditionSql(String methodName, String tableName) {
+        String sql = queryPlan.getSql(methodName);
+        if (sql != null) {
+            return sql;
+        }
+        String statement = methodName.startsWith("deleteBy") ? "DELETE FROM " : "SELECT COUNT(*) FROM ";
+        return statement + quoteTable(tableName) + generateWhereClause(parseQueryMethodName(methodName));
+    }
+
+    /**
+     * Render the SQL of a derived find/count/exists/delete method into the plan.
+     * Touches no AST or javac model state, so it can run off the compiler thread
+     */
+    public void planDerivedQuery(QueryPlan plan, String methodName, String tableName,
+                                 int bindableParams, String lastParamType) {
+        if (DERIVED_FIND_PATTERN.matcher(methodName).matches()) {
+            plan.putSql(QueryPlan.findKey(methodName, selectFields, bindableParams, lastParamType),
+                    generateFindSql(methodName, tableName, selectFields, bindableParams, lastParamType));
+        } else if (methodName.startsWith("countBy") || methodName.startsWith("existsBy")
+                || methodName.startsWith("deleteBy")) {
+            plan.putSql(methodName, conditionSql(methodName, tableName));
+        }
+    }
+
+    private int countConditionParameters(QueryMethodInfo info) {
+        int count = 0;
+        for (String op : info.getOperators()) {
+            if ("IS NULL".equals(op) || "IS NOT NULL".equals(op)) {
+                continue;
+            }
+            count += ("BETWEEN".equals(op) || "NOT BETWEEN".equals(op)) ? 2 : 1;
+        }
+        return count;
+    }
+
+    /**
+     * Parse OrderBy suffix (IdAsc, LastNameDescId) into "column ASC|DESC" terms
+     */
+    private List<String> parseOrderBy(String orderBy) {
+        List<String> terms = new ArrayList<>();
+        Matcher matcher = ORDER_BY_PATTERN.matcher(orderBy);
+        int end = 0;
+        while (matcher.find() && matcher.start() == end) {
+            terms.add(columnName(decapitalize(matcher.group(1))) + " " + matcher.group(2).toUpperCase());
+            end = matcher.end();
+        }
+        if (end < orderBy.length()) {
+            terms.add(columnName(decapitalize(orderBy.substring(end))) + " ASC");
+        }
+        return terms;
+    }
+
+    /**
+     * Column name for SQL text: naming strategy applied, then quoted by the dialect when needed
+     */
+    private String columnName(String fieldName) {
+        return dialect.quoteIdentifier(mapColumnName(fieldName));
+    }
+
+    /**
+     * SELECT clause listing the mapped entity columns, or * when the entity fields are unknown
+     */
+    private String selectFrom(String tableName) {
+        return selectFrom(tableName, selectFields);
+    }
+
+    private String selectFrom(String tableName, List<String> fields) {
+        if (fields.isEmpty()) {
+            return "SELECT * FROM " + quoteTable(tableName);
+        }
+        List<String> columns = new ArrayList<>();
+        for (String field : fields) {
+            columns.add(columnName(field));
+        }
+        return "SELECT " + String.join(", ", columns) + " FROM " + quoteTable(tableName);
+    }
+
+    private String quoteTable(String tableName) {
+        return dialect.quoteIdentifier(tableName);
+    }
+
+    private String decapitalize(String name) {
+        return name.isEmpty() ? name : Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
     /**
      * Generate WHERE clause
      */
@@ -386,7 +980,7 @@ public class SqlGenerator {
                 where.append(" ").append(logicalOperators.get(i - 1)).append(" ");
             }
             
-            String column = mapColumnName(fields.get(i));
+            String column = columnName(fields.get(i));
             String op = (i < operators.size()) ? operators.get(i) : "=";
             
             if ("IS NULL".equals(op) || "IS NOT NULL".equals(op)) {
@@ -410,9 +1004,9 @@ public class SqlGenerator {
         switch (operator) {
             case "Equal": return "=";
             case "NotEqual": return "!=";
-            case "GreaterThan": return ">";
+            case "GreaterThan": case "After": return ">";
             case "GreaterThanEqual": return ">=";
-            case "LessThan": return "<";
+            case "LessThan": case "Before": return "<";
             case "LessThanEqual": return "<=";
             case "Like": case "Containing": return "LIKE";
             case "NotLike": case "NotContaining": return "NOT LIKE";
@@ -431,128 +1025,106 @@ public class SqlGenerator {
     /**
      * Validate if entity field is valid
      */
-    private boolean isValidEntityField(Object entityInfo, String fieldName) {
-        try {
-            java.lang.reflect.Method getFieldsMethod = entityInfo.getClass().getMethod("getFields");
-            @SuppressWarnings("unchecked")
-            List<String> fields = (List<String>) getFieldsMethod.invoke(entityInfo);
-            
-            if (fields.contains(fieldName)) {
-                return true;
-            }
-            
-            if ("id".equals(fieldName)) {
-                return true;
-            }
-            
-            for (String field : fields) {
-                if (field.equals(fieldName)) {
-                    return true;
-                }
-            }
-            
-            return false;
-        } catch (Exception e) {
-            return true;
-        }
+    private boolean isValidEntityField(EntityInfo entityInfo, String fieldName) {
+        return entityInfo == null || "id".equals(fieldName) || entityInfo.getFields().contains(fieldName);
     }
 
     /**
      * Get entity field list
      */
-    private List<String> getEntityFields(Object entityInfo) {
-        try {
-            java.lang.reflect.Method getFieldsMethod = entityInfo.getClass().getMethod("getFields");
-            @SuppressWarnings("unchecked")
-            List<String> fields = (List<String>) getFieldsMethod.invoke(entityInfo);
-            return fields;
-        } catch (Exception e) {
-            return new ArrayList<>();
-        }
+    private List<String> getEntityFields(EntityInfo entityInfo) {
+        return entityInfo != null ? entityInfo.getFields() : new ArrayList<>();
     }
 
-    private Object createQueryImplementation(String sql, ExecutableElement methodElement, String entityFqn, Object astHelper) throws Exception {
-        Object jdbcTemplateAccess = astHelper.getClass().getMethod("createFieldAccess", String.class, String.class)
-                .invoke(astHelper, "this", "jdbcTemplate");
-        
-        Object sqlLiteral = astHelper.getClass().getMethod("createLiteral", String.class).invoke(astHelper, sql);
-        
-        TypeMirror returnType = methodElement.getReturnType();
-        String returnTypeStr = returnType.toString();
+    private Object createQueryImplementation(String sql, ExecutableElement methodElement, String entityFqn, TreeBuilder astHelper) throws Exception {
+        String returnTypeStr = methodElement.getReturnType().toString();
         
         Object rowMapper;
         if (returnTypeStr.contains("Map<String, Object>") || returnTypeStr.contains("Map<java.lang.String, java.lang.Object>")) {
-            rowMapper = astHelper.getClass().getMethod("createColumnMapRowMapper")
-                    .invoke(astHelper);
+            rowMapper = astHelper.createColumnMapRowMapper();
         } else {
-            rowMapper = astHelper.getClass().getMethod("createBeanPropertyRowMapper", String.class)
-                    .invoke(astHelper, getSimpleClassName(entityFqn));
+            rowMapper = createEntityRowMapper(entityFqn, astHelper);
         }
+        return createQueryImplementation(sql, methodElement, entityFqn, rowMapper, astHelper);
+    }
+
+    private Object createQueryImplementation(String sql, ExecutableElement methodElement, String entityFqn, Object rowMapper,
+                                             TreeBuilder astHelper) throws Exception {
+        Object jdbcTemplateAccess = astHelper.createFieldAccess("this", "jdbcTemplate");
+        
+        String returnTypeStr = methodElement.getReturnType().toString();
         
         List<? extends javax.lang.model.element.VariableElement> params = methodElement.getParameters();
         Object paramArgs = null;
         boolean isSingleParam = false;
+        InListBinding inLists = bindInLists(sql, methodElement,
+                !isStreamReturnType(methodElement) && returnTypeStr.startsWith("java.util.List"), astHelper);
+        Object sqlLiteral = inLists != null ? inLists.sql : createSqlLiteral(sql, astHelper);
         
-        if (params != null && !params.isEmpty()) {
+        if (inLists != null) {
+            paramArgs = inLists.args;
+        } else if (params != null && !params.isEmpty()) {
             if (params.size() == 1) {
                 String name = params.get(0).getSimpleName().toString();
-                paramArgs = astHelper.getClass().getMethod("createIdent", String.class).invoke(astHelper, name);
+                paramArgs = astHelper.createIdent(name);
                 isSingleParam = true;
             } else {
                 List<Object> elements = new ArrayList<>();
                 for (javax.lang.model.element.VariableElement ve : params) {
                     String name = ve.getSimpleName().toString();
-                    Object ident = astHelper.getClass().getMethod("createIdent", String.class).invoke(astHelper, name);
+                    Object ident = astHelper.createIdent(name);
                     elements.add(ident);
                 }
-                paramArgs = astHelper.getClass().getMethod("createArrayInitializer", String.class, List.class)
-                        .invoke(astHelper, "Object", elements);
+                paramArgs = astHelper.createArrayInitializer("Object", elements);
                 isSingleParam = false;
             }
         }
         
         Object queryCall;
-        if (returnTypeStr.startsWith("java.util.List")) {
-            Object queryMethod = astHelper.getClass().getMethod("createFieldAccess", Object.class, String.class)
-                    .invoke(astHelper, jdbcTemplateAccess, "query");
+        if (isStreamReturnType(methodElement)) {
+            List<Object> args = new ArrayList<>();
+            List<String> paramNames = new ArrayList<>();
+            for (javax.lang.model.element.VariableElement ve : params) {
+                String name = ve.getSimpleName().toString();
+                args.add(astHelper.createIdent(name));
+                paramNames.add(name);
+            }
+            Object statementSetter = inLists != null
+                    ? createInListStreamingSetter(inLists.args, paramNames, astHelper)
+                    : astHelper.createStreamingStatementSetter(fetchSize, args, paramNames);
+            Object queryForStreamMethod = astHelper.createFieldAccess(jdbcTemplateAccess, "queryForStream");
+            queryCall = astHelper.createMethodCall(queryForStreamMethod, new Object[]{sqlLiteral, statementSetter, rowMapper});
+        } else if (returnTypeStr.startsWith("java.util.List")) {
+            Object queryMethod = astHelper.createFieldAccess(jdbcTemplateAccess, "query");
             if (paramArgs == null) {
-                queryCall = astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                        .invoke(astHelper, queryMethod, new Object[]{sqlLiteral, rowMapper});
+                queryCall = astHelper.createMethodCall(queryMethod, new Object[]{sqlLiteral, rowMapper});
             } else {
-                queryCall = astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                        .invoke(astHelper, queryMethod, new Object[]{sqlLiteral, rowMapper, paramArgs});
+                queryCall = astHelper.createMethodCall(queryMethod, new Object[]{sqlLiteral, rowMapper, paramArgs});
             }
         } else {
-            Object queryForObjectMethod = astHelper.getClass().getMethod("createFieldAccess", Object.class, String.class)
-                    .invoke(astHelper, jdbcTemplateAccess, "queryForObject");
+            Object queryForObjectMethod = astHelper.createFieldAccess(jdbcTemplateAccess, "queryForObject");
             if (paramArgs == null) {
-                queryCall = astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                        .invoke(astHelper, queryForObjectMethod, new Object[]{sqlLiteral, rowMapper});
+                queryCall = astHelper.createMethodCall(queryForObjectMethod, new Object[]{sqlLiteral, rowMapper});
             } else {
-                queryCall = astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                        .invoke(astHelper, queryForObjectMethod, new Object[]{sqlLiteral, rowMapper, paramArgs});
+                queryCall = astHelper.createMethodCall(queryForObjectMethod, new Object[]{sqlLiteral, rowMapper, paramArgs});
             }
             try {
-                Object targetType = astHelper.getClass().getMethod("createQualifiedIdent", String.class)
-                        .invoke(astHelper, getSimpleClassName(entityFqn));
-                queryCall = astHelper.getClass().getMethod("createTypeCast", Object.class, Object.class)
-                        .invoke(astHelper, targetType, queryCall);
+                Object targetType = astHelper.createQualifiedIdent(getSimpleClassName(entityFqn));
+                queryCall = astHelper.createTypeCast(targetType, queryCall);
             } catch (Exception ignore) { }
         }
         
-        return astHelper.getClass().getMethod("createReturnStatement", Object.class).invoke(astHelper, queryCall);
+        return withInLists(inLists, queryCall, false, "query", astHelper);
     }
 
-    private Object createUpdateImplementation(String sql, ExecutableElement methodElement, List<String> fields, Object astHelper) throws Exception {
+    private Object createUpdateImplementation(String sql, ExecutableElement methodElement, List<String> fields, TreeBuilder astHelper) throws Exception {
         String methodName = methodElement.getSimpleName().toString();
         boolean isSaveMethod = methodName.startsWith("save");
         
-        Object jdbcTemplateAccess = astHelper.getClass().getMethod("createFieldAccess", String.class, String.class)
-                .invoke(astHelper, "this", "jdbcTemplate");
-        Object updateMethod = astHelper.getClass().getMethod("createFieldAccess", Object.class, String.class)
-                .invoke(astHelper, jdbcTemplateAccess, "update");
+        Object jdbcTemplateAccess = astHelper.createFieldAccess("this", "jdbcTemplate");
+        Object updateMethod = astHelper.createFieldAccess(jdbcTemplateAccess, "update");
         
-        Object sqlLiteral = astHelper.getClass().getMethod("createLiteral", String.class).invoke(astHelper, sql);
+        Object sqlLiteral = createSqlLiteral(sql, astHelper);
         
         List<? extends javax.lang.model.element.VariableElement> params = methodElement.getParameters();
         Object paramArray = null;
@@ -562,48 +1134,39 @@ public class SqlGenerator {
             
             if (isEntityBasedUpdate) {
                 String entityParamName = params.get(0).getSimpleName().toString();
-                entityIdent = astHelper.getClass().getMethod("createIdent", String.class).invoke(astHelper, entityParamName);
+                entityIdent = astHelper.createIdent(entityParamName);
                 List<Object> elements = new ArrayList<>();
                 boolean isUpdateSql = sql.trim().toUpperCase().startsWith("UPDATE");
                 for (String f : fields) {
-                    if (isUpdateSql && "id".equals(f)) continue;
+                    if (isUpdateSql && f.equals(idField)) continue;
                     String getter = getBooleanAwareGetter(f);
-                    Object getterSel = astHelper.getClass().getMethod("createFieldAccess", Object.class, String.class)
-                            .invoke(astHelper, entityIdent, getter);
-                    Object getterCall = astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                            .invoke(astHelper, getterSel, new Object[]{});
+                    Object getterSel = astHelper.createFieldAccess(entityIdent, getter);
+                    Object getterCall = astHelper.createMethodCall(getterSel, new Object[]{});
                     elements.add(getterCall);
                 }
-                if (isUpdateSql && fields.contains("id")) {
-                    String getter = "getId";
-                    Object getterSel = astHelper.getClass().getMethod("createFieldAccess", Object.class, String.class)
-                            .invoke(astHelper, entityIdent, getter);
-                    Object getterCall = astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                            .invoke(astHelper, getterSel, new Object[]{});
+                if (isUpdateSql && hasIdField(fields)) {
+                    String getter = getBooleanAwareGetter(idField);
+                    Object getterSel = astHelper.createFieldAccess(entityIdent, getter);
+                    Object getterCall = astHelper.createMethodCall(getterSel, new Object[]{});
                     elements.add(getterCall);
                 }
-                paramArray = astHelper.getClass().getMethod("createArrayInitializer", String.class, List.class)
-                        .invoke(astHelper, "Object", elements);
+                paramArray = astHelper.createArrayInitializer("Object", elements);
             } else {
                 List<Object> elements = new ArrayList<>();
                 for (javax.lang.model.element.VariableElement param : params) {
                     String paramName = param.getSimpleName().toString();
-                    Object paramIdent = astHelper.getClass().getMethod("createIdent", String.class)
-                            .invoke(astHelper, paramName);
+                    Object paramIdent = astHelper.createIdent(paramName);
                     elements.add(paramIdent);
                 }
-                paramArray = astHelper.getClass().getMethod("createArrayInitializer", String.class, List.class)
-                        .invoke(astHelper, "Object", elements);
+                paramArray = astHelper.createArrayInitializer("Object", elements);
             }
         }
         
         Object updateCall;
         if (paramArray == null) {
-            updateCall = astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                    .invoke(astHelper, updateMethod, new Object[]{sqlLiteral});
+            updateCall = astHelper.createMethodCall(updateMethod, new Object[]{sqlLiteral});
         } else {
-            updateCall = astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                    .invoke(astHelper, updateMethod, new Object[]{sqlLiteral, paramArray});
+            updateCall = astHelper.createMethodCall(updateMethod, new Object[]{sqlLiteral, paramArray});
         }
         
         if (isSaveMethod && entityIdent != null) {
@@ -611,189 +1174,587 @@ public class SqlGenerator {
             String returnTypeStr = returnType.toString();
             
             if ("int".equals(returnTypeStr) || "java.lang.Integer".equals(returnTypeStr)) {
-                Object returnStatement = astHelper.getClass().getMethod("createReturnStatement", Object.class)
-                        .invoke(astHelper, updateCall);
+                Object returnStatement = astHelper.createReturnStatement(updateCall);
                 
                 List<Object> statements = new ArrayList<>();
                 statements.add(returnStatement);
                 
-                return astHelper.getClass().getMethod("createBlock", List.class).invoke(astHelper, statements);
+                return astHelper.createBlock(statements);
             } else {
-                Object updateStatement = astHelper.getClass().getMethod("createExpressionStatement", Object.class)
-                        .invoke(astHelper, updateCall);
-                Object returnStatement = astHelper.getClass().getMethod("createReturnStatement", Object.class)
-                        .invoke(astHelper, entityIdent);
+                Object updateStatement = astHelper.createExpressionStatement(updateCall);
+                Object returnStatement = astHelper.createReturnStatement(entityIdent);
                 
                 List<Object> statements = new ArrayList<>();
                 statements.add(updateStatement);
                 statements.add(returnStatement);
                 
-                return astHelper.getClass().getMethod("createBlock", List.class).invoke(astHelper, statements);
+                return astHelper.createBlock(statements);
             }
         } else {
             TypeMirror returnType = methodElement.getReturnType();
             String returnTypeStr = returnType.toString();
             
             if ("void".equals(returnTypeStr)) {
-                return astHelper.getClass().getMethod("createExpressionStatement", Object.class).invoke(astHelper, updateCall);
+                return astHelper.createExpressionStatement(updateCall);
             } else {
-                return astHelper.getClass().getMethod("createReturnStatement", Object.class).invoke(astHelper, updateCall);
+                return astHelper.createReturnStatement(updateCall);
             }
         }
     }
 
-    private Object createCountImplementation(String sql, ExecutableElement methodElement, Object astHelper) throws Exception {
-        Object jdbcTemplateAccess = astHelper.getClass().getMethod("createFieldAccess", String.class, String.class)
-                .invoke(astHelper, "this", "jdbcTemplate");
+    /**
+     * jdbcTemplate.batchUpdate(sql, entities, batchSize, (ps, item) -&gt; { setParameterValue(ps, 1, ..., item.getX()); ... })
+     * Return type int[][] keeps per-batch counts, int[] flattens to per-row counts, int sums them,
+     * any other non-void type returns the collection argument.
+     */
+    private Object createBatchUpdateImplementation(String sql, String entityFqn, List<String> fields,
+                                                   ExecutableElement methodElement, TreeBuilder astHelper) throws Exception {
+        List<? extends javax.lang.model.element.VariableElement> params = methodElement.getParameters();
+        List<String> paramNames = new ArrayList<>();
+        for (javax.lang.model.element.VariableElement param : params) {
+            paramNames.add(param.getSimpleName().toString());
+        }
+        String psName = uniqueName("ps", paramNames);
+        String itemName = uniqueName("item", paramNames);
         
-        Object queryForObjectMethod = astHelper.getClass().getMethod("createFieldAccess", Object.class, String.class)
-                .invoke(astHelper, jdbcTemplateAccess, "queryForObject");
+        astHelper.nextPosition();
+        Object psIdent = astHelper.createIdent(psName);
+        Object itemIdent = astHelper.createIdent(itemName);
+        Object setParameterValue = astHelper.createQualifiedIdent("org.springframework.jdbc.core.StatementCreatorUtils.setParameterValue");
+        Object typeUnknown = astHelper.createQualifiedIdent("org.springframework.jdbc.core.SqlTypeValue.TYPE_UNKNOWN");
         
-        Object sqlLiteral = astHelper.getClass().getMethod("createLiteral", String.class).invoke(astHelper, sql);
-        Object longClassLiteral = astHelper.getClass().getMethod("createClassLiteral", String.class)
-                .invoke(astHelper, "java.lang.Long");
+        List<String> orderedFields = new ArrayList<>();
+        boolean isUpdateSql = sql.trim().toUpperCase().startsWith("UPDATE");
+        for (String f : fields) {
+            if (isUpdateSql && f.equals(idField)) continue;
+            orderedFields.add(f);
+        }
+        if (isUpdateSql && hasIdField(fields)) {
+            orderedFields.add(idField);
+        }
+        
+        List<Object> setterStatements = new ArrayList<>();
+        for (int i = 0; i < orderedFields.size(); i++) {
+            String f = orderedFields.get(i);
+            String getter = getBooleanAwareGetter(f);
+            Object getterSel = astHelper.createFieldAccess(itemIdent, getter);
+            Object getterCall = astHelper.createMethodCall(getterSel, new Object[]{});
+            Object indexLiteral = astHelper.createLiteral(i + 1);
+            Object setCall = astHelper.createMethodCall(setParameterValue, new Object[]{psIdent, indexLiteral, typeUnknown, getterCall});
+            setterStatements.add(astHelper.createExpressionStatement(setCall));
+        }
+        Object setterBody = astHelper.createBlock(setterStatements);
+        
+        astHelper.nextPosition();
+        List<Object> lambdaParams = new ArrayList<>();
+        Object psType = astHelper.createQualifiedIdent("java.sql.PreparedStatement");
+        lambdaParams.add(astHelper.createParameter(psName, psType));
+        Object itemType = astHelper.createQualifiedIdent(entityFqn);
+        lambdaParams.add(astHelper.createParameter(itemName, itemType));
+        Object setterLambda = astHelper.createLambda(lambdaParams, setterBody);
+        
+        astHelper.nextPosition();
+        Object jdbcTemplateAccess = astHelper.createFieldAccess("this", "jdbcTemplate");
+        Object batchUpdateMethod = astHelper.createFieldAccess(jdbcTemplateAccess, "batchUpdate");
+        Object sqlLiteral = createSqlLiteral(sql, astHelper);
+        Object entitiesIdent = astHelper.createIdent(paramNames.get(0));
+        Object batchSizeLiteral = astHelper.createLiteral(batchSize);
+        Object batchCall = astHelper.createMethodCall(batchUpdateMethod, new Object[]{sqlLiteral, entitiesIdent, batchSizeLiteral, setterLambda});
+        
+        String returnTypeStr = methodElement.getReturnType().toString();
+        if ("void".equals(returnTypeStr)) {
+            return astHelper.createExpressionStatement(batchCall);
+        } else if ("int[][]".equals(returnTypeStr)) {
+            return astHelper.createReturnStatement(batchCall);
+        } else if ("int[]".equals(returnTypeStr)) {
+            Object perRowCounts = createFlattenedCounts(batchCall, "toArray", astHelper);
+            return astHelper.createReturnStatement(perRowCounts);
+        } else if ("int".equals(returnTypeStr) || "java.lang.Integer".equals(returnTypeStr)) {
+            Object totalCount = createFlattenedCounts(batchCall, "sum", astHelper);
+            return astHelper.createReturnStatement(totalCount);
+        } else {
+            Object batchStatement = astHelper.createExpressionStatement(batchCall);
+            Object returnStatement = astHelper.createReturnStatement(entitiesIdent);
+            
+            List<Object> statements = new ArrayList<>();
+            statements.add(batchStatement);
+            statements.add(returnStatement);
+            return astHelper.createBlock(statements);
+        }
+    }
+
+    /**
+     * java.util.Arrays.stream(batchCounts).flatMapToInt((int[] counts) -&gt; java.util.Arrays.stream(counts)).terminal()
+     */
+    private Object createFlattenedCounts(Object batchCounts, String terminalOperation, TreeBuilder astHelper) throws Exception {
+        Object arraysStream = astHelper.createQualifiedIdent("java.util.Arrays.stream");
+        Object outerStream = astHelper.createMethodCall(arraysStream, new Object[]{batchCounts});
+        
+        astHelper.nextPosition();
+        Object intArrayType = astHelper.createArrayType(astHelper.createPrimitiveType("int"));
+        List<Object> lambdaParams = new ArrayList<>();
+        lambdaParams.add(astHelper.createParameter("counts", intArrayType));
+        Object innerStream = astHelper.createMethodCall(astHelper.createQualifiedIdent("java.util.Arrays.stream"),
+                        new Object[]{astHelper.createIdent("counts")});
+        Object flattenLambda = astHelper.createLambda(lambdaParams, innerStream);
+        
+        astHelper.nextPosition();
+        Object flatMap = astHelper.createFieldAccess(outerStream, "flatMapToInt");
+        Object flattened = astHelper.createMethodCall(flatMap, new Object[]{flattenLambda});
+        Object terminal = astHelper.createFieldAccess(flattened, terminalOperation);
+        return astHelper.createMethodCall(terminal, new Object[]{});
+    }
+
+    /**
+     * SQL of the statement, remembered as {@link #getLastSql()} and hoisted into a private static final
+     * String named after the current method unless SQL constants are disabled
+     */
+    private Object createSqlLiteral(String sql, TreeBuilder astHelper) throws Exception {
+        lastSql = sql;
+        if (!sqlConstants) {
+            return astHelper.createLiteral(sql);
+        }
+        String fieldName = astHelper.registerStaticField("Sql:" + sql, sqlConstantName,
+                astHelper.createQualifiedIdent("java.lang.String"), astHelper.createLiteral(sql));
+        return astHelper.createIdent(fieldName);
+    }
+
+    /**
+     * SQL of a statement with one padded IN list, taken from a static table of shapes by bucket size:
+     * FIND_BY_ID_IN_SQL.forBucket(idsBucket); emptySql is the statement for an empty NOT IN list
+     */
+    private Object createInListSqlConstant(String sql, int placeholder, int maxBucket, String emptySql, String bucketName,
+                                           TreeBuilder astHelper) throws Exception {
+        String type = "io.github.simplesqlgen.chunk.InListSql";
+        List<Object> tableArgs = new ArrayList<>();
+        tableArgs.add(astHelper.createLiteral(sql.substring(0, placeholder)));
+        tableArgs.add(astHelper.createLiteral(sql.substring(placeholder + 1)));
+        tableArgs.add(astHelper.createLiteral(maxBucket));
+        if (emptySql != null) {
+            tableArgs.add(astHelper.createLiteral(emptySql));
+        }
+        Object table = astHelper.createNewClass(astHelper.createQualifiedIdent(type), tableArgs.toArray());
+        String fieldName = astHelper.registerStaticField("InListSql:" + maxBucket + ":" + sql, sqlConstantName,
+                astHelper.createQualifiedIdent(type), table);
+        return astHelper.createMethodCall(astHelper.createFieldAccess(astHelper.createIdent(fieldName), "forBucket"),
+                astHelper.createIdent(bucketName));
+    }
+
+    /**
+     * Bind collection parameters of IN (?) predicates, or return null when the statement has none.
+     * Parameters map to the placeholders in order. On dialects with array binding the predicate
+     * becomes = ANY(?) with one java.sql.Array; otherwise the list is expanded at run time into
+     * placeholders padded to a power of two; an empty NOT IN list drops its predicate (1 = 1), since
+     * NOT IN (NULL) would match no row. When chunking is on, chunkable and the statement has a single
+     * padded plain IN list and no ORDER BY or row limit, that collection is bound through a chunk
+     * variable for {@link #withInLists} to split; NOT IN lists and ordered or limited statements are
+     * only padded, since per-chunk results would not combine into the statement's result. Unchunked
+     * lists above the dialect's IN list limit are rejected at run time
+     */
+    private InListBinding bindInLists(String sql, ExecutableElement methodElement, boolean chunkable,
+                                      TreeBuilder astHelper) throws Exception {
+        return bindInLists(sql, methodElement, methodElement.getParameters().size(), chunkable, astHelper);
+    }
+
+    /**
+     * Bind only the first bindCount parameters (the rest, e.g. a row callback, are not SQL values)
+     */
+    private InListBinding bindInLists(String sql, ExecutableElement methodElement, int bindCount, boolean chunkable,
+                                      TreeBuilder astHelper) throws Exception {
+        ParameterProcessor parameterProcessor = new ParameterProcessor(astHelper);
+        List<ParameterInfo> params = parameterProcessor.analyzeMethodParameters(methodElement);
+        List<String> paramNames = new ArrayList<>();
+        for (ParameterInfo param : params) {
+            paramNames.add(param.getName());
+        }
+        params = params.subList(0, Math.min(bindCount, params.size()));
+        List<Integer> placeholders = findPlaceholders(sql);
+
+        List<Integer> inListParams = new ArrayList<>();
+        for (int i = 0; i < params.size() && i < placeholders.size(); i++) {
+            int at = placeholders.get(i);
+            if (parameterProcessor.isInListParameter(params.get(i)) && at > 0 && at + 1 < sql.length()
+                    && sql.charAt(at - 1) == '(' && sql.charAt(at + 1) == ')') {
+                inListParams.add(i);
+            }
+        }
+        if (inListParams.isEmpty()) {
+            return null;
+        }
+
+        Map<Integer, String> arrayTypes = new HashMap<>();
+        String boundSql = sql;
+        if (dialect.supportsArrayBinding()) {
+            for (int k = inListParams.size() - 1; k >= 0; k--) {
+                int i = inListParams.get(k);
+                String elementType = parameterProcessor.getArrayElementType(params.get(i));
+                int at = placeholders.get(i);
+                String rewritten = elementType != null ? replaceInWithArrayCondition(boundSql, at, at + 1) : null;
+                if (rewritten != null) {
+                    boundSql = rewritten;
+                    arrayTypes.put(i, elementType);
+                }
+            }
+            placeholders = findPlaceholders(boundSql);
+        }
+        boolean padded = arrayTypes.size() < inListParams.size();
+
+        String argsName = uniqueName("inArgs", paramNames);
+        int maxBucket = Math.min(ParameterProcessor.MAX_IN_LIST_BUCKET, dialect.getMaxInListSize());
+
+        int chunkSize = Math.min(inChunkSize, dialect.getMaxInListSize());
+        int chunkedParam = -1;
+        String chunkName = null;
+        String chunkType = null;
+        if (chunkable && chunkSize > 0 && inListParams.size() - arrayTypes.size() == 1
+                && !ORDERED_OR_LIMITED.matcher(boundSql).find()) {
+            for (int i : inListParams) {
+                boolean plainIn = !arrayTypes.containsKey(i) && findNotInPredicate(boundSql, placeholders.get(i)) == null;
+                String elementType = plainIn ? parameterProcessor.getCollectionElementType(params.get(i)) : null;
+                if (elementType != null) {
+                    chunkedParam = i;
+                    chunkName = uniqueName(params.get(i).getName() + "Chunk", paramNames);
+                    chunkType = elementType;
+                    maxBucket = Math.min(maxBucket, chunkSize);
+                }
+            }
+        }
+
+        astHelper.nextPosition();
+        List<Object> statements = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (padded) {
+            Object argsType = astHelper.createParameterizedType("java.util.List", "java.lang.Object");
+            Object newArgs = astHelper.createNewClass(
+                    astHelper.createParameterizedType("java.util.ArrayList", "java.lang.Object"), new Object[]{});
+            statements.add(astHelper.createLocalVariable(argsName, argsType, newArgs));
+        }
+
+        List<Integer> listPlaceholders = new ArrayList<>();
+        List<String> listBuckets = new ArrayList<>();
+        for (int i = 0; i < params.size(); i++) {
+            String name = i == chunkedParam ? chunkName : params.get(i).getName();
+            Object value = astHelper.createIdent(name);
+            if (arrayTypes.containsKey(i)) {
+                String arrayName = uniqueName(name + "Array", paramNames);
+                statements.add(parameterProcessor.createArrayParameter(name, arrayName, arrayTypes.get(i), paramNames));
+                value = astHelper.createIdent(arrayName);
+            } else if (inListParams.contains(i)) {
+                String bucketName = uniqueName(name + "Bucket", paramNames);
+                boolean notIn = findNotInPredicate(boundSql, placeholders.get(i)) != null;
+                if (i != chunkedParam && dialect.getMaxInListSize() < Integer.MAX_VALUE) {
+                    statements.add(parameterProcessor.createInListLimitCheck(name, dialect.getMaxInListSize(), dialect.getName()));
+                }
+                statements.add(parameterProcessor.createInListBucket(name, bucketName, maxBucket, notIn));
+                statements.addAll(parameterProcessor.createInClauseProcessing(name, bucketName, argsName));
+                listPlaceholders.add(placeholders.get(i));
+                listBuckets.add(bucketName);
+                continue;
+            }
+            if (padded) {
+                Object add = astHelper.createFieldAccess(astHelper.createIdent(argsName), "add");
+                statements.add(astHelper.createExpressionStatement(astHelper.createMethodCall(add, value)));
+            } else {
+                args.add(value);
+            }
+        }
+
+        Object sqlExpression;
+        Object bindValues;
+        if (padded) {
+            if (sqlConstants && inListShapes && listPlaceholders.size() == 1) {
+                int at = listPlaceholders.get(0);
+                int[] notIn = findNotInPredicate(boundSql, at);
+                String emptySql = notIn != null
+                        ? boundSql.substring(0, notIn[0]) + "1 = 1" + boundSql.substring(notIn[1]) : null;
+                sqlExpression = createInListSqlConstant(boundSql, at, maxBucket, emptySql, listBuckets.get(0), astHelper);
+            } else {
+                sqlExpression = null;
+                int segmentStart = 0;
+                for (int k = 0; k < listPlaceholders.size(); k++) {
+                    int at = listPlaceholders.get(k);
+                    int[] notIn = findNotInPredicate(boundSql, at);
+                    Object segment = astHelper.createLiteral(boundSql.substring(segmentStart, notIn != null ? notIn[0] : at));
+                    Object prefix = sqlExpression == null ? segment : astHelper.createBinaryExpression(sqlExpression, "+", segment);
+                    Object list = parameterProcessor.createInListPlaceholders(listBuckets.get(k));
+                    if (notIn != null) {
+                        // (idsBucket == 0 ? "1 = 1" : "id NOT IN (" + placeholders + ")")
+                        list = astHelper.createBinaryExpression(astHelper.createBinaryExpression(
+                                astHelper.createLiteral(boundSql.substring(notIn[0], at)), "+", list), "+",
+                                astHelper.createLiteral(boundSql.substring(at + 1, notIn[1])));
+                        astHelper.nextPosition();
+                        list = astHelper.createConditionalExpression(astHelper.createBinaryExpression(
+                                astHelper.createIdent(listBuckets.get(k)), "==", astHelper.createLiteral(0)),
+                                astHelper.createLiteral("1 = 1"), list);
+                    }
+                    sqlExpression = astHelper.createBinaryExpression(prefix, "+", list);
+                    segmentStart = notIn != null ? notIn[1] : at + 1;
+                }
+                sqlExpression = astHelper.createBinaryExpression(sqlExpression, "+",
+                        astHelper.createLiteral(boundSql.substring(segmentStart)));
+            }
+            bindValues = astHelper.createMethodCall(astHelper.createFieldAccess(astHelper.createIdent(argsName), "toArray"));
+        } else {
+            sqlExpression = createSqlLiteral(boundSql, astHelper);
+            bindValues = astHelper.createArrayInitializer("Object", args);
+        }
+        lastSql = boundSql;
+        astHelper.nextPosition();
+        InListBinding binding = new InListBinding(statements, sqlExpression, bindValues);
+        if (chunkName != null) {
+            binding.chunk(params.get(chunkedParam).getName(), chunkName, chunkType, chunkSize);
+        }
+        return binding;
+    }
+
+    /**
+     * Replace the IN predicate around the placeholder at [start, end) ("col IN (?)", "col NOT IN (:ids)")
+     * with the dialect's array condition, or return null when the placeholder is not a whole IN list
+     */
+    public String replaceInWithArrayCondition(String sql, int start, int end) {
+        Matcher prefix = IN_LIST_PREFIX.matcher(sql.substring(0, start));
+        Matcher suffix = IN_LIST_SUFFIX.matcher(sql.substring(end));
+        if (!dialect.supportsArrayBinding() || !prefix.find() || !suffix.lookingAt()) {
+            return null;
+        }
+        String condition = dialect.getArrayInCondition(prefix.group(1)).replace("?", sql.substring(start, end));
+        if (prefix.group(2) != null) {
+            condition = "NOT (" + condition + ")";
+        }
+        return sql.substring(0, prefix.start()) + condition + sql.substring(end + suffix.end());
+    }
+
+    /**
+     * Bounds [start, end) of the "col NOT IN (?)" predicate around a placeholder, or null for a plain IN list
+     */
+    private int[] findNotInPredicate(String sql, int placeholder) {
+        Matcher prefix = IN_LIST_PREFIX.matcher(sql.substring(0, placeholder));
+        Matcher suffix = IN_LIST_SUFFIX.matcher(sql.substring(placeholder + 1));
+        if (!prefix.find() || prefix.group(2) == null || !suffix.lookingAt()) {
+            return null;
+        }
+        return new int[]{prefix.start(), placeholder + 1 + suffix.end()};
+    }
+
+    private List<Integer> findPlaceholders(String sql) {
+        List<Integer> placeholders = new ArrayList<>();
+        for (int i = sql.indexOf('?'); i >= 0; i = sql.indexOf('?', i + 1)) {
+            placeholders.add(i);
+        }
+        return placeholders;
+    }
+
+    /**
+     * Return (or for void methods run) the result after the IN list preparation. A chunked binding
+     * becomes InListChunks.&lt;chunkMethod&gt;(ids, chunkSize, [parallelism,] (List&lt;E&gt; idsChunk) -&gt; { ... })
+     */
+    private Object withInLists(InListBinding binding, Object result, boolean isVoid, String chunkMethod,
+                               TreeBuilder astHelper) throws Exception {
+        List<Object> statements = binding != null ? new ArrayList<>(binding.statements) : new ArrayList<>();
+        if (binding != null && binding.chunkName != null) {
+            statements.add(astHelper.createReturnStatement(result));
+            List<Object> lambdaParams = new ArrayList<>();
+            lambdaParams.add(astHelper.createParameter(binding.chunkName,
+                    astHelper.createParameterizedType("java.util.List", binding.chunkType)));
+            astHelper.nextPosition();
+            Object lambda = astHelper.createLambda(lambdaParams, astHelper.createBlock(statements));
+            astHelper.nextPosition();
+
+            List<Object> args = new ArrayList<>();
+            args.add(astHelper.createIdent(binding.chunkedParam));
+            args.add(astHelper.createLiteral(binding.chunkSize));
+            if (!"exists".equals(chunkMethod)) {
+                args.add(astHelper.createLiteral(inChunkParallelism));
+            }
+            args.add(lambda);
+            result = astHelper.createMethodCall(astHelper.createFieldAccess(
+                    astHelper.createQualifiedIdent("io.github.simplesqlgen.chunk.InListChunks"), chunkMethod), args.toArray());
+            statements = new ArrayList<>();
+        }
+        Object statement = isVoid ? astHelper.createExpressionStatement(result) : astHelper.createReturnStatement(result);
+        if (binding == null) {
+            return statement;
+        }
+        statements.add(statement);
+        return statements.size() == 1 ? statement : astHelper.createBlock(statements);
+    }
+
+    private String uniqueName(String baseName, List<String> takenNames) {
+        String name = baseName;
+        while (takenNames.contains(name)) {
+            name = name + "_";
+        }
+        return name;
+    }
+
+    private Object createCountImplementation(String sql, ExecutableElement methodElement, TreeBuilder astHelper) throws Exception {
+        Object jdbcTemplateAccess = astHelper.createFieldAccess("this", "jdbcTemplate");
+        
+        Object queryForObjectMethod = astHelper.createFieldAccess(jdbcTemplateAccess, "queryForObject");
+        
+        Object longClassLiteral = astHelper.createClassLiteral("java.lang.Long");
         
         List<? extends javax.lang.model.element.VariableElement> params = methodElement.getParameters();
         Object paramArgs = null;
-        if (params != null && !params.isEmpty()) {
+        InListBinding inLists = bindInLists(sql, methodElement, true, astHelper);
+        Object sqlLiteral = inLists != null ? inLists.sql : createSqlLiteral(sql, astHelper);
+        if (inLists != null) {
+            paramArgs = inLists.args;
+        } else if (params != null && !params.isEmpty()) {
             if (params.size() == 1) {
                 String name = params.get(0).getSimpleName().toString();
-                paramArgs = astHelper.getClass().getMethod("createIdent", String.class).invoke(astHelper, name);
+                paramArgs = astHelper.createIdent(name);
             } else {
                 List<Object> elements = new ArrayList<>();
                 for (javax.lang.model.element.VariableElement ve : params) {
                     String name = ve.getSimpleName().toString();
-                    Object ident = astHelper.getClass().getMethod("createIdent", String.class).invoke(astHelper, name);
+                    Object ident = astHelper.createIdent(name);
                     elements.add(ident);
                 }
-                paramArgs = astHelper.getClass().getMethod("createArrayInitializer", String.class, List.class)
-                        .invoke(astHelper, "Object", elements);
+                paramArgs = astHelper.createArrayInitializer("Object", elements);
             }
         }
         
         Object queryCall;
         if (paramArgs == null) {
-            queryCall = astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                    .invoke(astHelper, queryForObjectMethod, new Object[]{sqlLiteral, longClassLiteral});
+            queryCall = astHelper.createMethodCall(queryForObjectMethod, new Object[]{sqlLiteral, longClassLiteral});
         } else {
-            queryCall = astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                    .invoke(astHelper, queryForObjectMethod, new Object[]{sqlLiteral, longClassLiteral, paramArgs});
+            queryCall = astHelper.createMethodCall(queryForObjectMethod, new Object[]{sqlLiteral, longClassLiteral, paramArgs});
         }
         
-        Object longType = astHelper.getClass().getMethod("createQualifiedIdent", String.class)
-                .invoke(astHelper, "Long");
+        Object longType = astHelper.createQualifiedIdent("Long");
         
         try {
-            Object castedCall = astHelper.getClass().getMethod("createTypeCast", Object.class, Object.class)
-                    .invoke(astHelper, longType, queryCall);
-            return astHelper.getClass().getMethod("createReturnStatement", Object.class).invoke(astHelper, castedCall);
+            Object castedCall = astHelper.createTypeCast(longType, queryCall);
+            return withInLists(inLists, castedCall, false, "count", astHelper);
         } catch (Exception e) {
-            return astHelper.getClass().getMethod("createReturnStatement", Object.class).invoke(astHelper, queryCall);
+            return withInLists(inLists, queryCall, false, "count", astHelper);
         }
     }
 
-    private Object createDeleteImplementation(String sql, ExecutableElement methodElement, Object astHelper) throws Exception {
-        Object jdbcTemplateAccess = astHelper.getClass().getMethod("createFieldAccess", String.class, String.class)
-                .invoke(astHelper, "this", "jdbcTemplate");
-        Object updateMethod = astHelper.getClass().getMethod("createFieldAccess", Object.class, String.class)
-                .invoke(astHelper, jdbcTemplateAccess, "update");
-        
-        Object sqlLiteral = astHelper.getClass().getMethod("createLiteral", String.class).invoke(astHelper, sql);
+    private Object createDeleteImplementation(String sql, ExecutableElement methodElement, TreeBuilder astHelper) throws Exception {
+        Object jdbcTemplateAccess = astHelper.createFieldAccess("this", "jdbcTemplate");
+        Object updateMethod = astHelper.createFieldAccess(jdbcTemplateAccess, "update");
         
         List<? extends javax.lang.model.element.VariableElement> params = methodElement.getParameters();
         Object paramArray = null;
-        if (params != null && !params.isEmpty()) {
+        InListBinding inLists = bindInLists(sql, methodElement, true, astHelper);
+        Object sqlLiteral = inLists != null ? inLists.sql : createSqlLiteral(sql, astHelper);
+        if (inLists != null) {
+            paramArray = inLists.args;
+        } else if (params != null && !params.isEmpty()) {
             List<Object> elements = new ArrayList<>();
             for (javax.lang.model.element.VariableElement ve : params) {
                 String name = ve.getSimpleName().toString();
-                Object ident = astHelper.getClass().getMethod("createIdent", String.class).invoke(astHelper, name);
+                Object ident = astHelper.createIdent(name);
                 elements.add(ident);
             }
-            paramArray = astHelper.getClass().getMethod("createArrayInitializer", String.class, List.class)
-                    .invoke(astHelper, "Object", elements);
+            paramArray = astHelper.createArrayInitializer("Object", elements);
         }
         
         Object updateCall;
         if (paramArray == null) {
-            updateCall = astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                    .invoke(astHelper, updateMethod, new Object[]{sqlLiteral});
+            updateCall = astHelper.createMethodCall(updateMethod, new Object[]{sqlLiteral});
         } else {
-            updateCall = astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                    .invoke(astHelper, updateMethod, new Object[]{sqlLiteral, paramArray});
+            updateCall = astHelper.createMethodCall(updateMethod, new Object[]{sqlLiteral, paramArray});
         }
         
         TypeMirror returnType = methodElement.getReturnType();
         String returnTypeStr = returnType.toString();
         boolean isVoid = "void".equals(returnTypeStr) || returnType.getKind().toString().equals("VOID");
         
-        if (isVoid) {
-            return astHelper.getClass().getMethod("createExpressionStatement", Object.class).invoke(astHelper, updateCall);
-        } else {
-            return astHelper.getClass().getMethod("createReturnStatement", Object.class).invoke(astHelper, updateCall);
-        }
+        return withInLists(inLists, updateCall, isVoid, "update", astHelper);
     }
 
-    private Object createExistsImplementation(String sql, ExecutableElement methodElement, Object astHelper) throws Exception {
-        Object jdbcTemplateAccess = astHelper.getClass().getMethod("createFieldAccess", String.class, String.class)
-                .invoke(astHelper, "this", "jdbcTemplate");
-        Object queryForObjectMethod = astHelper.getClass().getMethod("createFieldAccess", Object.class, String.class)
-                .invoke(astHelper, jdbcTemplateAccess, "queryForObject");
+    private Object createExistsImplementation(String sql, ExecutableElement methodElement, TreeBuilder astHelper) throws Exception {
+        Object jdbcTemplateAccess = astHelper.createFieldAccess("this", "jdbcTemplate");
+        Object queryForObjectMethod = astHelper.createFieldAccess(jdbcTemplateAccess, "queryForObject");
         
-        Object sqlLiteral = astHelper.getClass().getMethod("createLiteral", String.class).invoke(astHelper, sql);
-        Object longClassLiteral = astHelper.getClass().getMethod("createClassLiteral", String.class)
-                .invoke(astHelper, "java.lang.Long");
+        Object longClassLiteral = astHelper.createClassLiteral("java.lang.Long");
         
         List<? extends javax.lang.model.element.VariableElement> params = methodElement.getParameters();
         Object paramArray = null;
-        if (params != null && !params.isEmpty()) {
+        InListBinding inLists = bindInLists(sql, methodElement, true, astHelper);
+        Object sqlLiteral = inLists != null ? inLists.sql : createSqlLiteral(sql, astHelper);
+        if (inLists != null) {
+            paramArray = inLists.args;
+        } else if (params != null && !params.isEmpty()) {
             List<Object> elements = new ArrayList<>();
             for (javax.lang.model.element.VariableElement ve : params) {
                 String name = ve.getSimpleName().toString();
-                Object ident = astHelper.getClass().getMethod("createIdent", String.class).invoke(astHelper, name);
+                Object ident = astHelper.createIdent(name);
                 elements.add(ident);
             }
-            paramArray = astHelper.getClass().getMethod("createArrayInitializer", String.class, List.class)
-                    .invoke(astHelper, "Object", elements);
+            paramArray = astHelper.createArrayInitializer("Object", elements);
         }
         
         Object queryCall;
         if (paramArray == null) {
-            queryCall = astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                    .invoke(astHelper, queryForObjectMethod, new Object[]{sqlLiteral, longClassLiteral});
+            queryCall = astHelper.createMethodCall(queryForObjectMethod, new Object[]{sqlLiteral, longClassLiteral});
         } else {
-            queryCall = astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                    .invoke(astHelper, queryForObjectMethod, new Object[]{sqlLiteral, longClassLiteral, paramArray});
+            queryCall = astHelper.createMethodCall(queryForObjectMethod, new Object[]{sqlLiteral, longClassLiteral, paramArray});
         }
         
         Object valueForCompare = queryCall;
         try {
-            Object longType = astHelper.getClass().getMethod("createQualifiedIdent", String.class)
-                    .invoke(astHelper, "Long");
-            valueForCompare = astHelper.getClass().getMethod("createTypeCast", Object.class, Object.class)
-                    .invoke(astHelper, longType, queryCall);
+            Object longType = astHelper.createQualifiedIdent("Long");
+            valueForCompare = astHelper.createTypeCast(longType, queryCall);
         } catch (Exception ignore) { }
         
-        Object zeroLiteral = astHelper.getClass().getMethod("createLiteral", Object.class).invoke(astHelper, 0L);
-        Object comparison = astHelper.getClass().getMethod("createBinaryExpression", Object.class, String.class, Object.class)
-                .invoke(astHelper, valueForCompare, ">", zeroLiteral);
+        Object zeroLiteral = astHelper.createLiteral(0L);
+        Object comparison = astHelper.createBinaryExpression(valueForCompare, ">", zeroLiteral);
         
-        return astHelper.getClass().getMethod("createReturnStatement", Object.class).invoke(astHelper, comparison);
+        return withInLists(inLists, comparison, false, "exists", astHelper);
     }
 
-    private Object createFindAllQueryImplementation(String sql, String entityFqn, Object astHelper) throws Exception {
-        Object jdbcTemplateAccess = astHelper.getClass().getMethod("createFieldAccess", String.class, String.class)
-                .invoke(astHelper, "this", "jdbcTemplate");
-        Object queryMethod = astHelper.getClass().getMethod("createFieldAccess", Object.class, String.class)
-                .invoke(astHelper, jdbcTemplateAccess, "query");
+    private Object createFindAllQueryImplementation(String sql, String entityFqn, TreeBuilder astHelper) throws Exception {
+        Object jdbcTemplateAccess = astHelper.createFieldAccess("this", "jdbcTemplate");
+        Object queryMethod = astHelper.createFieldAccess(jdbcTemplateAccess, "query");
         
-        Object sqlLiteral = astHelper.getClass().getMethod("createLiteral", String.class).invoke(astHelper, sql);
-        Object rowMapper = astHelper.getClass().getMethod("createBeanPropertyRowMapper", String.class)
-                .invoke(astHelper, getSimpleClassName(entityFqn));
+        Object sqlLiteral = createSqlLiteral(sql, astHelper);
+        Object rowMapper = createEntityRowMapper(entityFqn, astHelper);
         
-        Object queryCall = astHelper.getClass().getMethod("createMethodCall", Object.class, Object[].class)
-                .invoke(astHelper, queryMethod, new Object[]{sqlLiteral, rowMapper});
+        Object queryCall = astHelper.createMethodCall(queryMethod, new Object[]{sqlLiteral, rowMapper});
         
-        return astHelper.getClass().getMethod("createReturnStatement", Object.class).invoke(astHelper, queryCall);
+        return astHelper.createReturnStatement(queryCall);
+    }
+
+    /**
+     * Streaming statement setter binding prepared IN list values:
+     * (java.sql.PreparedStatement ps) -&gt; { ps.setFetchSize(n); new ArgumentPreparedStatementSetter(args).setValues(ps); }
+     */
+    private Object createInListStreamingSetter(Object bindValues, List<String> paramNames, TreeBuilder astHelper) throws Exception {
+        String psName = uniqueName("ps", paramNames);
+        astHelper.nextPosition();
+        List<Object> statements = new ArrayList<>();
+        if (fetchSize > 0) {
+            statements.add(astHelper.createExpressionStatement(astHelper.createMethodCall(
+                    astHelper.createFieldAccess(astHelper.createIdent(psName), "setFetchSize"), astHelper.createLiteral(fetchSize))));
+        }
+        Object setter = astHelper.createNewClass(
+                astHelper.createQualifiedIdent("org.springframework.jdbc.core.ArgumentPreparedStatementSetter"), new Object[]{bindValues});
+        statements.add(astHelper.createExpressionStatement(astHelper.createMethodCall(
+                astHelper.createFieldAccess(setter, "setValues"), astHelper.createIdent(psName))));
+
+        List<Object> params = new ArrayList<>();
+        params.add(astHelper.createParameter(psName, astHelper.createQualifiedIdent("java.sql.PreparedStatement")));
+        Object lambda = astHelper.createLambda(params, astHelper.createBlock(statements));
+        astHelper.nextPosition();
+        return lambda;
+    }
+
+    private boolean isStreamReturnType(ExecutableElement methodElement) {
+        return methodElement.getReturnType().toString().startsWith("java.util.stream.Stream");
+    }
+
+    /**
+     * Reference the generated entity RowMapper constant, or fall back to BeanPropertyRowMapper
+     */
+    private Object createEntityRowMapper(String entityFqn, TreeBuilder astHelper) throws Exception {
+        if (entityRowMapperField != null) {
+            return astHelper.createIdent(entityRowMapperField);
+        }
+        return astHelper.createBeanPropertyRowMapper(getSimpleClassName(entityFqn));
     }
 
     private String getSimpleClassName(String fullyQualifiedName) {
@@ -850,6 +1811,10 @@ public class SqlGenerator {
         if (fieldName == null || fieldName.isEmpty()) {
             return "get" + fieldName;
         }
+        String getter = entityGetters.get(fieldName);
+        if (getter != null) {
+            return getter;
+        }
         
         if ("active".equals(fieldName) || "available".equals(fieldName) || 
             "enabled".equals(fieldName) || "valid".equals(fieldName) ||
@@ -862,6 +1827,33 @@ public class SqlGenerator {
         return "get" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
     }
 
+    /**
+     * Statements preparing padded IN lists, the SQL expression they produce and the bind values;
+     * a chunked binding refers to its collection through chunkName
+     */
+    private static class InListBinding {
+        final List<Object> statements;
+        final Object sql;
+        final Object args;
+        String chunkedParam;
+        String chunkName;
+        String chunkType;
+        int chunkSize;
+
+        InListBinding(List<Object> statements, Object sql, Object args) {
+            this.statements = statements;
+            this.sql = sql;
+            this.args = args;
+        }
+
+        void chunk(String chunkedParam, String chunkName, String chunkType, int chunkSize) {
+            this.chunkedParam = chunkedParam;
+            this.chunkName = chunkName;
+            this.chunkType = chunkType;
+            this.chunkSize = chunkSize;
+        }
+    }
+
     /**
      * Class to hold query method information
      */
@@ -870,6 +1862,9 @@ public class SqlGenerator {
         private List<String> fields = new ArrayList<>();
         private List<String> operators = new ArrayList<>();
         private List<String> logicalOperators = new ArrayList<>();
+        private List<String> orderBy = new ArrayList<>();
+        private Integer limit;
+        private boolean limitParameter;
 
         public String getOperation() { return operation; }
         public void setOperation(String operation) { this.operation = operation; }
@@ -882,5 +1877,14 @@ public class SqlGenerator {
 
         public List<String> getLogicalOperators() { return logicalOperators; }
         public void setLogicalOperators(List<String> logicalOperators) { this.logicalOperators = logicalOperators; }
+
+        public List<String> getOrderBy() { return orderBy; }
+        public void setOrderBy(List<String> orderBy) { this.orderBy = orderBy; }
+
+        public Integer getLimit() { return limit; }
+        public void setLimit(Integer limit) { this.limit = limit; }
+
+        public boolean isLimitParameter() { return limitParameter; }
+        public void setLimitParameter(boolean limitParameter) { this.limitParameter = limitParameter; }
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package io.github.simplesqlgen.processor.sql.dialect;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Base dialect: LIMIT paging, keyword-only identifier quoting, no upsert/RETURNING/array binding
+ */
+public abstract class AbstractDialect implements Dialect {
+
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList(
+        "user", "order", "group", "select", "from", "where", "table", "column", "index", "key",
+        "value", "values", "date", "time", "timestamp", "level", "comment", "size", "type", "limit",
+        "offset", "rows", "row", "check", "default", "number", "desc", "asc", "range", "position"
+    ));
+
+    @Override
+    public String quoteIdentifier(String identifier) {
+        if (identifier == null || identifier.isEmpty()) {
+            return identifier;
+        }
+        if (identifier.indexOf('.') >= 0) {
+            String[] parts = identifier.split("\\.");
+            StringBuilder quoted = new StringBuilder();
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) quoted.append('.');
+                quoted.append(quoteIdentifier(parts[i]));
+            }
+            return quoted.toString();
+        }
+        if (!KEYWORDS.contains(identifier.toLowerCase(Locale.ROOT))) {
+            return identifier;
+        }
+        return quote(identifier);
+    }
+
+    /**
+     * Quote a single identifier part with the dialect's delimiters
+     */
+    protected String quote(String identifier) {
+        return "\"" + identifier + "\"";
+    }
+
+    @Override
+    public String applyLimit(String sql, String rowCount) {
+        return sql + " LIMIT " + rowCount;
+    }
+
+    @Override
+    public String getUpsertSql(String tableName, List<String> columns, String keyColumn) {
+        return null;
+    }
+
+    @Override
+    public boolean supportsReturning() {
+        return false;
+    }
+
+    @Override
+    public String getReturningClause(List<String> columns) {
+        return " RETURNING " + String.join(", ", columns);
+    }
+
+    @Override
+    public int getMaxInListSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public boolean supportsArrayBinding() {
+        return false;
+    }
+
+    @Override
+    public String getArrayInCondition(String column) {
+        return column + " = ANY(?)";
+    }
+
+    protected String placeholders(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append('?');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.simplesqlgen.processor.sql.dialect;
+
+import java.util.List;
+
+/**
+ * Database dialect SPI
+ * Selected with -Asimplesqlgen.dialect=&lt;name&gt;; custom dialects are discovered through
+ * META-INF/services/io.github.simplesqlgen.processor.sql.dialect.Dialect on the processor path
+ */
+public interface Dialect {
+
+    /**
+     * Dialect name used by the processor option (lower case)
+     */
+    String getName();
+
+    /**
+     * Quote identifier when it collides with a keyword; other identifiers are returned unchanged
+     */
+    String quoteIdentifier(String identifier);
+
+    /**
+     * Append row limit to a SELECT (rowCount is a literal or "?")
+     */
+    String applyLimit(String sql, String rowCount);
+
+    /**
+     * Insert-or-update statement binding every column once, in the given order; null if unsupported
+     */
+    String getUpsertSql(String tableName, List<String> columns, String keyColumn);
+
+    /**
+     * Whether INSERT ... RETURNING can hand back generated keys as a result set
+     */
+    boolean supportsReturning();
+
+    /**
+     * RETURNING clause for the given columns (only called when {@link #supportsReturning()})
+     */
+    String getReturningClause(List<String> columns);
+
+    /**
+     * Largest number of values a single IN (...) list may hold
+     */
+    int getMaxInListSize();
+
+    /**
+     * Whether a collection can be bound as a single SQL array parameter
+     */
+    boolean supportsArrayBinding();
+
+    /**
+     * Membership predicate with one array placeholder (only called when {@link #supportsArrayBinding()})
+     */
+    String getArrayInCondition(String column);
+}
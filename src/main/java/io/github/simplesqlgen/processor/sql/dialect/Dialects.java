@@ -0,0 +1,54 @@
+package io.github.simplesqlgen.processor.sql.dialect;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Dialect lookup by name: built-in dialects first, then ServiceLoader-registered ones
+ */
+public final class Dialects {
+
+    private static final Map<String, Dialect> BUILT_IN = new LinkedHashMap<>();
+    static {
+        register(new GenericDialect(), "generic", "ansi");
+        register(new MySqlDialect(), "mysql", "mariadb");
+        register(new PostgreSqlDialect(), "postgresql", "postgres");
+        register(new OracleDialect(), "oracle");
+        register(new H2Dialect(), "h2");
+    }
+
+    private Dialects() {
+    }
+
+    private static void register(Dialect dialect, String... names) {
+        for (String name : names) {
+            BUILT_IN.put(name, dialect);
+        }
+    }
+
+    public static Dialect getDefault() {
+        return BUILT_IN.get("generic");
+    }
+
+    /**
+     * Resolve dialect by name; returns null when no dialect matches
+     */
+    public static Dialect forName(String name, ClassLoader classLoader) {
+        if (name == null || name.trim().isEmpty()) {
+            return getDefault();
+        }
+        String key = name.trim().toLowerCase(Locale.ROOT);
+        Dialect builtIn = BUILT_IN.get(key);
+        if (builtIn != null) {
+            return builtIn;
+        }
+        for (Dialect dialect : ServiceLoader.load(Dialect.class, classLoader)) {
+            if (key.equals(dialect.getName().toLowerCase(Locale.ROOT))) {
+                return dialect;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.simplesqlgen.processor.sql.dialect;
+
+/**
+ * Default dialect: emits SQL as before (LIMIT, unquoted identifiers)
+ */
+public class GenericDialect extends AbstractDialect {
+
+    @Override
+    public String getName() {
+        return "generic";
+    }
+
+    @Override
+    public String quoteIdentifier(String identifier) {
+        return identifier;
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.simplesqlgen.processor.sql.dialect;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * H2: MERGE ... KEY upserts and = ANY(?) array binding
+ */
+public class H2Dialect extends AbstractDialect {
+
+    @Override
+    public String getName() {
+        return "h2";
+    }
+
+    @Override
+    protected String quote(String identifier) {
+        return "\"" + identifier.toUpperCase(Locale.ROOT) + "\"";
+    }
+
+    @Override
+    public String getUpsertSql(String tableName, List<String> columns, String keyColumn) {
+        return "MERGE INTO " + tableName + " (" + String.join(", ", columns) + ") KEY (" + keyColumn
+                + ") VALUES (" + placeholders(columns.size()) + ")";
+    }
+
+    @Override
+    public boolean supportsArrayBinding() {
+        return true;
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.simplesqlgen.processor.sql.dialect;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MySQL / MariaDB: backtick quoting, INSERT ... ON DUPLICATE KEY UPDATE upserts
+ */
+public class MySqlDialect extends AbstractDialect {
+
+    @Override
+    public String getName() {
+        return "mysql";
+    }
+
+    @Override
+    protected String quote(String identifier) {
+        return "`" + identifier + "`";
+    }
+
+    @Override
+    public String getUpsertSql(String tableName, List<String> columns, String keyColumn) {
+        List<String> updates = new ArrayList<>();
+        for (String column : columns) {
+            if (!column.equals(keyColumn)) {
+                updates.add(column + " = VALUES(" + column + ")");
+            }
+        }
+        if (updates.isEmpty()) {
+            updates.add(keyColumn + " = " + keyColumn);
+        }
+        return "INSERT INTO " + tableName + " (" + String.join(", ", columns) + ") VALUES ("
+                + placeholders(columns.size()) + ") ON DUPLICATE KEY UPDATE " + String.join(", ", updates);
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.simplesqlgen.processor.sql.dialect;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Oracle 12c+: FETCH FIRST paging, MERGE upserts and IN lists of at most 1000 values
+ */
+public class OracleDialect extends AbstractDialect {
+
+    @Override
+    public String getName() {
+        return "oracle";
+    }
+
+    @Override
+    protected String quote(String identifier) {
+        return "\"" + identifier.toUpperCase(Locale.ROOT) + "\"";
+    }
+
+    @Override
+    public String applyLimit(String sql, String rowCount) {
+        return sql + " FETCH FIRST " + rowCount + " ROWS ONLY";
+    }
+
+    @Override
+    public int getMaxInListSize() {
+        return 1000;
+    }
+
+    @Override
+    public String getUpsertSql(String tableName, List<String> columns, String keyColumn) {
+        List<String> selected = new ArrayList<>();
+        List<String> updates = new ArrayList<>();
+        List<String> inserted = new ArrayList<>();
+        for (String column : columns) {
+            selected.add("? AS " + column);
+            inserted.add("s." + column);
+            if (!column.equals(keyColumn)) {
+                updates.add("t." + column + " = s." + column);
+            }
+        }
+        StringBuilder sql = new StringBuilder("MERGE INTO ").append(tableName).append(" t USING (SELECT ")
+                .append(String.join(", ", selected)).append(" FROM dual) s ON (t.").append(keyColumn)
+                .append(" = s.").append(keyColumn).append(")");
+        if (!updates.isEmpty()) {
+            sql.append(" WHEN MATCHED THEN UPDATE SET ").append(String.join(", ", updates));
+        }
+        sql.append(" WHEN NOT MATCHED THEN INSERT (").append(String.join(", ", columns)).append(") VALUES (")
+                .append(String.join(", ", inserted)).append(")");
+        return sql.toString();
+    }
+}
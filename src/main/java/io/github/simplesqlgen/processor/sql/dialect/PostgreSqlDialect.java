@@ -0,0 +1,38 @@
+package io.github.simplesqlgen.processor.sql.dialect;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PostgreSQL: ON CONFLICT upserts, RETURNING keys and = ANY(?) array binding
+ */
+public class PostgreSqlDialect extends AbstractDialect {
+
+    @Override
+    public String getName() {
+        return "postgresql";
+    }
+
+    @Override
+    public String getUpsertSql(String tableName, List<String> columns, String keyColumn) {
+        List<String> updates = new ArrayList<>();
+        for (String column : columns) {
+            if (!column.equals(keyColumn)) {
+                updates.add(column + " = EXCLUDED." + column);
+            }
+        }
+        String conflictAction = updates.isEmpty() ? "DO NOTHING" : "DO UPDATE SET " + String.join(", ", updates);
+        return "INSERT INTO " + tableName + " (" + String.join(", ", columns) + ") VALUES ("
+                + placeholders(columns.size()) + ") ON CONFLICT (" + keyColumn + ") " + conflictAction;
+    }
+
+    @Override
+    public boolean supportsReturning() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsArrayBinding() {
+        return true;
+    }
+}
@@ -0,0 +1,240 @@
+package io.github.simplesqlgen.processor.stats;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compile-time cost of the processor, collected when -Asimplesqlgen.stats=true
+ * Times are accumulated per class and per method for each processing phase and rendered
+ * as a one-line summary per class plus a JSON report for CI trend tracking.
+ */
+public class ProcessingStats {
+
+    public enum Phase {
+        ENTITY_ANALYSIS("entityAnalysis", "entity analysis"),
+        METHOD_PARSING("methodParsing", "method parsing"),
+        SQL_GENERATION("sqlGeneration", "SQL generation"),
+        AST_TRANSFORMATION("astTransformation", "AST transformation");
+
+        private final String key;
+        private final String label;
+
+        Phase(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+
+        public String getKey() { return key; }
+        public String getLabel() { return label; }
+    }
+
+    private final Map<String, ClassStats> classes = new LinkedHashMap<>();
+    private int rounds;
+
+    /**
+     * Stats of the class, created on first use and kept across rounds
+     */
+    public ClassStats forClass(String className) {
+        return classes.computeIfAbsent(className, ClassStats::new);
+    }
+
+    public void roundCompleted() {
+        rounds++;
+    }
+
+    public boolean isEmpty() {
+        return classes.isEmpty();
+    }
+
+    public long getTotalNanos(Phase phase) {
+        long total = 0;
+        for (ClassStats classStats : classes.values()) {
+            total += classStats.getNanos(phase);
+        }
+        return total;
+    }
+
+    /**
+     * Summary lines for the compiler log: the totals first, then one line per class
+     */
+    public List<String> toSummary() {
+        List<String> lines = new ArrayList<>();
+        int methods = 0;
+        int transformed = 0;
+        long total = 0;
+        for (ClassStats classStats : classes.values()) {
+            methods += classStats.methods.size();
+            transformed += classStats.getTransformedCount();
+            total += classStats.getTotalNanos();
+        }
+        long[] phaseNanos = new long[Phase.values().length];
+        for (Phase phase : Phase.values()) {
+            phaseNanos[phase.ordinal()] = getTotalNanos(phase);
+        }
+        lines.add("SqlProcessor stats: " + classes.size() + " classes, " + methods + " methods ("
+                + transformed + " transformed, " + (methods - transformed) + " skipped) in "
+                + formatMillis(total) + " ms over " + rounds + " rounds " + formatPhases(phaseNanos));
+        for (ClassStats classStats : classes.values()) {
+            lines.add("  " + classStats.name + ": " + classStats.methods.size() + " methods ("
+                    + classStats.getTransformedCount() + " transformed, " + classStats.getSkippedCount()
+                    + " skipped) in " + formatMillis(classStats.getTotalNanos()) + " ms "
+                    + formatPhases(classStats.phaseNanos));
+        }
+        return lines;
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"rounds\": ").append(rounds).append(",\n");
+        json.append("  \"classes\": [");
+        boolean firstClass = true;
+        for (ClassStats classStats : classes.values()) {
+            json.append(firstClass ? "\n" : ",\n");
+            firstClass = false;
+            json.append("    {\n");
+            json.append("      \"name\": ").append(quote(classStats.name)).append(",\n");
+            json.append("      \"transformed\": ").append(classStats.getTransformedCount()).append(",\n");
+            json.append("      \"skipped\": ").append(classStats.getSkippedCount()).append(",\n");
+            json.append("      \"totalMs\": ").append(formatMillis(classStats.getTotalNanos())).append(",\n");
+            json.append("      \"phases\": ").append(phasesJson(classStats.phaseNanos)).append(",\n");
+            json.append("      \"methods\": [");
+            boolean firstMethod = true;
+            for (MethodStats methodStats : classStats.methods.values()) {
+                json.append(firstMethod ? "\n" : ",\n");
+                firstMethod = false;
+                json.append("        {\"name\": ").append(quote(methodStats.name))
+                        .append(", \"transformed\": ").append(methodStats.transformed)
+                        .append(", \"phases\": ").append(phasesJson(methodStats.phaseNanos)).append('}');
+            }
+            json.append(firstMethod ? "]\n" : "\n      ]\n");
+            json.append("    }");
+        }
+        json.append(firstClass ? "]\n" : "\n  ]\n");
+        return json.append("}\n").toString();
+    }
+
+    private static String formatPhases(long[] phaseNanos) {
+        StringBuilder phases = new StringBuilder("[");
+        for (Phase phase : Phase.values()) {
+            if (phase.ordinal() > 0) {
+                phases.append(", ");
+            }
+            phases.append(phase.getLabel()).append(' ').append(formatMillis(phaseNanos[phase.ordinal()])).append(" ms");
+        }
+        return phases.append(']').toString();
+    }
+
+    private static String phasesJson(long[] phaseNanos) {
+        StringBuilder phases = new StringBuilder("{");
+        for (Phase phase : Phase.values()) {
+            if (phase.ordinal() > 0) {
+                phases.append(", ");
+            }
+            phases.append(quote(phase.getKey() + "Ms")).append(": ").append(formatMillis(phaseNanos[phase.ordinal()]));
+        }
+        return phases.append('}').toString();
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Phase times of one @SqlGenerator class; method times are included in the class totals
+     */
+    public static class ClassStats {
+        private final String name;
+        private final long[] phaseNanos = new long[Phase.values().length];
+        private final Map<String, MethodStats> methods = new LinkedHashMap<>();
+
+        ClassStats(String name) {
+            this.name = name;
+        }
+
+        public String getName() { return name; }
+
+        public MethodStats forMethod(String methodName) {
+            return methods.computeIfAbsent(methodName, key -> new MethodStats(key, this));
+        }
+
+        public void add(Phase phase, long nanos) {
+            phaseNanos[phase.ordinal()] += nanos;
+        }
+
+        public long getNanos(Phase phase) {
+            return phaseNanos[phase.ordinal()];
+        }
+
+        public long getTotalNanos() {
+            long total = 0;
+            for (long nanos : phaseNanos) {
+                total += nanos;
+            }
+            return total;
+        }
+
+        public int getTransformedCount() {
+            int count = 0;
+            for (MethodStats methodStats : methods.values()) {
+                if (methodStats.transformed) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        public int getSkippedCount() {
+            return methods.size() - getTransformedCount();
+        }
+    }
+
+    /**
+     * Phase times of one repository method (overloads share an entry)
+     */
+    public static class MethodStats {
+        private final String name;
+        private final ClassStats owner;
+        private final long[] phaseNanos = new long[Phase.values().length];
+        private boolean transformed;
+
+        MethodStats(String name, ClassStats owner) {
+            this.name = name;
+            this.owner = owner;
+        }
+
+        public String getName() { return name; }
+
+        public void add(Phase phase, long nanos) {
+            phaseNanos[phase.ordinal()] += nanos;
+            owner.add(phase, nanos);
+        }
+
+        public long getNanos(Phase phase) {
+            return phaseNanos[phase.ordinal()];
+        }
+
+        public boolean isTransformed() { return transformed; }
+
+        public void setTransformed(boolean transformed) {
+            this.transformed = this.transformed || transformed;
+        }
+    }
+}
\ No newline at end of file
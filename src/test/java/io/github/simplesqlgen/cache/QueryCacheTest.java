@@ -0,0 +1,114 @@
+package io.github.simplesqlgen.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the QueryCache runtime
+ * Tests eviction, expiry, the hit/miss/eviction counters, argument keys and the registry
+ */
+class QueryCacheTest {
+
+    private static final String REPOSITORY = "com.example.UserRepository";
+
+    @Test
+    @DisplayName("Should evict the least recently used entry past maxSize")
+    void testEviction() {
+        QueryCache cache = new QueryCache(REPOSITORY, "testEviction(java.lang.String)", 2, 0);
+
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertThat(cache.get("a")).isEqualTo(1);
+        cache.put("c", 3);
+
+        assertThat(cache.get("b")).isSameAs(QueryCache.MISS);
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("c")).isEqualTo(3);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop entries once their TTL has passed")
+    void testTtl() throws InterruptedException {
+        QueryCache cache = new QueryCache(REPOSITORY, "testTtl(java.lang.String)", 10, 20);
+
+        cache.put("a", 1);
+        assertThat(cache.get("a")).isEqualTo(1);
+        Thread.sleep(50);
+
+        assertThat(cache.get("a")).isSameAs(QueryCache.MISS);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count hits and misses, including cached nulls")
+    void testCounters() {
+        QueryCache cache = new QueryCache(REPOSITORY, "testCounters(java.lang.String)", 10, 0);
+
+        assertThat(cache.get("a")).isSameAs(QueryCache.MISS);
+        assertThat(cache.<Object>put("a", null)).isNull();
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("a")).isNull();
+        cache.invalidate("a");
+        assertThat(cache.get("a")).isSameAs(QueryCache.MISS);
+
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should compare argument keys and array contents by value")
+    void testArgumentsKey() {
+        Object key = QueryCache.key(new Object[]{new long[]{1, 2}, "a"});
+
+        assertThat(key).isEqualTo(QueryCache.key(new Object[]{new long[]{1, 2}, "a"}));
+        assertThat(key.hashCode()).isEqualTo(QueryCache.key(new Object[]{new long[]{1, 2}, "a"}).hashCode());
+        assertThat(key).isNotEqualTo(QueryCache.key(new Object[]{new long[]{1, 3}, "a"}));
+        assertThat(QueryCache.key(new Object[]{new String[]{"a"}})).isEqualTo(QueryCache.key(new Object[]{new String[]{"a"}}));
+        assertThat(QueryCache.key(new Object[]{"a"})).isEqualTo("a");
+        assertThat(QueryCache.key(new Object[0])).isSameAs(QueryCache.key(null));
+    }
+
+    @Test
+    @DisplayName("Should store copies of collection arguments and results")
+    void testCopies() {
+        QueryCache cache = new QueryCache(REPOSITORY, "testCopies(java.util.List,long[])", 10, 0);
+        List<Long> ids = new ArrayList<>(List.of(1L, 2L));
+        long[] flags = {1};
+        List<String> rows = new ArrayList<>(List.of("a", "b"));
+
+        List<String> stored = cache.put(QueryCache.key(new Object[]{ids, flags}), rows);
+        rows.add("c");
+        ids.add(3L);
+        flags[0] = 2;
+
+        assertThat(stored).containsExactly("a", "b");
+        assertThatThrownBy(() -> stored.add("d")).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(cache.get(QueryCache.key(new Object[]{ids, flags}))).isSameAs(QueryCache.MISS);
+        assertThat(cache.get(QueryCache.key(new Object[]{List.of(1L, 2L), new long[]{1}}))).isSameAs(stored);
+
+        cache.put(ids, List.of());
+        ids.clear();
+        assertThat(cache.get(List.of(1L, 2L, 3L))).isEqualTo(List.of());
+    }
+
+    @Test
+    @DisplayName("Should register caches by qualified repository name and method signature")
+    void testRegistry() {
+        QueryCache byName = new QueryCache(REPOSITORY, "testRegistry(java.lang.String)", 10, 0);
+        QueryCache byIds = new QueryCache(REPOSITORY, "testRegistry(java.util.List)", 10, 0);
+        QueryCache other = new QueryCache("com.example.admin.UserRepository", "testRegistry(java.lang.String)", 10, 0);
+
+        assertThat(QueryCache.getCache(REPOSITORY + ".testRegistry(java.lang.String)")).isSameAs(byName);
+        assertThat(QueryCache.getCache(REPOSITORY + ".testRegistry(java.util.List)")).isSameAs(byIds);
+        assertThat(QueryCache.getCache("com.example.admin.UserRepository.testRegistry(java.lang.String)")).isSameAs(other);
+        assertThat(QueryCache.getCaches()).contains(byName, byIds, other);
+    }
+}
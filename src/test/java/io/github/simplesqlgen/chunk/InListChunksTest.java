@@ -0,0 +1,119 @@
+package io.github.simplesqlgen.chunk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the InListChunks runtime
+ * Tests splitting, duplicate values, the exists short-circuit, failures on helper threads and executor rejection
+ */
+class InListChunksTest {
+
+    @AfterEach
+    void resetExecutor() {
+        InListChunks.setExecutor(null);
+    }
+
+    @Test
+    @DisplayName("Should split values into consecutive chunks of at most chunkSize")
+    void testSplit() {
+        assertThat(InListChunks.split(List.of(1, 2, 3, 4, 5), 2))
+                .containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+        assertThat(InListChunks.split(new TreeSet<>(Set.of(3, 1, 2)), 2))
+                .containsExactly(List.of(1, 2), List.of(3));
+        assertThat(InListChunks.split(List.of(1, 2), 2)).containsExactly(List.of(1, 2));
+        assertThat(InListChunks.split(List.of(), 2)).containsExactly(List.of());
+        assertThat(InListChunks.split(List.of(1, 2, 3), 0)).containsExactly(List.of(1, 2, 3));
+    }
+
+    @Test
+    @DisplayName("Should match a repeated value in one chunk only")
+    void testDuplicates() {
+        List<Integer> ids = List.of(1, 2, 1, 3, 2, 4);
+
+        assertThat(InListChunks.split(ids, 2)).containsExactly(List.of(1, 2), List.of(3, 4));
+        assertThat(InListChunks.query(ids, 2, 1, chunk -> new ArrayList<>(chunk)))
+                .containsExactly(1, 2, 3, 4);
+        assertThat(InListChunks.count(ids, 2, 1, chunk -> chunk.size())).isEqualTo(4);
+        assertThat(InListChunks.update(ids, 2, 1, chunk -> chunk.size())).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should concatenate results in chunk order when chunks run in parallel")
+    void testParallelQuery() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(i);
+        }
+
+        assertThat(InListChunks.query(ids, 7, 4, chunk -> new ArrayList<>(chunk))).isEqualTo(ids);
+        assertThat(InListChunks.count(ids, 7, 4, chunk -> chunk.size())).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should stop at the first matching chunk")
+    void testExistsShortCircuit() {
+        List<List<Integer>> tested = new ArrayList<>();
+
+        boolean found = InListChunks.exists(List.of(1, 2, 3, 4, 5, 6), 2, chunk -> {
+            tested.add(chunk);
+            return chunk.contains(3);
+        });
+
+        assertThat(found).isTrue();
+        assertThat(tested).containsExactly(List.of(1, 2), List.of(3, 4));
+        assertThat(InListChunks.exists(List.of(1, 2, 3), 2, chunk -> false)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should rethrow a failure raised on a helper thread")
+    void testHelperFailure() {
+        Thread caller = Thread.currentThread();
+        IllegalStateException error = new IllegalStateException("connection lost");
+        // The helper claims every chunk before the caller gets to run any
+        InListChunks.setExecutor(runnable -> {
+            Thread helper = new Thread(runnable);
+            helper.start();
+            try {
+                helper.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThatThrownBy(() -> InListChunks.query(List.of(1, 2, 3, 4), 2, 2, chunk -> {
+            if (Thread.currentThread() != caller) {
+                throw error;
+            }
+            return new ArrayList<>(chunk);
+        })).isSameAs(error);
+    }
+
+    @Test
+    @DisplayName("Should run all chunks on the calling thread when the executor rejects helpers")
+    void testExecutorRejection() {
+        Thread caller = Thread.currentThread();
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        InListChunks.setExecutor(runnable -> {
+            throw new RejectedExecutionException("saturated");
+        });
+
+        long count = InListChunks.count(List.of(1, 2, 3, 4, 5), 2, 4, chunk -> {
+            threads.add(Thread.currentThread());
+            return chunk.size();
+        });
+
+        assertThat(count).isEqualTo(5);
+        assertThat(threads).hasSize(3).containsOnly(caller);
+    }
+}
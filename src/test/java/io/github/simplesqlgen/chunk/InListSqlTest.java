@@ -0,0 +1,68 @@
+package io.github.simplesqlgen.chunk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the InListSql runtime
+ * Tests the empty NOT IN statement, reuse of power-of-two shapes and buckets beyond the table
+ */
+class InListSqlTest {
+
+    private static final String PREFIX = "SELECT id FROM users WHERE id IN (";
+    private static final String SUFFIX = ") AND name = ?";
+
+    @Test
+    @DisplayName("Should return emptySql for bucket 0 of an empty NOT IN list")
+    void testEmptyBucket() {
+        InListSql notIn = new InListSql("SELECT id FROM users WHERE id NOT IN (", ")", 1024,
+                "SELECT id FROM users WHERE 1 = 1");
+        assertThat(notIn.forBucket(0)).isEqualTo("SELECT id FROM users WHERE 1 = 1");
+        assertThat(notIn.forBucket(1)).isEqualTo("SELECT id FROM users WHERE id NOT IN (?)");
+        assertThat(notIn.forBucket(1)).isSameAs(notIn.forBucket(1));
+    }
+
+    @Test
+    @DisplayName("Should build each power-of-two shape once and return the same instance")
+    void testPowerOfTwoReuse() {
+        InListSql sql = new InListSql(PREFIX, SUFFIX, 1024);
+
+        assertThat(sql.forBucket(1)).isEqualTo(PREFIX + "?" + SUFFIX);
+        assertThat(sql.forBucket(4)).isEqualTo(PREFIX + "?, ?, ?, ?" + SUFFIX);
+        assertThat(sql.forBucket(4)).isSameAs(sql.forBucket(4));
+        assertThat(sql.forBucket(1024)).isSameAs(sql.forBucket(1024));
+        assertThat(placeholders(sql.forBucket(1024))).isEqualTo(1024);
+        // Exact sizes outside the bucket sequence are built per call
+        assertThat(sql.forBucket(3)).isEqualTo(PREFIX + "?, ?, ?" + SUFFIX);
+        assertThat(sql.forBucket(3)).isNotSameAs(sql.forBucket(3));
+    }
+
+    @Test
+    @DisplayName("Should build buckets above maxBucket at their exact size")
+    void testAboveMaxBucket() {
+        InListSql sql = new InListSql(PREFIX, SUFFIX, 1024);
+
+        assertThat(placeholders(sql.forBucket(1500))).isEqualTo(1500);
+        assertThat(placeholders(sql.forBucket(2048))).isEqualTo(2048);
+        assertThat(sql.forBucket(2048)).isNotSameAs(sql.forBucket(2048));
+    }
+
+    @Test
+    @DisplayName("Should cache maxBucket itself when it is not a power of two")
+    void testNonPowerOfTwoMaxBucket() {
+        InListSql sql = new InListSql(PREFIX, SUFFIX, 1000);
+
+        assertThat(placeholders(sql.forBucket(512))).isEqualTo(512);
+        assertThat(sql.forBucket(512)).isSameAs(sql.forBucket(512));
+        assertThat(placeholders(sql.forBucket(1000))).isEqualTo(1000);
+        assertThat(sql.forBucket(1000)).isSameAs(sql.forBucket(1000));
+        assertThat(placeholders(sql.forBucket(1001))).isEqualTo(1001);
+        assertThat(placeholders(sql.forBucket(1024))).isEqualTo(1024);
+    }
+
+    private static int placeholders(String sql) {
+        return (int) sql.substring(PREFIX.length() - 1).chars().filter(c -> c == '?').count() - 1;
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.simplesqlgen.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the QueryMetrics runtime
+ * Tests row counting per result type, failure recording and the recorder fallback
+ */
+class QueryMetricsTest {
+
+    private static final QueryMetrics.Key QUERY = new QueryMetrics.Key("com.example.UserRepository", "findByName",
+            "SELECT id, name FROM users WHERE name = ?", false);
+    private static final QueryMetrics.Key UPDATE = new QueryMetrics.Key("com.example.UserRepository", "deleteByName",
+            "DELETE FROM users WHERE name = ?", true);
+
+    private final List<Object[]> recorded = new ArrayList<>();
+
+    @AfterEach
+    void resetRecorder() {
+        QueryMetrics.setRecorder(null);
+    }
+
+    @Test
+    @DisplayName("Should pass results through and count rows by result type")
+    void testRecordRowCounts() {
+        QueryMetrics.setRecorder(this::record);
+        long start = System.nanoTime();
+
+        List<String> rows = List.of("a", "b", "c");
+        assertThat(QueryMetrics.record(QUERY, start, rows)).isSameAs(rows);
+        assertThat(QueryMetrics.record(QUERY, start, Optional.empty())).isEmpty();
+        assertThat(QueryMetrics.record(QUERY, start, (Object) null)).isNull();
+        assertThat(QueryMetrics.record(QUERY, start, "user")).isEqualTo("user");
+        assertThat(QueryMetrics.record(QUERY, start, 42L)).isEqualTo(42L);
+        assertThat(QueryMetrics.record(UPDATE, start, 7)).isEqualTo(7);
+        QueryMetrics.record(UPDATE, start, new int[]{1, 1, 0});
+        QueryMetrics.record(UPDATE, start, new int[][]{{1, 1}, {1}});
+        QueryMetrics.record(QUERY, start, Stream.of("a"));
+        QueryMetrics.record(UPDATE, start);
+
+        assertThat(recorded).extracting(call -> call[2])
+                .containsExactly(3L, 0L, 0L, 1L, 1L, 7L, 2L, 3L, -1L, -1L);
+        assertThat(recorded).allSatisfy(call -> {
+            assertThat((Long) call[1]).isNotNegative();
+            assertThat(call[3]).isNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Should record failures with the thrown exception")
+    void testFailed() {
+        QueryMetrics.setRecorder(this::record);
+        IllegalStateException error = new IllegalStateException("connection lost");
+
+        assertThat(QueryMetrics.failed(QUERY, System.nanoTime(), error)).isSameAs(error);
+
+        assertThat(recorded).hasSize(1);
+        assertThat(recorded.get(0)[0]).isSameAs(QUERY);
+        assertThat(recorded.get(0)[2]).isEqualTo(-1L);
+        assertThat(recorded.get(0)[3]).isSameAs(error);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the no-op recorder when set to null")
+    void testNullRecorder() {
+        QueryMetrics.setRecorder(this::record);
+        QueryMetrics.setRecorder(null);
+
+        assertThat(QueryMetrics.getRecorder()).isSameAs(QueryMetricsRecorder.NOOP);
+        assertThat(QueryMetrics.record(QUERY, System.nanoTime(), "user")).isEqualTo("user");
+        assertThat(recorded).isEmpty();
+    }
+
+    private void record(QueryMetrics.Key key, long durationNanos, long rowCount, Throwable error) {
+        recorded.add(new Object[]{key, durationNanos, rowCount, error});
+    }
+}
@@ -6,10 +6,14 @@ import com.google.testing.compile.Compiler;
 import io.github.simplesqlgen.processor.SqlProcessor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
 
 import javax.tools.JavaFileObject;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static com.google.testing.compile.CompilationSubject.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * Test that demonstrates actual code generation
@@ -186,4 +190,1126 @@ class CodeGenerationTest {
         
         assertThat(compilation).succeeded();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should generate shared entity RowMapper and fall back for unsupported field types")
+    void testEntityRowMapperGeneration() {
+        // Given - Entity with only JDBC-readable field types
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+                private int age;
+                private boolean active;
+                private java.time.LocalDateTime createdAt;
+                
+                public User() {}
+                
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+                public int getAge() { return age; }
+                public void setAge(int age) { this.age = age; }
+                public boolean isActive() { return active; }
+                public void setActive(boolean active) { this.active = active; }
+                public java.time.LocalDateTime getCreatedAt() { return createdAt; }
+                public void setCreatedAt(java.time.LocalDateTime createdAt) { this.createdAt = createdAt; }
+            }
+            """);
+
+        // Given - Entity with an enum field (mapped through BeanPropertyRowMapper)
+        JavaFileObject orderEntity = JavaFileObjects.forSourceString("com.example.Order", """
+            package com.example;
+            
+            public class Order {
+                public enum Status { NEW, PAID }
+                private Long id;
+                private Status status;
+                
+                public Order() {}
+                
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public Status getStatus() { return status; }
+                public void setStatus(Status status) { this.status = status; }
+            }
+            """);
+
+        JavaFileObject userRepository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            
+            @SqlGenerator(entity = User.class, tableName = "users")
+            public class UserRepository {
+                public List<User> findAll() { return null; }
+                public List<User> findByName(String name) { return null; }
+                public User findById(Long id) { return null; }
+            }
+            """);
+
+        JavaFileObject orderRepository = JavaFileObjects.forSourceString("com.example.OrderRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            
+            @SqlGenerator(entity = Order.class, tableName = "orders")
+            public class OrderRepository {
+                public List<Order> findAll() { return null; }
+                public List<Order> findByStatus(Order.Status status) { return null; }
+            }
+            """);
+
+        // Given - Repository already declaring fields named like the generated constants
+        JavaFileObject legacyRepository = JavaFileObjects.forSourceString("com.example.LegacyUserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            
+            @SqlGenerator(entity = User.class, tableName = "users")
+            public class LegacyUserRepository {
+                private static final String USER_ROW_MAPPER = "legacy";
+                private static final int FIND_BY_NAME_SQL = 1;
+                
+                public List<User> findByName(String name) { return null; }
+                public String describe() { return USER_ROW_MAPPER + FIND_BY_NAME_SQL; }
+            }
+            """);
+
+        // When
+        Compilation compilation = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .compile(userEntity, orderEntity, userRepository, orderRepository, legacyRepository);
+
+        // Then
+        assertThat(compilation).succeeded();
+    }
+
+    @Test
+    @DisplayName("Should generate batched saveAll and updateAll methods")
+    void testBatchSaveAndUpdateGeneration() {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+                private boolean active;
+                
+                public User() {}
+                
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+                public boolean isActive() { return active; }
+                public void setActive(boolean active) { this.active = active; }
+            }
+            """);
+
+        JavaFileObject repository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.Collection;
+            import java.util.List;
+            
+            @SqlGenerator(entity = User.class, tableName = "users", batchSize = 500)
+            public class UserRepository {
+                public int[] saveAll(List<User> users) { return null; }
+                public int updateAll(Collection<User> users) { return 0; }
+                public int[][] saveAllInBatches(List<User> ps) { return null; }
+                public List<User> updateAllAndReturn(List<User> users) { return null; }
+                public void saveAllQuietly(List<User> users) { }
+            }
+            """);
+
+        // When
+        Compilation compilation = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .compile(userEntity, repository);
+
+        // Then
+        assertThat(compilation).succeeded();
+    }
+
+    @Test
+    @DisplayName("Should generate callback-based find methods for Consumer and RowCallbackHandler")
+    void testRowCallbackFindMethods() {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+                private int age;
+                
+                public User() {}
+                
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+                public int getAge() { return age; }
+                public void setAge(int age) { this.age = age; }
+            }
+            """);
+
+        JavaFileObject repository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import org.springframework.jdbc.core.RowCallbackHandler;
+            import java.util.Map;
+            import java.util.function.Consumer;
+            
+            @SqlGenerator(entity = User.class, tableName = "users")
+            public class UserRepository {
+                public void findAll(Consumer<User> consumer) { }
+                public void findByName(String name, Consumer<User> consumer) { }
+                public void findByNameAndAge(String name, int age, RowCallbackHandler handler) { }
+                public void findByAge(int age, Consumer<Map<String, Object>> rows) { }
+            }
+            """);
+
+        // When
+        Compilation compilation = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .compile(userEntity, repository);
+
+        // Then
+        assertThat(compilation).succeeded();
+    }
+
+    @Test
+    @DisplayName("Should generate projection finders for records, DTOs and interfaces")
+    void testProjectionFinders() {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+                private String email;
+                private boolean active;
+                
+                public User() {}
+                
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+                public String getEmail() { return email; }
+                public void setEmail(String email) { this.email = email; }
+                public boolean isActive() { return active; }
+                public void setActive(boolean active) { this.active = active; }
+            }
+            """);
+
+        JavaFileObject summary = JavaFileObjects.forSourceString("com.example.UserSummary", """
+            package com.example;
+            
+            public record UserSummary(Long id, String name) {}
+            """);
+
+        JavaFileObject nameOnly = JavaFileObjects.forSourceString("com.example.UserNameOnly", """
+            package com.example;
+            
+            public interface UserNameOnly {
+                String getName();
+                boolean isActive();
+            }
+            """);
+
+        JavaFileObject dto = JavaFileObjects.forSourceString("com.example.UserDto", """
+            package com.example;
+            
+            public class UserDto {
+                private final Long id;
+                private final String email;
+                
+                public UserDto(Long id, String email) { this.id = id; this.email = email; }
+                
+                public Long getId() { return id; }
+                public String getEmail() { return email; }
+            }
+            """);
+
+        JavaFileObject repository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.NativeQuery;
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import io.github.simplesqlgen.enums.ResultMappingType;
+            import java.util.List;
+            import java.util.stream.Stream;
+            
+            @SqlGenerator(entity = User.class, tableName = "users")
+            public class UserRepository {
+                public List<UserSummary> findSummaryByActive(boolean active) { return null; }
+                public UserSummary findSummaryById(Long id) { return null; }
+                public List<UserNameOnly> findNamesByActive(boolean active) { return null; }
+                public Stream<UserDto> findDtoByActiveOrderByIdAsc(boolean active) { return null; }
+                
+                @NativeQuery(value = "SELECT id, name FROM users WHERE active = ?",
+                        mappingType = ResultMappingType.CONSTRUCTOR)
+                public List<UserSummary> findActiveSummaries(boolean active) { return null; }
+            }
+            """);
+
+        // When
+        Compilation compilation = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .compile(userEntity, summary, nameOnly, dto, repository);
+
+        // Then
+        assertThat(compilation).succeeded();
+    }
+
+    @Test
+    @DisplayName("Should populate generated ids on save via KeyHolder or RETURNING")
+    void testGeneratedKeySave() {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+                
+                public User() {}
+                
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+            }
+            """);
+
+        JavaFileObject repository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            
+            @SqlGenerator(entity = User.class, tableName = "users")
+            public class UserRepository {
+                public User save(User user) { return null; }
+                public int saveUser(User user) { return 0; }
+                public void saveQuietly(User user) { }
+            }
+            """);
+
+        // When
+        Compilation keyHolder = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .compile(userEntity, repository);
+        Compilation returning = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.dialect=postgresql")
+                .compile(userEntity, repository);
+
+        // Then
+        assertThat(keyHolder).succeeded();
+        assertThat(returning).succeeded();
+
+        // Both paths name the key column through the naming strategy
+        JavaFileObject pascalRepository = JavaFileObjects.forSourceString("com.example.PascalUserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import io.github.simplesqlgen.enums.NamingStrategy;
+            
+            @SqlGenerator(entity = User.class, tableName = "users", namingStrategy = NamingStrategy.PASCAL_CASE)
+            public abstract class PascalUserRepository {
+                public abstract User save(User user);
+            }
+            """);
+        Compilation pascalKeyHolder = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.mode=filer")
+                .compile(userEntity, pascalRepository);
+        Compilation pascalReturning = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.mode=filer", "-Asimplesqlgen.dialect=postgresql")
+                .compile(userEntity, pascalRepository);
+        assertThat(pascalKeyHolder).generatedSourceFile("com.example.PascalUserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("{\"Id\"}");
+        assertThat(pascalReturning).generatedSourceFile("com.example.PascalUserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("INSERT INTO users (Name) VALUES (?) RETURNING Id");
+    }
+
+    @Test
+    @DisplayName("Should plan queries of several repositories in parallel")
+    void testParallelProcessing() {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+                private Integer age;
+                
+                public User() {}
+                
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+                public Integer getAge() { return age; }
+                public void setAge(Integer age) { this.age = age; }
+            }
+            """);
+
+        JavaFileObject userRepository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            
+            @SqlGenerator(entity = User.class, tableName = "users")
+            public class UserRepository {
+                public List<User> findByNameAndAge(String name, Integer age) { return null; }
+                public List<User> findByIdGreaterThanOrderByIdAsc(Long lastId, int pageSize) { return null; }
+                public long countByAge(Integer age) { return 0; }
+                public void deleteByName(String name) { }
+            }
+            """);
+
+        JavaFileObject reportRepository = JavaFileObjects.forSourceString("com.example.ReportRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import io.github.simplesqlgen.annotation.NativeQuery;
+            import io.github.simplesqlgen.annotation.Param;
+            import java.util.List;
+            import java.util.Map;
+            
+            @SqlGenerator(entity = void.class, nativeQueryOnly = true)
+            public class ReportRepository {
+                @NativeQuery("SELECT name, COUNT(*) AS total FROM users WHERE age > :minAge GROUP BY name")
+                public List<Map<String, Object>> countByName(@Param("minAge") Integer minAge) { return null; }
+                
+                @NativeQuery(value = "SELECT COUNT(*) FROM users WHERE age BETWEEN ? AND ?", resultType = Long.class)
+                public long countBetween(Integer from, Integer to) { return 0; }
+            }
+            """);
+
+        // When
+        Compilation compilation = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.parallelism=4")
+                .compile(userEntity, userRepository, reportRepository);
+
+        // Then
+        assertThat(compilation).succeeded();
+    }
+
+    @Test
+    @DisplayName("Should reuse one analysed entity model and its real getters across repositories")
+    void testSharedEntityMetadata() {
+        // Given
+        JavaFileObject account = JavaFileObjects.forSourceString("com.example.Account", """
+            package com.example;
+            
+            public class Account {
+                private Long id;
+                private String name;
+                private Boolean active;
+            
+                public Account() {}
+            
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+                public Boolean getActive() { return active; }
+                public void setActive(Boolean active) { this.active = active; }
+            }
+            """);
+
+        JavaFileObject accountRepository = JavaFileObjects.forSourceString("com.example.AccountRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            
+            @SqlGenerator(entity = Account.class, tableName = "accounts")
+            public class AccountRepository {
+                public List<Account> findByActive(Boolean active) { return null; }
+                public int saveAccount(Account account) { return 0; }
+                public int updateAccount(Account account) { return 0; }
+            }
+            """);
+
+        JavaFileObject auditRepository = JavaFileObjects.forSourceString("com.example.AccountAuditRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            
+            @SqlGenerator(entity = Account.class, tableName = "account_audit")
+            public class AccountAuditRepository {
+                public List<Account> findByName(String name) { return null; }
+                public int saveAudit(Account account) { return 0; }
+            }
+            """);
+
+        // When
+        Compilation compilation = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .compile(account, accountRepository, auditRepository);
+
+        // Then
+        assertThat(compilation).succeeded();
+    }
+
+    @Test
+    @DisplayName("Should write a UserRepositoryImpl source in filer mode")
+    void testFilerMode() {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+            
+                public User() {}
+            
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+            }
+            """);
+
+        JavaFileObject repository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.NativeQuery;
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            
+            @SqlGenerator(entity = User.class, tableName = "users")
+            public abstract class UserRepository {
+                public abstract List<User> findByName(String name);
+                public abstract long countByName(String name);
+                public abstract User save(User user);
+            
+                @NativeQuery(value = "SELECT * FROM users WHERE name LIKE :pattern", resultType = User.class)
+                public abstract List<User> search(String pattern);
+            }
+            """);
+
+        // When
+        Compilation compilation = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.mode=filer")
+                .compile(userEntity, repository);
+
+        // Then
+        assertThat(compilation).succeeded();
+        assertThat(compilation).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("SELECT id, name FROM users WHERE name = ?");
+        assertThat(compilation).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("entity.setName(rs.getString(2));");
+    }
+
+    @Test
+    @DisplayName("Should report per-method phase timings with -Asimplesqlgen.stats")
+    void testProcessingStats(@TempDir Path tempDir) throws Exception {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+            
+                public User() {}
+            
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+            }
+            """);
+
+        JavaFileObject repository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            
+            @SqlGenerator(entity = User.class, tableName = "users")
+            public class UserRepository {
+                public List<User> findByName(String name) { return null; }
+                public String describe() { return "users"; }
+            }
+            """);
+
+        Path statsFile = tempDir.resolve("reports/simplesqlgen-stats.json");
+
+        // When
+        Compilation compilation = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.stats=true")
+                .compile(userEntity, repository);
+        Compilation withFile = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.statsFile=" + statsFile)
+                .compile(userEntity, repository);
+
+        // Then - the report never goes through the Filer, which would defeat incremental compilation
+        assertThat(compilation).succeeded();
+        assertThat(compilation).hadNoteContaining("2 methods (1 transformed, 1 skipped)");
+        assertThat(withFile).succeeded();
+        assertThat(withFile).hadNoteContaining("2 methods (1 transformed, 1 skipped)");
+        assertThat(compilation.generatedFiles())
+                .noneMatch(file -> file.getName().endsWith(".json"));
+        assertThat(Files.readString(statsFile))
+                .contains("{\"name\": \"findByName\", \"transformed\": true");
+    }
+
+    @Test
+    @DisplayName("Should time generated methods through QueryMetrics when metrics is enabled")
+    void testMetricsInstrumentation() {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+            
+                public User() {}
+            
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+            }
+            """);
+
+        JavaFileObject repository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.NativeQuery;
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            
+            @SqlGenerator(entity = User.class, tableName = "users", metrics = true)
+            public abstract class UserRepository {
+                public abstract List<User> findByName(String name);
+            
+                @NativeQuery("DELETE FROM users WHERE id = ?")
+                public abstract void remove(Long id);
+            
+                @NativeQuery("DELETE FROM users WHERE name = ?")
+                public abstract void remove(String name);
+            }
+            """);
+
+        // When
+        Compilation filer = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.mode=filer")
+                .compile(userEntity, repository);
+
+        // Then
+        assertThat(filer).succeeded();
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("return io.github.simplesqlgen.metrics.QueryMetrics.record(FIND_BY_NAME_METRICS, metricsStart, this.findByName$query(name));");
+        // Overloads get a key each, named after the qualified repository
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("REMOVE_METRICS_2 = new io.github.simplesqlgen.metrics.QueryMetrics.Key(\"com.example.UserRepository\", \"remove\", \"DELETE FROM users WHERE name = ?\", true);");
+    }
+
+    @Test
+    @DisplayName("Should expand In collections into padded placeholder lists")
+    void testInListPadding() {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+            
+                public User() {}
+            
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+            }
+            """);
+
+        JavaFileObject repository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            import java.util.Set;
+            import java.util.function.Consumer;
+            import java.util.stream.Stream;
+            
+            @SqlGenerator(entity = User.class, tableName = "users")
+            public abstract class UserRepository {
+                public abstract List<User> findByNameAndIdIn(String name, Set<Long> ids);
+                public abstract long countByNameNotIn(List<String> names);
+                public abstract List<User> findByIdNotIn(List<Long> ids);
+                public abstract long countByNameNotInAndIdIn(List<String> names, Set<Long> ids);
+                public abstract Stream<User> findByNameIn(List<String> names);
+                public abstract void findByIdIn(List<Long> ids, Consumer<User> consumer);
+            }
+            """);
+
+        // When
+        Compilation plain = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.mode=filer")
+                .compile(userEntity, repository);
+        Compilation filer = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.mode=filer", "-Asimplesqlgen.inListShapes=true")
+                .compile(userEntity, repository);
+
+        // Then
+        assertThat(plain).succeeded();
+        // Without inListShapes the generated class needs nothing from the library at run time
+        assertThat(plain).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .doesNotContain("io.github.simplesqlgen.chunk");
+        assertThat(plain).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("(idsBucket == 0 ? \"1 = 1\" : \"id NOT IN (\" + ");
+        assertThat(filer).succeeded();
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("FIND_BY_NAME_AND_ID_IN_SQL = new io.github.simplesqlgen.chunk.InListSql("
+                        + "\"SELECT id, name FROM users WHERE name = ? AND id IN (\", \")\", 1024);");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("FIND_BY_NAME_AND_ID_IN_SQL.forBucket(idsBucket)");
+        // An empty NOT IN list matches every row instead of binding NOT IN (NULL)
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("(namesBucket == 0 ? \"1 = 1\" : \"name NOT IN (\" + ");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("\"SELECT id, name FROM users WHERE id NOT IN (\", \")\", 1024, \"SELECT id, name FROM users WHERE 1 = 1\");");
+        // Stream and callback finders expand their lists too
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("queryForStream(FIND_BY_NAME_IN_SQL.forBucket(namesBucket), (java.sql.PreparedStatement ps) -> {");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("new org.springframework.jdbc.core.ArgumentPreparedStatementSetter(inArgs.toArray()).setValues(ps);");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("this.jdbcTemplate.query(FIND_BY_ID_IN_SQL.forBucket(idsBucket), (java.sql.ResultSet rs) -> {");
+    }
+
+    @Test
+    void testArrayBinding() {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+            
+                public User() {}
+            
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+            }
+            """);
+
+        JavaFileObject repository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.NativeQuery;
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            
+            @SqlGenerator(entity = User.class, tableName = "users")
+            public abstract class UserRepository {
+                public abstract List<User> findByIdIn(List<Long> ids);
+                public abstract long countByNameNotIn(List<String> names);
+            
+                @NativeQuery(value = "SELECT * FROM users WHERE name IN (:names)", resultType = User.class)
+                public abstract List<User> findNamed(List<String> names);
+            }
+            """);
+
+        // When
+        Compilation filer = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.mode=filer", "-Asimplesqlgen.dialect=postgresql")
+                .compile(userEntity, repository);
+
+        // Then
+        assertThat(filer).succeeded();
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("ps.getConnection().createArrayOf(\"bigint\", ids.toArray())");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("FIND_BY_ID_IN_SQL = \"SELECT id, name FROM users WHERE id = ANY(?)\";");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("(FIND_BY_ID_IN_SQL, USER_ROW_MAPPER, new Object[]{idsArray})");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("WHERE NOT (name = ANY(?))");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("WHERE name = ANY(:names)");
+    }
+
+    @Test
+    void testInListChunking() {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+            
+                public User() {}
+            
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+            }
+            """);
+
+        JavaFileObject repository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            import java.util.Set;
+            
+            @SqlGenerator(entity = User.class, tableName = "users", inChunkSize = 500, inChunkParallelism = 4)
+            public abstract class UserRepository {
+                public abstract List<User> findByIdIn(Set<Long> ids);
+                public abstract boolean existsByNameIn(List<String> names);
+                public abstract int deleteByIdIn(List<Long> ids);
+            }
+            """);
+
+        // When
+        Compilation filer = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.mode=filer")
+                .compile(userEntity, repository);
+
+        // Then
+        assertThat(filer).succeeded();
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("return io.github.simplesqlgen.chunk.InListChunks.query(ids, 500, 4, "
+                        + "(java.util.List<java.lang.Long> idsChunk) -> {");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("java.lang.Math.min(500, ");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("io.github.simplesqlgen.chunk.InListChunks.exists(names, 500, ");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("io.github.simplesqlgen.chunk.InListChunks.update(ids, 500, 4, ");
+    }
+
+    @Test
+    @DisplayName("Should not chunk NOT IN lists or ordered and limited finders")
+    void testInChunkingFallsBackToPadding() {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+            
+                public User() {}
+            
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+            }
+            """);
+
+        JavaFileObject repository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            
+            @SqlGenerator(entity = User.class, tableName = "users", inChunkSize = 2)
+            public abstract class UserRepository {
+                public abstract int deleteByIdNotIn(List<Long> ids);
+                public abstract long countByIdNotIn(List<Long> ids);
+                public abstract List<User> findTop3ByIdInOrderByNameDesc(List<Long> ids);
+                public abstract List<User> findByIdInOrderByNameDesc(List<Long> ids);
+            }
+            """);
+
+        // When
+        Compilation filer = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.mode=filer")
+                .compile(userEntity, repository);
+        Compilation oracle = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.mode=filer", "-Asimplesqlgen.dialect=oracle")
+                .compile(userEntity, repository);
+
+        // Then
+        assertThat(filer).succeeded();
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .doesNotContain("InListChunks");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("return this.jdbcTemplate.update(\"DELETE FROM users WHERE \" + (idsBucket == 0 ? \"1 = 1\" : \"id NOT IN (\" + ");
+        assertThat(oracle).succeeded();
+        assertThat(oracle).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .doesNotContain("InListChunks");
+        // Unchunked lists above Oracle's 1000 values fail with a clear error instead of ORA-01795
+        assertThat(oracle).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("if (ids.size() > 1000) {");
+        assertThat(oracle).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("throw new java.lang.IllegalArgumentException(\"IN list ids has \" + ids.size() + \" values; oracle allows at most 1000");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .doesNotContain("IllegalArgumentException");
+    }
+
+    @Test
+    @DisplayName("Should leave IN lists unchunked unless inChunkSize is set")
+    void testInChunkingOptIn() {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+            
+                public User() {}
+            
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+            }
+            """);
+
+        JavaFileObject repository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            
+            @SqlGenerator(entity = User.class, tableName = "users")
+            public abstract class UserRepository {
+                public abstract List<User> findByIdIn(List<Long> ids);
+            }
+            """);
+
+        JavaFileObject chunkedRepository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            
+            @SqlGenerator(entity = User.class, tableName = "users", inChunkSize = 5000)
+            public abstract class UserRepository {
+                public abstract List<User> findByIdIn(List<Long> ids);
+            }
+            """);
+
+        // When
+        Compilation oracle = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.mode=filer", "-Asimplesqlgen.dialect=oracle")
+                .compile(userEntity, repository);
+        Compilation chunked = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.mode=filer", "-Asimplesqlgen.dialect=oracle")
+                .compile(userEntity, chunkedRepository);
+
+        // Then
+        assertThat(oracle).succeeded();
+        assertThat(oracle).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .doesNotContain("io.github.simplesqlgen.chunk");
+        assertThat(oracle).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("if (ids.size() > 1000) {");
+        // The chunk size is capped at the dialect's IN list limit
+        assertThat(chunked).succeeded();
+        assertThat(chunked).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("io.github.simplesqlgen.chunk.InListChunks.query(ids, 1000, 1, ");
+        assertThat(chunked).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .doesNotContain("IllegalArgumentException");
+    }
+
+    @Test
+    @DisplayName("Should hoist generated SQL into static final constants")
+    void testSqlConstants() {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+            
+                public User() {}
+            
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+            }
+            """);
+
+        JavaFileObject repository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            
+            @SqlGenerator(entity = User.class, tableName = "users")
+            public abstract class UserRepository {
+                public abstract List<User> findByName(String name);
+                public abstract long countByName(String name);
+            }
+            """);
+
+        // When
+        Compilation filer = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.mode=filer")
+                .compile(userEntity, repository);
+        Compilation inline = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.mode=filer", "-Asimplesqlgen.sqlConstants=false")
+                .compile(userEntity, repository);
+
+        // Then
+        assertThat(filer).succeeded();
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("private static final java.lang.String FIND_BY_NAME_SQL = "
+                        + "\"SELECT id, name FROM users WHERE name = ?\";");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("private static final java.lang.String COUNT_BY_NAME_SQL = ");
+        assertThat(inline).succeeded();
+        assertThat(inline).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("(\"SELECT id, name FROM users WHERE name = ?\", ");
+    }
+
+    @Test
+    @DisplayName("Should cache results of @CachedQuery methods by their arguments")
+    void testCachedQuery() {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+            
+                public User() {}
+            
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+            }
+            """);
+
+        JavaFileObject repository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.CachedQuery;
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            
+            @SqlGenerator(entity = User.class, tableName = "users")
+            public abstract class UserRepository {
+                @CachedQuery(maxSize = 500, ttlMillis = 60000)
+                public abstract List<User> findByName(String name);
+            
+                @CachedQuery
+                public abstract long countByNameAndId(String name, Long id);
+            
+                @CachedQuery
+                public abstract int deleteByName(String name);
+            }
+            """);
+
+        // When
+        Compilation filer = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.mode=filer")
+                .compile(userEntity, repository);
+
+        // Then
+        assertThat(filer).succeeded();
+        assertThat(filer).hadWarningContaining("@CachedQuery ignored on deleteByName");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("private static final io.github.simplesqlgen.cache.QueryCache FIND_BY_NAME_CACHE = "
+                        + "new io.github.simplesqlgen.cache.QueryCache(\"com.example.UserRepository\", "
+                        + "\"findByName(java.lang.String)\", 500, 60000L);");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("if (cached != io.github.simplesqlgen.cache.QueryCache.MISS) "
+                        + "return io.github.simplesqlgen.cache.QueryCache.value(cached);");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("return FIND_BY_NAME_CACHE.put(cacheKey, this.findByName$uncached(name));");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("io.github.simplesqlgen.cache.QueryCache.key(new Object[]{name, id})");
+        assertThat(filer).generatedSourceFile("com.example.UserRepositoryImpl")
+                .contentsAsUtf8String()
+                .contains("\"countByNameAndId(java.lang.String,java.lang.Long)\", 1000, 0L)");
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.simplesqlgen.processor;
+
+import io.github.simplesqlgen.processor.sql.SqlGenerator;
+import io.github.simplesqlgen.processor.sql.dialect.Dialect;
+import io.github.simplesqlgen.processor.sql.dialect.Dialects;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for SQL dialects
+ * Tests dialect lookup, paging, identifier quoting and upsert generation
+ */
+class DialectTest {
+
+    @Test
+    @DisplayName("Should resolve built-in dialects by name and alias")
+    void testDialectLookup() {
+        ClassLoader loader = getClass().getClassLoader();
+
+        assertThat(Dialects.forName("postgresql", loader).getName()).isEqualTo("postgresql");
+        assertThat(Dialects.forName("Postgres", loader).getName()).isEqualTo("postgresql");
+        assertThat(Dialects.forName("mariadb", loader).getName()).isEqualTo("mysql");
+        assertThat(Dialects.forName(null, loader).getName()).isEqualTo("generic");
+        assertThat(Dialects.forName("unknown", loader)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should emit dialect specific row limits")
+    void testLimitClause() {
+        SqlGenerator sqlGenerator = new SqlGenerator();
+        SqlGenerator.QueryMethodInfo info = sqlGenerator.parseQueryMethodName("findTop10ByNameOrderByIdDesc");
+
+        sqlGenerator.setDialect(Dialects.forName("oracle", null));
+        assertThat(sqlGenerator.generateAdvancedDynamicSQL(info, "users"))
+                .isEqualTo("SELECT * FROM users WHERE name = ? ORDER BY id DESC FETCH FIRST 10 ROWS ONLY");
+
+        sqlGenerator.setDialect(Dialects.forName("mysql", null));
+        assertThat(sqlGenerator.generateAdvancedDynamicSQL(info, "users"))
+                .isEqualTo("SELECT * FROM users WHERE name = ? ORDER BY id DESC LIMIT 10");
+    }
+
+    @Test
+    @DisplayName("Should quote only keyword identifiers")
+    void testIdentifierQuoting() {
+        assertThat(Dialects.forName("mysql", null).quoteIdentifier("order")).isEqualTo("`order`");
+        assertThat(Dialects.forName("postgresql", null).quoteIdentifier("user")).isEqualTo("\"user\"");
+        assertThat(Dialects.forName("oracle", null).quoteIdentifier("app.user")).isEqualTo("app.\"USER\"");
+        assertThat(Dialects.forName("postgresql", null).quoteIdentifier("users")).isEqualTo("users");
+        assertThat(Dialects.getDefault().quoteIdentifier("user")).isEqualTo("user");
+    }
+
+    @Test
+    @DisplayName("Should generate native upsert statements")
+    void testUpsertSql() {
+        List<String> columns = List.of("id", "name");
+
+        assertThat(Dialects.forName("postgresql", null).getUpsertSql("users", columns, "id"))
+                .isEqualTo("INSERT INTO users (id, name) VALUES (?, ?) ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name");
+        assertThat(Dialects.forName("mysql", null).getUpsertSql("users", columns, "id"))
+                .isEqualTo("INSERT INTO users (id, name) VALUES (?, ?) ON DUPLICATE KEY UPDATE name = VALUES(name)");
+        assertThat(Dialects.forName("h2", null).getUpsertSql("users", columns, "id"))
+                .isEqualTo("MERGE INTO users (id, name) KEY (id) VALUES (?, ?)");
+        assertThat(Dialects.getDefault().getUpsertSql("users", columns, "id")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should report RETURNING and array binding capabilities")
+    void testCapabilities() {
+        Dialect postgres = Dialects.forName("postgresql", null);
+
+        assertThat(postgres.supportsReturning()).isTrue();
+        assertThat(postgres.getReturningClause(List.of("id"))).isEqualTo(" RETURNING id");
+        assertThat(postgres.supportsArrayBinding()).isTrue();
+        assertThat(postgres.getArrayInCondition("id")).isEqualTo("id = ANY(?)");
+        assertThat(Dialects.forName("oracle", null).supportsArrayBinding()).isFalse();
+        assertThat(Dialects.forName("oracle", null).getMaxInListSize()).isEqualTo(1000);
+    }
+}
\ No newline at end of file
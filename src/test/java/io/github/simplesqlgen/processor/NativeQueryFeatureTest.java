@@ -188,4 +188,125 @@ class NativeQueryFeatureTest {
         // Then
         assertThat(compilation).succeeded();
     }
+
+    @Test
+    @DisplayName("Test shared RowMapper constants with and without caching")
+    void testRowMapperCaching() {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+                
+                public User() {}
+                
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+            }
+            """);
+
+        JavaFileObject repository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import io.github.simplesqlgen.annotation.NativeQuery;
+            import java.util.List;
+            import java.util.Map;
+            
+            @SqlGenerator(entity = User.class, tableName = "users")
+            public class UserRepository {
+                
+                @NativeQuery(value = "SELECT * FROM users WHERE name = ?", resultType = User.class)
+                public List<User> findUsersByName(String name) { return null; }
+                
+                @NativeQuery(value = "SELECT * FROM users WHERE id = ?", resultType = User.class)
+                public User findUserById(Long id) { return null; }
+                
+                @NativeQuery("SELECT * FROM users WHERE name = ?")
+                public List<Map<String, Object>> findRowsByName(String name) { return null; }
+                
+                @NativeQuery("SELECT * FROM users")
+                public List<Map<String, Object>> findAllRows() { return null; }
+            }
+            """);
+
+        // When
+        Compilation cached = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .compile(userEntity, repository);
+        Compilation uncached = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .withOptions("-Asimplesqlgen.cacheRowMappers=false")
+                .compile(userEntity, repository);
+
+        // Then
+        assertThat(cached).succeeded();
+        assertThat(uncached).succeeded();
+    }
+
+    @Test
+    @DisplayName("Test Stream return types with fetch size")
+    void testStreamReturnTypes() {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+                private Integer age;
+                
+                public User() {}
+                
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+                
+                public Integer getAge() { return age; }
+                public void setAge(Integer age) { this.age = age; }
+            }
+            """);
+
+        JavaFileObject repository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import io.github.simplesqlgen.annotation.NativeQuery;
+            import io.github.simplesqlgen.annotation.Param;
+            import java.util.Map;
+            import java.util.stream.Stream;
+            
+            @SqlGenerator(entity = User.class, tableName = "users", fetchSize = 500)
+            public class UserRepository {
+                
+                public Stream<User> findAll() { return null; }
+                
+                public Stream<User> findByName(String name) { return null; }
+                
+                @NativeQuery(value = "SELECT * FROM users WHERE age > ?", resultType = User.class)
+                public Stream<User> streamOlderThan(Integer minAge) { return null; }
+                
+                @NativeQuery("SELECT * FROM users")
+                public Stream<Map<String, Object>> streamRows() { return null; }
+                
+                @NativeQuery(value = "SELECT * FROM users WHERE name = :name", resultType = User.class)
+                public Stream<User> streamByName(@Param("name") String name) { return null; }
+            }
+            """);
+
+        // When
+        Compilation compilation = Compiler.javac()
+                .withProcessors(new SqlProcessor())
+                .compile(userEntity, repository);
+
+        // Then
+        assertThat(compilation).succeeded();
+    }
 }
\ No newline at end of file
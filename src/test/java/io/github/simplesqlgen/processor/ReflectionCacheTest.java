@@ -0,0 +1,38 @@
+package io.github.simplesqlgen.processor;
+
+import io.github.simplesqlgen.processor.ast.ReflectionCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the reflective lookup cache
+ */
+class ReflectionCacheTest {
+
+    @Test
+    @DisplayName("Should return the same Method instance for repeated lookups")
+    void testMethodLookupIsCached() throws Exception {
+        Method first = ReflectionCache.getMethod(String.class, "substring", int.class, int.class);
+        Method second = ReflectionCache.getMethod(String.class, "substring", int.class, int.class);
+        Method overload = ReflectionCache.getMethod(String.class, "substring", int.class);
+
+        assertThat(second).isSameAs(first);
+        assertThat(overload).isNotSameAs(first);
+        assertThat(ReflectionCache.getDeclaredMethod(String.class, "length"))
+                .isSameAs(ReflectionCache.getDeclaredMethod(String.class, "length"));
+    }
+
+    @Test
+    @DisplayName("Should cache classes and propagate lookup failures")
+    void testClassLookup() throws Exception {
+        assertThat(ReflectionCache.forName("java.util.List")).isSameAs(java.util.List.class);
+        assertThatThrownBy(() -> ReflectionCache.forName("no.such.Type"))
+                .isInstanceOf(ClassNotFoundException.class);
+        assertThatThrownBy(() -> ReflectionCache.getMethod(String.class, "noSuchMethod"))
+                .isInstanceOf(NoSuchMethodException.class);
+    }
+}
\ No newline at end of file
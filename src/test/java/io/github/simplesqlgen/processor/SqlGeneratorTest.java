@@ -1,11 +1,15 @@
 package io.github.simplesqlgen.processor;
 
+import io.github.simplesqlgen.processor.sql.QueryPlan;
 import io.github.simplesqlgen.processor.sql.SqlGenerator;
+import io.github.simplesqlgen.processor.sql.dialect.Dialects;
 import io.github.simplesqlgen.enums.NamingStrategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 
 /**
@@ -161,6 +165,73 @@ class SqlGeneratorTest {
         assertThat(info.getOperators()).containsExactly("=");
     }
 
+    @Test
+    @DisplayName("Should parse Top/First limits and OrderBy clauses")
+    void testLimitAndOrderByParsing() {
+        // Given
+        String methodName = "findTop100ByStatusAndIdGreaterThanOrderByIdAsc";
+
+        // When
+        SqlGenerator.QueryMethodInfo info = parseQueryMethodName(methodName);
+
+        // Then
+        assertThat(info.getOperation()).isEqualTo("find");
+        assertThat(info.getFields()).containsExactly("status", "id");
+        assertThat(info.getOperators()).containsExactly("=", ">");
+        assertThat(info.getOrderBy()).containsExactly("id ASC");
+        assertThat(info.getLimit()).isEqualTo(100);
+        assertThat(parseQueryMethodName("findFirstByNameOrderByCreatedAtDescId").getOrderBy())
+                .containsExactly("created_at DESC", "id ASC");
+        assertThat(parseQueryMethodName("findFirstByName").getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should generate keyset pagination SQL")
+    void testKeysetPaginationSql() {
+        // Given
+        SqlGenerator.QueryMethodInfo top = parseQueryMethodName("findTop100ByStatusAndIdGreaterThanOrderByIdAsc");
+        SqlGenerator.QueryMethodInfo page = parseQueryMethodName("findByIdAfterOrderByIdAsc");
+        page.setLimitParameter(true);
+
+        // When & Then
+        assertThat(sqlGenerator.generateAdvancedDynamicSQL(top, "orders"))
+                .isEqualTo("SELECT * FROM orders WHERE status = ? AND id > ? ORDER BY id ASC LIMIT 100");
+        assertThat(sqlGenerator.generateAdvancedDynamicSQL(page, "orders"))
+                .isEqualTo("SELECT * FROM orders WHERE id > ? ORDER BY id ASC LIMIT ?");
+    }
+
+    @Test
+    @DisplayName("Should project entity columns instead of SELECT *")
+    void testProjectedColumns() {
+        // Given
+        sqlGenerator.setSelectFields(List.of("id", "firstName", "order"));
+        sqlGenerator.setDialect(Dialects.forName("postgresql", null));
+        SqlGenerator.QueryMethodInfo info = parseQueryMethodName("findByFirstName");
+
+        // When & Then
+        assertThat(sqlGenerator.generateAdvancedDynamicSQL(info, "users"))
+                .isEqualTo("SELECT id, first_name, \"order\" FROM users WHERE first_name = ?");
+    }
+
+    @Test
+    @DisplayName("Should plan derived query SQL on a copy of the generator settings")
+    void testQueryPlanning() {
+        // Given
+        sqlGenerator.setSelectFields(List.of("id", "name"));
+        SqlGenerator planner = sqlGenerator.copy();
+        QueryPlan plan = new QueryPlan();
+
+        // When
+        planner.planDerivedQuery(plan, "countByName", "users", 1, "java.lang.String");
+        planner.planDerivedQuery(plan, "deleteByIdLessThan", "users", 1, "java.lang.Long");
+        planner.planDerivedQuery(plan, "saveUser", "users", 1, "com.example.User");
+
+        // Then
+        assertThat(plan.getSql("countByName")).isEqualTo("SELECT COUNT(*) FROM users WHERE name = ?");
+        assertThat(plan.getSql("deleteByIdLessThan")).isEqualTo("DELETE FROM users WHERE id < ?");
+        assertThat(plan.getSql("saveUser")).isNull();
+    }
+
     // Helper methods to access private methods via reflection for testing
     private String mapColumnName(String fieldName) {
         try {
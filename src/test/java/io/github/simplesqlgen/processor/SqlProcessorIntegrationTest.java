@@ -7,7 +7,23 @@ import io.github.simplesqlgen.processor.SqlProcessor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import javax.annotation.processing.Completion;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
 import javax.tools.JavaFileObject;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 import static com.google.testing.compile.CompilationSubject.assertThat;
 
@@ -356,4 +372,111 @@ class SqlProcessorIntegrationTest {
         // Then
         assertThat(compilation).succeededWithoutWarnings();
     }
+
+    @Test
+    @DisplayName("Should process behind a delegating ProcessingEnvironment (Gradle incremental compilation)")
+    void testDelegatingProcessingEnvironment() {
+        // Given
+        JavaFileObject userEntity = JavaFileObjects.forSourceString("com.example.User", """
+            package com.example;
+            
+            public class User {
+                private Long id;
+                private String name;
+                
+                public User() {}
+                
+                public Long getId() { return id; }
+                public void setId(Long id) { this.id = id; }
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+            }
+            """);
+
+        JavaFileObject repository = JavaFileObjects.forSourceString("com.example.UserRepository", """
+            package com.example;
+            
+            import io.github.simplesqlgen.annotation.SqlGenerator;
+            import java.util.List;
+            
+            @SqlGenerator(entity = User.class, tableName = "users")
+            public class UserRepository {
+                public List<User> findByName(String name) { return null; }
+                public long countByName(String name) { return 0; }
+            }
+            """);
+
+        // When
+        Compilation compilation = Compiler.javac()
+                .withProcessors(new WrappingProcessor(new SqlProcessor()))
+                .compile(userEntity, repository);
+
+        // Then
+        assertThat(compilation).succeeded();
+    }
+
+    /**
+     * Hands the processor a wrapped environment, as Gradle does for incremental processors
+     */
+    private static class WrappingProcessor implements Processor {
+        private final Processor delegate;
+
+        WrappingProcessor(Processor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Set<String> getSupportedOptions() { return delegate.getSupportedOptions(); }
+
+        @Override
+        public Set<String> getSupportedAnnotationTypes() { return delegate.getSupportedAnnotationTypes(); }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() { return delegate.getSupportedSourceVersion(); }
+
+        @Override
+        public void init(ProcessingEnvironment processingEnv) {
+            delegate.init(new DelegatingProcessingEnvironment(processingEnv));
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            return delegate.process(annotations, roundEnv);
+        }
+
+        @Override
+        public Iterable<? extends Completion> getCompletions(Element element, AnnotationMirror annotation,
+                                                             ExecutableElement member, String userText) {
+            return delegate.getCompletions(element, annotation, member, userText);
+        }
+    }
+
+    private static class DelegatingProcessingEnvironment implements ProcessingEnvironment {
+        private final ProcessingEnvironment delegate;
+
+        DelegatingProcessingEnvironment(ProcessingEnvironment delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Map<String, String> getOptions() { return delegate.getOptions(); }
+
+        @Override
+        public Messager getMessager() { return delegate.getMessager(); }
+
+        @Override
+        public Filer getFiler() { return delegate.getFiler(); }
+
+        @Override
+        public Elements getElementUtils() { return delegate.getElementUtils(); }
+
+        @Override
+        public Types getTypeUtils() { return delegate.getTypeUtils(); }
+
+        @Override
+        public SourceVersion getSourceVersion() { return delegate.getSourceVersion(); }
+
+        @Override
+        public Locale getLocale() { return delegate.getLocale(); }
+    }
 }
\ No newline at end of file